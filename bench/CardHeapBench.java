@@ -0,0 +1,116 @@
+import java.lang.ref.Reference;
+import java.util.List;
+import model.Attribute;
+import model.Card;
+import model.CardCatalog;
+import model.CardTemplate;
+import model.CardType;
+import model.Rarity;
+
+/**
+ * Measures the heap footprint of one million cards in each representation:
+ * <ul>
+ *     <li>the old layout, which copied five metadata fields from the template, first sharing the template's strings
+ *     (as the gacha did) and then with fresh strings per card (as rows loaded from the database had);</li>
+ *     <li>flyweight cards from {@link CardCatalog#createCard(int, int)} and {@link Card#unpack(int)};</li>
+ *     <li>cards packed into an {@code int[]} with {@link Card#pack()}.</li>
+ * </ul>
+ * Each figure is the retained heap after a full GC, divided by the number of cards, not counting the array
+ * holding them. Run from the repository root with a heap large enough for the string-copying case:
+ * <pre>
+ * javac -encoding UTF-8 -d out $(find src -name '*.java')
+ * javac -encoding UTF-8 -cp out -d out bench/CardHeapBench.java
+ * java -Xmx2g -cp out CardHeapBench
+ * </pre>
+ */
+public class CardHeapBench {
+    private static final int CARDS = 1_000_000;
+
+    /**
+     * The card layout before the flyweight change: every card carried its own metadata fields.
+     */
+    private static final class LegacyCard {
+        private final String name;
+        private final Attribute attribute;
+        private final Rarity rarity;
+        private final CardType type;
+        private final String description;
+        private final int basePower;
+
+        LegacyCard(String name, Attribute attribute, Rarity rarity, CardType type, String description, int basePower) {
+            this.name = name;
+            this.attribute = attribute;
+            this.rarity = rarity;
+            this.type = type;
+            this.description = description;
+            this.basePower = basePower;
+        }
+    }
+
+    private interface Allocator {
+        Object create(int index);
+    }
+
+    public static void main(String[] args) {
+        List<CardTemplate> templates = CardCatalog.getTemplates();
+        int templateCount = templates.size();
+        System.out.printf("%,d cards over %d templates (%s)%n", CARDS, templateCount, System.getProperty("java.vm.name"));
+
+        measure("legacy, shared strings", i -> {
+            CardTemplate t = templates.get(i % templateCount);
+            return new LegacyCard(t.getName(), t.getAttribute(), t.getRarity(), t.getType(), t.getDescription(), power(i));
+        });
+        measure("legacy, strings per card", i -> {
+            CardTemplate t = templates.get(i % templateCount);
+            // Copies the characters, as ResultSet.getString does for every row
+            return new LegacyCard(new String(t.getName().toCharArray()), t.getAttribute(), t.getRarity(), t.getType(),
+                    new String(t.getDescription().toCharArray()), power(i));
+        });
+        measure("CardCatalog.createCard", i -> CardCatalog.createCard(i % templateCount, power(i)));
+        int[] packed = new int[CARDS];
+        for (int i = 0; i < CARDS; i++) {
+            packed[i] = CardCatalog.createCard(i % templateCount, power(i)).pack();
+        }
+        measure("Card.unpack", i -> Card.unpack(packed[i]));
+
+        long before = usedHeap();
+        int[] copy = packed.clone();
+        long after = usedHeap();
+        print("packed int[]", after - before);
+        Reference.reachabilityFence(copy);
+    }
+
+    private static int power(int index) {
+        return 1 + index % 10;
+    }
+
+    private static void measure(String label, Allocator allocator) {
+        Object[] cards = new Object[CARDS];
+        long before = usedHeap();
+        for (int i = 0; i < CARDS; i++) {
+            cards[i] = allocator.create(i);
+        }
+        long after = usedHeap();
+        print(label, after - before);
+        Reference.reachabilityFence(cards);
+    }
+
+    private static void print(String label, long bytes) {
+        System.out.printf("%-26s %8.1f MB %8.1f bytes/card%n", label, bytes / 1e6, (double) bytes / CARDS);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,143 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+import java.util.stream.Collectors;
+import model.Attribute;
+import model.Card;
+import model.CardCatalog;
+import model.CardTemplate;
+import model.Rarity;
+import service.GachaService;
+import util.Log;
+
+/**
+ * Measures the cost per drawn card at 10, 1,000 and 1,000,000 draws per call, comparing:
+ * <ul>
+ *     <li>{@code stream filter}: the lookup GachaService used before the template index, which streamed over every
+ *     template and collected a filtered list for each card, then built the card field by field;</li>
+ *     <li>{@code drawCards}: {@link GachaService#drawCards(int)}, which picks from the precomputed pools;</li>
+ *     <li>{@code drawInto}: {@link GachaService#drawInto(int, int[], byte[], int[], int)}, the allocation-free bulk path.</li>
+ * </ul>
+ * Every path rolls rarity and attribute with the same generator algorithm, and logging is set to WARN so console
+ * output is not measured. Each figure is the median of several timed rounds after a warm-up.
+ * Run from the repository root:
+ * <pre>
+ * javac -encoding UTF-8 -d out $(find src -name '*.java')
+ * javac -encoding UTF-8 -cp out -d out bench/GachaDrawBench.java
+ * java -cp out GachaDrawBench
+ * </pre>
+ */
+public class GachaDrawBench {
+    private static final int[] BATCH_SIZES = {10, 1_000, 1_000_000};
+    private static final long DRAWS_PER_ROUND = 2_000_000;
+    private static final int ROUNDS = 7;
+    private static final long SEED = 42;
+
+    private interface Drawer {
+        // Returns something derived from the draws so the JIT cannot drop them
+        long draw(int count);
+    }
+
+    /**
+     * The pre-index draw loop, kept here only as the baseline for comparison.
+     */
+    private static final class StreamFilterDrawer {
+        private static final List<CardTemplate> TEMPLATES = CardCatalog.getTemplates();
+        private final RandomGenerator random = RandomGeneratorFactory.of(GachaService.DEFAULT_ALGORITHM).create(SEED);
+
+        List<Card> drawCards(int count) {
+            List<Card> cards = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Rarity rarity = getRandomRarity();
+                Attribute attribute = Attribute.values()[random.nextInt(Attribute.values().length)];
+                List<CardTemplate> pool = TEMPLATES.stream()
+                        .filter(t -> t.getAttribute() == attribute && t.getRarity() == rarity)
+                        .collect(Collectors.toList());
+                if (pool.isEmpty()) {
+                    pool = TEMPLATES.stream().filter(t -> t.getRarity() == rarity).collect(Collectors.toList());
+                    if (pool.isEmpty()) {
+                        pool = new ArrayList<>(TEMPLATES);
+                    }
+                }
+                CardTemplate template = pool.get(random.nextInt(pool.size()));
+                int basePower = random.nextInt(rarity.getMaxPower() - rarity.getMinPower() + 1) + rarity.getMinPower();
+                cards.add(new Card(template.getName(), attribute, rarity, template.getType(), template.getDescription(), basePower));
+            }
+            return cards;
+        }
+
+        private Rarity getRandomRarity() {
+            int roll = random.nextInt(100) + 1;
+            if (roll <= Rarity.SSR.getProbability()) {
+                return Rarity.SSR;
+            } else if (roll <= Rarity.SSR.getProbability() + Rarity.SR.getProbability()) {
+                return Rarity.SR;
+            } else {
+                return Rarity.R;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        Log.setLevel(Log.Level.WARN);
+        StreamFilterDrawer before = new StreamFilterDrawer();
+        GachaService gacha = new GachaService(defaultWeights(), SEED);
+        int[] templateIds = new int[BATCH_SIZES[BATCH_SIZES.length - 1]];
+        byte[] rarities = new byte[templateIds.length];
+        int[] powers = new int[templateIds.length];
+
+        Drawer streamFilter = count -> before.drawCards(count).size();
+        Drawer drawCards = count -> gacha.drawCards(count).get(count - 1).getBasePower();
+        Drawer drawInto = count -> {
+            gacha.drawInto(count, templateIds, rarities, powers, 0);
+            return templateIds[count - 1];
+        };
+
+        System.out.printf("ns per card, median of %d rounds of %,d cards%n", ROUNDS, DRAWS_PER_ROUND);
+        System.out.printf("%-16s %12s %12s %12s%n", "path", "10", "1,000", "1,000,000");
+        report("stream filter", streamFilter);
+        report("drawCards", drawCards);
+        report("drawInto", drawInto);
+    }
+
+    private static Map<Rarity, Integer> defaultWeights() {
+        Map<Rarity, Integer> weights = new EnumMap<>(Rarity.class);
+        for (Rarity rarity : Rarity.values()) {
+            weights.put(rarity, rarity.getProbability());
+        }
+        return weights;
+    }
+
+    private static void report(String label, Drawer drawer) {
+        StringBuilder line = new StringBuilder(String.format("%-16s", label));
+        for (int batch : BATCH_SIZES) {
+            line.append(String.format(" %12.1f", nanosPerCard(drawer, batch)));
+        }
+        System.out.println(line);
+    }
+
+    private static double nanosPerCard(Drawer drawer, int batch) {
+        long calls = Math.max(1, DRAWS_PER_ROUND / batch);
+        long sink = 0;
+        for (int i = 0; i < calls; i++) { // Warm-up
+            sink += drawer.draw(batch);
+        }
+        double[] rounds = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                sink += drawer.draw(batch);
+            }
+            rounds[round] = (System.nanoTime() - start) / (double) (calls * batch);
+        }
+        if (sink == 42) {
+            System.out.print("");
+        }
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+}
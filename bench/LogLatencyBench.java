@@ -0,0 +1,125 @@
+import database.GameRecordService;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import model.Card;
+import model.CardCatalog;
+import model.Player;
+import model.Rarity;
+import service.GachaService;
+import util.Log;
+
+/**
+ * Measures what logging costs the caller on the two paths that log the most:
+ * <ul>
+ *     <li>{@code draw}: a paid ten-card pull, {@link GachaService#drawCards(Player, int)}, which logs the session
+ *     at INFO and every card at DEBUG;</li>
+ *     <li>{@code load}: loading a player and a 5,000-card deck from a scratch SQLite file, as login does.</li>
+ * </ul>
+ * Each path runs with the level at DEBUG (everything enabled), INFO (the default) and OFF. Console output goes to
+ * a discarding stream, so the figures are the caller-side cost of the level check and enqueue rather than of the
+ * terminal. Each figure is the median of several timed rounds after a warm-up.
+ * Run from the repository root with the SQLite driver:
+ * <pre>
+ * javac -encoding UTF-8 -d out $(find src -name '*.java')
+ * javac -encoding UTF-8 -cp out -d out bench/LogLatencyBench.java
+ * java -cp out:lib/sqlite-jdbc-3.49.1.0.jar LogLatencyBench
+ * </pre>
+ */
+public class LogLatencyBench {
+    private static final Log.Level[] LEVELS = {Log.Level.DEBUG, Log.Level.INFO, Log.Level.OFF};
+    private static final int PULLS_PER_ROUND = 20_000;
+    private static final int LOADS_PER_ROUND = 50;
+    private static final int ROUNDS = 9;
+    private static final int DECK_SIZE = 5_000;
+    private static final String USER = "bench";
+
+    private interface Operation {
+        void run();
+    }
+
+    public static void main(String[] args) throws Exception {
+        PrintStream console = System.out;
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        Log.setLevel(Log.Level.WARN);
+        Path file = Files.createTempFile("log-latency", ".db");
+        GameRecordService service = new GameRecordService("jdbc:sqlite:" + file);
+        try {
+            service.registerUser(USER, "password");
+            service.saveCardsToDeck(USER, deck());
+            Player player = new Player(USER, 1, 0, Integer.MAX_VALUE, 1000);
+            GachaService gacha = new GachaService(defaultWeights(), 42);
+
+            Operation draw = () -> gacha.drawCards(player, 10);
+            Operation load = () -> {
+                service.loadPlayerData(USER);
+                service.loadDeck(USER);
+            };
+            System.setOut(discard);
+            System.setErr(discard);
+            for (Log.Level level : LEVELS) { // Compiles every level's path before any figure is kept
+                Log.setLevel(level);
+                micros(PULLS_PER_ROUND, draw);
+                micros(LOADS_PER_ROUND, load);
+            }
+
+            console.printf("us per operation, median of %d rounds%n", ROUNDS);
+            console.printf("%-6s %12s %12s%n", "level", "draw x10", "load");
+            for (Log.Level level : LEVELS) {
+                Log.setLevel(level);
+                double drawMicros = micros(PULLS_PER_ROUND, draw);
+                double loadMicros = micros(LOADS_PER_ROUND, load);
+                Log.flush();
+                console.printf("%-6s %12.2f %12.1f%n", level, drawMicros, loadMicros);
+            }
+            System.setOut(console);
+            System.setErr(console);
+        } finally {
+            Log.setLevel(Log.Level.WARN);
+            service.close();
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(Path.of(file + "-wal"));
+            Files.deleteIfExists(Path.of(file + "-shm"));
+        }
+    }
+
+    // Cycles through every template and ten base powers, so most cards are distinct deck rows
+    private static List<Card> deck() {
+        List<Card> cards = new ArrayList<>(DECK_SIZE);
+        int templates = CardCatalog.getTemplates().size();
+        for (int i = 0; i < DECK_SIZE; i++) {
+            cards.add(CardCatalog.createCard(i % templates, 1 + (i / templates) % 10));
+        }
+        return cards;
+    }
+
+    private static Map<Rarity, Integer> defaultWeights() {
+        Map<Rarity, Integer> weights = new EnumMap<>(Rarity.class);
+        for (Rarity rarity : Rarity.values()) {
+            weights.put(rarity, rarity.getProbability());
+        }
+        return weights;
+    }
+
+    private static double micros(int calls, Operation operation) {
+        for (int i = 0; i < calls; i++) { // Warm-up
+            operation.run();
+        }
+        double[] rounds = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                operation.run();
+            }
+            rounds[round] = (System.nanoTime() - start) / 1e3 / calls;
+        }
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+}
@@ -0,0 +1,82 @@
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+import model.Rarity;
+import service.AliasSampler;
+import service.GachaService;
+
+/**
+ * Measures rarity rolls per second for:
+ * <ul>
+ *     <li>{@code if/else chain}: the cumulative-probability comparison GachaService used before the alias table,
+ *     which only supported the default rates;</li>
+ *     <li>{@code alias table}: {@link AliasSampler#sample(RandomGenerator)} over the same rates.</li>
+ * </ul>
+ * Both roll with the default generator algorithm and seed. Each figure is the median of several timed rounds after
+ * a warm-up. Run from the repository root:
+ * <pre>
+ * javac -encoding UTF-8 -d out $(find src -name '*.java')
+ * javac -encoding UTF-8 -cp out -d out bench/RaritySamplerBench.java
+ * java -cp out RaritySamplerBench
+ * </pre>
+ */
+public class RaritySamplerBench {
+    private static final int ROLLS_PER_ROUND = 20_000_000;
+    private static final int ROUNDS = 7;
+    private static final long SEED = 42;
+
+    private interface Roller {
+        Rarity roll(RandomGenerator random);
+    }
+
+    public static void main(String[] args) {
+        Map<Rarity, Integer> weights = new EnumMap<>(Rarity.class);
+        for (Rarity rarity : Rarity.values()) {
+            weights.put(rarity, rarity.getProbability());
+        }
+        AliasSampler<Rarity> sampler = new AliasSampler<>(weights);
+
+        System.out.printf("million rolls per second, median of %d rounds of %,d rolls%n", ROUNDS, ROLLS_PER_ROUND);
+        report("if/else chain", RaritySamplerBench::ifElseChain);
+        report("alias table", sampler::sample);
+    }
+
+    /**
+     * The rarity roll before the alias table, kept here only as the baseline for comparison.
+     */
+    private static Rarity ifElseChain(RandomGenerator random) {
+        int roll = random.nextInt(100) + 1;
+        if (roll <= Rarity.SSR.getProbability()) {
+            return Rarity.SSR;
+        } else if (roll <= Rarity.SSR.getProbability() + Rarity.SR.getProbability()) {
+            return Rarity.SR;
+        } else {
+            return Rarity.R;
+        }
+    }
+
+    private static void report(String label, Roller roller) {
+        RandomGenerator random = RandomGeneratorFactory.of(GachaService.DEFAULT_ALGORITHM).create(SEED);
+        long[] counts = new long[Rarity.values().length];
+        roll(roller, random, counts); // Warm-up
+        double[] rounds = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            roll(roller, random, counts);
+            rounds[round] = ROLLS_PER_ROUND * 1e3 / (System.nanoTime() - start);
+        }
+        Arrays.sort(rounds);
+        long total = Arrays.stream(counts).sum();
+        System.out.printf("%-16s %8.1f   (SSR %.2f%%, SR %.2f%%, R %.2f%%)%n", label, rounds[ROUNDS / 2],
+                100.0 * counts[Rarity.SSR.ordinal()] / total, 100.0 * counts[Rarity.SR.ordinal()] / total,
+                100.0 * counts[Rarity.R.ordinal()] / total);
+    }
+
+    private static void roll(Roller roller, RandomGenerator random, long[] counts) {
+        for (int i = 0; i < ROLLS_PER_ROUND; i++) {
+            counts[roller.roll(random).ordinal()]++;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+import database.GameRecordService;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import model.MatchRecord;
+import util.Log;
+
+/**
+ * Measures battle-history queries on a scratch database seeded with 1,000,000 {@code record} rows spread over
+ * 100 accounts, under three index layouts:
+ * <ul>
+ *     <li>{@code migration 5}: {@code idx_record_username_timestamp_id}, which covers the keyset order;</li>
+ *     <li>{@code migration 3}: the earlier {@code idx_record_username_timestamp}, without the id tie-breaker;</li>
+ *     <li>{@code no index}: neither index.</li>
+ * </ul>
+ * For one account it times {@link GameRecordService#getRecordsPage} for the first page and for a page deep
+ * in the history, a keyset walk over the whole history, and {@link GameRecordService#getAllRecords}.
+ * Each figure is the median of up to 101 calls, fewer when a case exceeds its five-second budget. Run from the repository root with the SQLite driver:
+ * <pre>
+ * javac -encoding UTF-8 -d out $(find src -name '*.java')
+ * javac -encoding UTF-8 -cp out -d out bench/RecordQueryBench.java
+ * java -cp out:lib/sqlite-jdbc-3.49.1.0.jar RecordQueryBench
+ * </pre>
+ */
+public class RecordQueryBench {
+    private static final int ROWS = 1_000_000;
+    private static final int USERS = 100;
+    private static final int PAGE_SIZE = 50; // Same as the history screen
+    private static final int DEEP_PAGE = 100;
+    private static final String USER = "user42";
+    private static final int MAX_CALLS = 101;
+    private static final long TIME_BUDGET_NANOS = 5_000_000_000L;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private interface Query {
+        int run(GameRecordService service);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Log.setLevel(Log.Level.WARN);
+        Path file = Files.createTempFile("records", ".db");
+        String url = "jdbc:sqlite:" + file;
+        try {
+            new GameRecordService(url).close(); // Applies every migration
+            long start = System.nanoTime();
+            seed(url);
+            System.out.printf("Seeded %,d rows over %d accounts in %.1f s (%s)%n",
+                    ROWS, USERS, (System.nanoTime() - start) / 1e9, file);
+
+            String migration5 = "CREATE INDEX idx_record_username_timestamp_id " +
+                    "ON record (username, timestamp, id, player_name, wins, losses);";
+            run(url, "warm-up", migration5, false); // Compiles the JDBC and formatting paths before any figure is kept
+            System.out.printf("%-12s %14s %14s %14s %14s   %s%n",
+                    "index", "first page", "page " + DEEP_PAGE, "full walk", "getAllRecords", "plan of the page query");
+            run(url, "migration 5", migration5, true);
+            run(url, "migration 3", "CREATE INDEX idx_record_username_timestamp " +
+                    "ON record (username, timestamp, player_name, wins, losses);", true);
+            run(url, "no index", null, true);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(Path.of(file + "-wal"));
+            Files.deleteIfExists(Path.of(file + "-shm"));
+        }
+    }
+
+    private static void seed(String url) throws SQLException {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        try (Connection connection = DriverManager.getConnection(url);
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO record (username, player_name, wins, losses, timestamp) VALUES (?, ?, ?, ?, ?);")) {
+            connection.setAutoCommit(false);
+            for (int row = 0; row < ROWS; row++) {
+                int user = row % USERS;
+                int battle = row / USERS;
+                insert.setString(1, "user" + user);
+                insert.setString(2, "Player" + user);
+                insert.setInt(3, battle % 4);
+                insert.setInt(4, 3 - battle % 4);
+                // Two battles per second, so the id tie-breaker matters
+                insert.setString(5, base.plusSeconds(battle / 2).format(TIMESTAMP));
+                insert.addBatch();
+                if (row % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private static void run(String url, String label, String createIndex, boolean print) throws SQLException {
+        String plan;
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX IF EXISTS idx_record_username_timestamp_id;");
+            statement.execute("DROP INDEX IF EXISTS idx_record_username_timestamp;");
+            if (createIndex != null) {
+                statement.execute(createIndex);
+            }
+            try (ResultSet rs = statement.executeQuery("EXPLAIN QUERY PLAN SELECT id, player_name, wins, losses, " +
+                    "timestamp FROM record WHERE username = 'x' ORDER BY timestamp DESC, id DESC LIMIT 50;")) {
+                StringBuilder steps = new StringBuilder();
+                while (rs.next()) {
+                    steps.append(steps.length() == 0 ? "" : "; ").append(rs.getString("detail"));
+                }
+                plan = steps.toString();
+            }
+        }
+
+        GameRecordService service = new GameRecordService(url);
+        try {
+            MatchRecord deepCursor = walk(service, DEEP_PAGE - 1).cursor;
+            double firstPage = millis(service, s -> s.getRecordsPage(USER, null, PAGE_SIZE).size());
+            double deepPage = millis(service, s -> s.getRecordsPage(USER, deepCursor, PAGE_SIZE).size());
+            double fullWalk = millis(service, s -> walk(s, Integer.MAX_VALUE).records);
+            double all = millis(service, s -> s.getAllRecords(USER).size());
+            if (print) {
+                System.out.printf("%-12s %11.3f ms %11.3f ms %11.3f ms %11.3f ms   %s%n",
+                        label, firstPage, deepPage, fullWalk, all, plan);
+            }
+        } finally {
+            service.close();
+        }
+    }
+
+    private static final class Walk {
+        MatchRecord cursor;
+        int records;
+    }
+
+    private static Walk walk(GameRecordService service, int pages) {
+        Walk walk = new Walk();
+        for (int page = 0; page < pages; page++) {
+            List<MatchRecord> records = service.getRecordsPage(USER, walk.cursor, PAGE_SIZE);
+            walk.records += records.size();
+            if (records.size() < PAGE_SIZE) {
+                break;
+            }
+            walk.cursor = records.get(records.size() - 1);
+        }
+        return walk;
+    }
+
+    private static double millis(GameRecordService service, Query query) {
+        query.run(service); // Warm-up, also fills the page cache
+        double[] times = new double[MAX_CALLS];
+        int calls = 0;
+        long deadline = System.nanoTime() + TIME_BUDGET_NANOS;
+        // Slow cases (a full scan per page) stop at the time budget instead of running every call
+        while (calls < MAX_CALLS && (calls == 0 || System.nanoTime() < deadline)) {
+            long start = System.nanoTime();
+            query.run(service);
+            times[calls++] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times, 0, calls);
+        return times[calls / 2];
+    }
+}
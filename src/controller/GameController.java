@@ -1,11 +1,13 @@
 package controller;
 
 import model.Card;
+import model.DrawSession;
 import model.Player;
 import service.GachaService;
 import service.BattleService;
 import service.BattleService.BattleResult;
-import database.GameRecordService;
+import service.LeaderboardService;
+import database.DeckRepository;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,6 +24,7 @@ public class GameController {
     private int playerScore;
     private int computerScore;
     private Player currentPlayer; // Track current player for stats
+    private LeaderboardService leaderboard; // Optional in-memory leaderboard kept in step with rating changes
 
     /**
      * Constructor for GameController.
@@ -85,6 +88,13 @@ public class GameController {
         return null; // Player couldn't afford the cards
     }
 
+    /**
+     * @return The audit entry of the player's last pull, to be saved with its cards, or null if there has been none.
+     */
+    public DrawSession getLastDrawSession() {
+        return gachaService.getLastSession();
+    }
+
     /**
      * Returns the list of all collected cards (deck).
      */
@@ -180,13 +190,22 @@ public class GameController {
     }
 
     /**
-     * Loads the player's deck from the database using the provided record service.
+     * Loads the player's deck from the given repository.
      * @param username The username whose deck is to be loaded.
-     * @param recordService The service to interact with the database.
+     * @param decks The repository holding the player's cards.
      */
-    public void loadPlayerDeck(String username, GameRecordService recordService) {
+    public void loadPlayerDeck(String username, DeckRepository decks) {
         playerDeck.clear();
-        playerDeck.addAll(recordService.loadDeck(username));
+        playerDeck.addAll(decks.loadDeck(username));
+    }
+
+    /**
+     * Replaces the collected cards, e.g. with a deck loaded from the database on a background thread.
+     * @param cards The player's cards.
+     */
+    public void setPlayerDeck(List<Card> cards) {
+        playerDeck.clear();
+        playerDeck.addAll(cards);
     }
 
     public void addRating(int amount) {
@@ -210,9 +229,20 @@ public class GameController {
         if (currentPlayer != null) {
             int delta = calculateRatingDelta();
             currentPlayer.addRating(delta);
+            if (leaderboard != null) {
+                leaderboard.update(currentPlayer);
+            }
         }
     }
 
+    /**
+     * Sets the leaderboard to update whenever the current player's rating changes.
+     * @param leaderboard The leaderboard, or null to stop updating one.
+     */
+    public void setLeaderboard(LeaderboardService leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
     /**
      * Get current player's rating.
      */
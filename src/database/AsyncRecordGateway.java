@@ -0,0 +1,128 @@
+package database;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import util.Log;
+
+/**
+ * Runs {@link GameRepository} calls, normally against {@link GameRecordService}, on a dedicated database thread
+ * and hands the results back as {@link CompletableFuture}s whose completion, and so every dependent stage
+ * registered on it, happens on a caller-chosen executor, normally the Swing event dispatch thread
+ * ({@code SwingUtilities::invokeLater}).
+ * Work runs one task at a time in submission order, so a save queued before a load is always visible to it.
+ */
+public class AsyncRecordGateway implements AutoCloseable {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ExecutorService executor;
+    private final Executor callbackExecutor;
+    private final CompletableFuture<GameRepository> service;
+    private final List<Consumer<GameRepository>> shutdownTasks = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates the gateway and opens the repository on the database thread, so even schema setup
+     * stays off the calling thread. Pending work is finished and the service closed on JVM shutdown.
+     * @param serviceFactory Creates the repository, e.g. {@code GameRecordService::new} or {@code InMemoryGameRepository::new}.
+     * @param callbackExecutor Where futures returned by this gateway are completed.
+     */
+    public AsyncRecordGateway(Supplier<GameRepository> serviceFactory, Executor callbackExecutor) {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-gateway");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.callbackExecutor = callbackExecutor;
+        this.service = CompletableFuture.supplyAsync(serviceFactory, executor);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "db-gateway-shutdown"));
+    }
+
+    /**
+     * Runs a query or update on the database thread.
+     * @param work The work to run against the repository.
+     * @return A future completed on the callback executor with the work's result, or exceptionally if it threw.
+     */
+    public <T> CompletableFuture<T> call(Function<GameRepository, T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<T> task;
+        try {
+            // Submitted straight to the single database thread, queued behind the repository opening, so tasks run
+            // in submission order even before it has opened; chaining on the open future would run those in reverse
+            task = CompletableFuture.supplyAsync(() -> work.apply(service.join()), executor);
+        } catch (RejectedExecutionException e) {
+            task = CompletableFuture.failedFuture(e); // Gateway closed
+        }
+        task.whenComplete((value, error) -> callbackExecutor.execute(() -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                Log.error("[DB] Background database task failed: " + cause.getMessage(), cause);
+                result.completeExceptionally(cause);
+            } else {
+                result.complete(value);
+            }
+        }));
+        return result;
+    }
+
+    /**
+     * Runs work with no result on the database thread.
+     * @param work The work to run against the repository.
+     * @return A future completed on the callback executor once the work has run.
+     */
+    public CompletableFuture<Void> run(Consumer<GameRepository> work) {
+        return call(repository -> {
+            work.accept(repository);
+            return null;
+        });
+    }
+
+    /**
+     * Registers work to run on the database thread when the gateway closes, after all queued work
+     * and before the repository is closed, e.g. flushing a write-behind cache.
+     * @param task The work to run against the repository.
+     */
+    public void addShutdownTask(Consumer<GameRepository> task) {
+        shutdownTasks.add(task);
+    }
+
+    /**
+     * Finishes all queued work and shutdown tasks, then closes the repository. Further calls are rejected.
+     */
+    @Override
+    public void close() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        try {
+            executor.execute(() -> service.thenAccept(repository -> {
+                for (Consumer<GameRepository> task : shutdownTasks) {
+                    try {
+                        task.accept(repository);
+                    } catch (RuntimeException e) {
+                        Log.error("[DB] Shutdown task failed: " + e.getMessage(), e);
+                    }
+                }
+                repository.close();
+            }));
+        } catch (RejectedExecutionException ignored) {
+            // Closed concurrently
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Log.warn("[DB] Gave up waiting for queued database work at shutdown.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package database;
+
+import java.awt.EventQueue;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import util.Log;
+
+/**
+ * Keeps one long-lived SQLite connection per thread, each with its own prepared statement cache,
+ * so database calls no longer reopen the database file every time.
+ * Statements returned by {@link #prepare(String)} are owned by the manager: callers must close their
+ * ResultSets but must not close the statement or the connection.
+ */
+public class ConnectionManager implements AutoCloseable {
+    // Set -Dcardgame.db.strictEdt=true to fail fast instead of logging when the database is used on the Swing EDT
+    public static final String STRICT_EDT_PROPERTY = "cardgame.db.strictEdt";
+    private static final boolean STRICT_EDT = Boolean.getBoolean(STRICT_EDT_PROPERTY);
+    private static final Set<String> reportedEdtCallers = ConcurrentHashMap.newKeySet();
+
+    private final String url;
+    private final String[] setupStatements;
+    private final Set<Handle> handles = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Handle> currentHandle = new ThreadLocal<>();
+    private volatile boolean closed;
+
+    /**
+     * A thread's connection and its cached statements.
+     */
+    private static class Handle {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        Handle(Connection connection) {
+            this.connection = connection;
+        }
+
+        void close() {
+            for (PreparedStatement statement : statements.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException ignored) {
+                    // Closing anyway
+                }
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                Log.warn("[DB] Error closing connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @param url The JDBC URL to connect to.
+     * @param setupStatements Statements run on every new connection, e.g. per-connection PRAGMAs.
+     */
+    public ConnectionManager(String url, String... setupStatements) {
+        this.url = url;
+        this.setupStatements = setupStatements.clone();
+    }
+
+    /**
+     * Returns the calling thread's connection, opening it on first use or if it was closed.
+     * @return The connection for this thread.
+     * @throws SQLException if the connection cannot be opened or the manager has been closed.
+     */
+    public Connection getConnection() throws SQLException {
+        return handle().connection;
+    }
+
+    /**
+     * Returns a cached prepared statement for the calling thread's connection, preparing it on first use.
+     * Parameters from a previous use are cleared.
+     * @param sql The SQL to prepare.
+     * @return The prepared statement.
+     * @throws SQLException if the statement cannot be prepared.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        Handle handle = handle();
+        PreparedStatement statement = handle.statements.get(sql);
+        if (statement == null) {
+            statement = handle.connection.prepareStatement(sql);
+            handle.statements.put(sql, statement);
+        } else {
+            statement.clearParameters();
+        }
+        return statement;
+    }
+
+    private Handle handle() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection manager is closed");
+        }
+        if (EventQueue.isDispatchThread()) {
+            reportEdtAccess();
+        }
+        Handle handle = currentHandle.get();
+        if (handle == null || handle.connection.isClosed()) {
+            if (handle != null) {
+                handles.remove(handle);
+            }
+            handle = new Handle(open());
+            currentHandle.set(handle);
+            handles.add(handle);
+            Log.debug("[DB] Opened connection for thread %s", Thread.currentThread().getName());
+        }
+        return handle;
+    }
+
+    /**
+     * Database I/O on the event dispatch thread freezes the UI. Reports each offending call site once,
+     * or throws in strict mode so tests and debug runs catch it immediately.
+     */
+    private static void reportEdtAccess() {
+        IllegalStateException error = new IllegalStateException("Database accessed on the Swing event dispatch thread");
+        if (STRICT_EDT) {
+            throw error;
+        }
+        String caller = StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !frame.getClassName().startsWith("database."))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+        if (reportedEdtCallers.add(caller)) {
+            Log.error("[DB] " + error.getMessage() + " from " + caller, error);
+        }
+    }
+
+    private Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : setupStatements) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    /**
+     * Closes every connection opened by this manager. Further calls fail with an SQLException.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Handle handle : handles) {
+            handle.close();
+        }
+        handles.clear();
+        Log.debug("[DB] All connections closed");
+    }
+}
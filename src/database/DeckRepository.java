@@ -0,0 +1,68 @@
+package database;
+
+import java.util.List;
+import model.Card;
+import model.DrawSession;
+import model.Player;
+
+/**
+ * Stores the cards each player has collected, and the audit entry of every pull that added them.
+ */
+public interface DeckRepository {
+    /**
+     * Adds one card to a player's deck.
+     * @param username The username who owns the card.
+     * @param card The card to save.
+     */
+    void saveCardToDeck(String username, Card card);
+
+    /**
+     * Adds several cards to a player's deck at once.
+     * @param username The username who owns the cards.
+     * @param cards The cards to save.
+     * @return true if all cards were saved; false means none were.
+     */
+    default boolean saveCardsToDeck(String username, List<Card> cards) {
+        return saveCardsToDeck(username, cards, null);
+    }
+
+    /**
+     * Saves the result of a pull: the drawn cards and, if a player is given, their remaining currency,
+     * atomically, so a pull is never saved half way.
+     * @param username The username who owns the cards.
+     * @param cards The cards to save.
+     * @param player The player whose currency should be persisted with the cards, or null to save cards only.
+     * @return true if everything was saved; false means nothing was.
+     */
+    default boolean saveCardsToDeck(String username, List<Card> cards, Player player) {
+        return saveCardsToDeck(username, cards, player, null);
+    }
+
+    /**
+     * Saves the result of a pull together with its audit entry, atomically.
+     * @param username The username who owns the cards.
+     * @param cards The cards to save.
+     * @param player The player whose currency should be persisted with the cards, or null to save cards only.
+     * @param session The seed and rates that drew the cards, or null if the pull is not audited.
+     * @return true if everything was saved; false means nothing was.
+     */
+    boolean saveCardsToDeck(String username, List<Card> cards, Player player, DrawSession session);
+
+    /**
+     * @param username The username whose pulls to list.
+     * @return The player's saved pull audit entries, newest first.
+     */
+    List<DrawSession> loadDrawSessions(String username);
+
+    /**
+     * @param username The username whose deck to load.
+     * @return The player's cards, ordered by template and base power.
+     */
+    List<Card> loadDeck(String username);
+
+    /**
+     * Removes every card of a player.
+     * @param username The username whose deck is to be cleared.
+     */
+    void clearPlayerDeck(String username);
+}
@@ -5,16 +5,26 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import model.DrawSession;
+import model.MatchRecord;
 import model.Player;
+import util.Log;
 
 /**
  * Service for managing game records in an SQLite database.
  */
-public class GameRecordService {
+public class GameRecordService implements GameRepository {
     private static final String DB_FILENAME = "game_records.db";
     // 動態計算應用程式所在的資料夾，並定位 data 子目錄
     public static final String DB_URL;
+    // 資料庫與其他本機資料檔所在的 data 目錄
+    public static final Path DATA_DIR;
     static {
         try {
             // 取得程式碼（jar 或 exe）位置
@@ -28,8 +38,9 @@ public class GameRecordService {
             Path dataDir = appDir.resolve("data");
             if (!Files.exists(dataDir)) {
                 Files.createDirectories(dataDir);
-                System.out.println("[DB] Created data directory at " + dataDir.toAbsolutePath());
+                Log.info("[DB] Created data directory at " + dataDir.toAbsolutePath());
             }
+            DATA_DIR = dataDir;
             Path dbFile = dataDir.resolve(DB_FILENAME);
             DB_URL = "jdbc:sqlite:" + dbFile.toAbsolutePath();
         } catch (Exception e) {
@@ -37,96 +48,171 @@ public class GameRecordService {
         }
     }
 
+    private final ConnectionManager connections;
+    private final List<Consumer<Player>> playerSaveListeners = new CopyOnWriteArrayList<>();
+
     /**
-     * Initializes the database by creating the necessary tables if they don't exist.
-     * Also ensures the default admin account exists.
+     * Opens the database and applies any pending schema migrations, including the default admin account.
+     * A database already at the latest schema version costs a single version read.
      */
     public GameRecordService() {
-        System.out.println("[DB] Using DB URL: " + DB_URL);
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             Statement statement = connection.createStatement()) {
-
-            // 檢查所有必要的資料表是否已存在
-            boolean recordTableExists = false;
-            ResultSet rs = connection.getMetaData().getTables(null, null, "record", null);
-            if (rs.next()) {
-                recordTableExists = true;
-            }
-
-            if (!recordTableExists) {
-                statement.execute("CREATE TABLE IF NOT EXISTS record (" +
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                        "username TEXT NOT NULL," +
-                        "player_name TEXT NOT NULL," +
-                        "wins INTEGER NOT NULL," +
-                        "losses INTEGER NOT NULL," +
-                        "timestamp DATETIME DEFAULT CURRENT_TIMESTAMP" +
-                        ");");
-                System.out.println("[DB] 'record' table created.");
-            } else {
-                System.out.println("[DB] 'record' table already exists.");
-            }
-
-            // 檢查 players 資料表是否已存在
-            boolean playersTableExists = false;
-            rs = connection.getMetaData().getTables(null, null, "players", null);
-            if (rs.next()) {
-                playersTableExists = true;
-            }
-
-            if (!playersTableExists) {
-                // Create players table with password, level, xp, currency, rating
-                statement.execute("CREATE TABLE IF NOT EXISTS players (" +
-                        "username TEXT PRIMARY KEY NOT NULL UNIQUE, " +
-                        "password TEXT NOT NULL, " +
-                        "level INTEGER DEFAULT 1, " +
-                        "xp INTEGER DEFAULT 0, " +
-                        "currency INTEGER DEFAULT 1000, " +
-                        "rating INTEGER DEFAULT 1000" +
-                        ");");
-                System.out.println("[DB] 'players' table created with password column.");
-            } else {
-                System.out.println("[DB] 'players' table already exists.");
-                // Ensure all necessary columns exist in players table for backward compatibility
-                try { statement.execute("ALTER TABLE players ADD COLUMN password TEXT"); System.out.println("[DB] Added missing column 'password' to players"); } catch (SQLException ignored) {}
-                try { statement.execute("ALTER TABLE players ADD COLUMN level INTEGER DEFAULT 1"); System.out.println("[DB] Added missing column 'level' to players"); } catch (SQLException ignored) {}
-                try { statement.execute("ALTER TABLE players ADD COLUMN xp INTEGER DEFAULT 0"); System.out.println("[DB] Added missing column 'xp' to players"); } catch (SQLException ignored) {}
-                try { statement.execute("ALTER TABLE players ADD COLUMN currency INTEGER DEFAULT 1000"); System.out.println("[DB] Added missing column 'currency' to players"); } catch (SQLException ignored) {}
-                try { statement.execute("ALTER TABLE players ADD COLUMN rating INTEGER DEFAULT 1000"); System.out.println("[DB] Added missing column 'rating' to players"); } catch (SQLException ignored) {}
-            }
-
-            // 檢查 deck 資料表是否已存在
-            boolean deckTableExists = false;
-            rs = connection.getMetaData().getTables(null, null, "deck", null);
-            if (rs.next()) {
-                deckTableExists = true;
-            }
-
-            if (!deckTableExists) {
-                statement.execute("CREATE TABLE IF NOT EXISTS deck (" +
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                        "username TEXT NOT NULL," +
-                        "card_name TEXT NOT NULL," +
-                        "attribute TEXT NOT NULL," +
-                        "rarity TEXT NOT NULL," +
-                        "type TEXT NOT NULL," +
-                        "description TEXT," +
-                        "base_power INTEGER NOT NULL" +
-                        ");");
-                System.out.println("[DB] 'deck' table created.");
+        this(DB_URL);
+    }
+
+    /**
+     * Opens the database at the given URL, e.g. a scratch file for benchmarking the SQLite layer on its own.
+     * @param url The JDBC URL of the SQLite database.
+     */
+    public GameRecordService(String url) {
+        Log.info("[DB] Using DB URL: " + url);
+        // WAL 模式下 NORMAL 仍可保證資料庫一致，只是斷電時可能遺失最後幾筆交易；busy_timeout 讓多個連線的寫入互相等待而非立即失敗
+        connections = new ConnectionManager(url, "PRAGMA synchronous = NORMAL;", "PRAGMA busy_timeout = 5000;");
+        // 結構變更依序排列，只能在最後新增，已發佈的步驟不可修改
+        SchemaMigrator migrator = new SchemaMigrator(List.of(
+                this::createCoreTables,
+                this::createDeckTable,
+                this::createIndexes,
+                this::ensureAdminAccount,
+                this::reindexRecordsById,
+                this::createDrawAuditTable));
+        try {
+            Connection connection = connections.getConnection();
+            int version = migrator.readVersion(connection);
+            if (version < migrator.getLatestVersion()) {
+                // WAL 設定會保存在資料庫檔案中，只需在建立或升級時設定；交易中無法切換，所以在遷移前執行
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("PRAGMA journal_mode = WAL;")) {
+                    Log.debug("[DB] Journal mode: %s", rs.next() ? rs.getString(1) : "unknown");
+                }
+                migrator.migrate(connection, version);
             } else {
-                System.out.println("[DB] 'deck' table already exists.");
+                Log.debug("[DB] Schema is up to date at version %d", version);
+            }
+        } catch (SQLException e) {
+            Log.error("Error initializing database: " + e.getMessage(), e);
+        }
+    }
+
+    // 遷移 1：戰績與玩家資料表。版本控管之前建立的資料庫也從這裡開始，所以每一步都必須可重複執行
+    private void createCoreTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS record (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "username TEXT NOT NULL," +
+                    "player_name TEXT NOT NULL," +
+                    "wins INTEGER NOT NULL," +
+                    "losses INTEGER NOT NULL," +
+                    "timestamp DATETIME DEFAULT CURRENT_TIMESTAMP" +
+                    ");");
+            statement.execute("CREATE TABLE IF NOT EXISTS players (" +
+                    "username TEXT PRIMARY KEY NOT NULL UNIQUE, " +
+                    "password TEXT NOT NULL, " +
+                    "level INTEGER DEFAULT 1, " +
+                    "xp INTEGER DEFAULT 0, " +
+                    "currency INTEGER DEFAULT 1000, " +
+                    "rating INTEGER DEFAULT 1000" +
+                    ");");
+
+            // 早期版本的 players 資料表缺少部分欄位，只補上實際缺少的欄位
+            Set<String> columns = new HashSet<>();
+            try (ResultSet rs = statement.executeQuery("PRAGMA table_info(players);")) {
+                while (rs.next()) {
+                    columns.add(rs.getString("name"));
+                }
+            }
+            String[][] addedColumns = {
+                    {"password", "TEXT"},
+                    {"level", "INTEGER DEFAULT 1"},
+                    {"xp", "INTEGER DEFAULT 0"},
+                    {"currency", "INTEGER DEFAULT 1000"},
+                    {"rating", "INTEGER DEFAULT 1000"}};
+            for (String[] column : addedColumns) {
+                if (!columns.contains(column[0])) {
+                    statement.execute("ALTER TABLE players ADD COLUMN " + column[0] + " " + column[1] + ";");
+                    Log.debug("[DB] Added missing column '%s' to players", column[0]);
+                }
             }
+        }
+    }
 
-            // 確保管理員帳號存在
+    // 遷移 2：卡片以 (模板 id, 基礎戰力, 數量) 彙總保存，舊版 deck 資料表存在時一併搬移
+    private void createDeckTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS deck_cards (" +
+                    "username TEXT NOT NULL," +
+                    "template_id INTEGER NOT NULL," +
+                    "base_power INTEGER NOT NULL," +
+                    "count INTEGER NOT NULL DEFAULT 1," +
+                    "PRIMARY KEY (username, template_id, base_power)" +
+                    ") WITHOUT ROWID;");
+        }
+        boolean legacyDeckExists;
+        try (ResultSet rs = connection.getMetaData().getTables(null, null, "deck", null)) {
+            legacyDeckExists = rs.next();
+        }
+        if (legacyDeckExists) {
+            migrateLegacyDeck(connection);
+        }
+    }
+
+    // 遷移 3：查詢與排行榜使用的索引
+    private void createIndexes(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // 查詢玩家戰績時依 username 過濾並依時間排序；索引涵蓋所有查詢欄位，不需回表
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_record_username_timestamp " +
+                    "ON record (username, timestamp, player_name, wins, losses);");
+            // deck_cards 的主鍵以 username 開頭，已可直接依使用者查詢，不需另建索引
+
+            // 排行榜依各項數值由高到低、同分依帳號排序；索引順序與查詢一致，取前 N 名不需排序整張表
+            for (LeaderboardKey key : LeaderboardKey.values()) {
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_players_" + key.getColumn() +
+                        " ON players (" + key.getColumn() + " DESC, username);");
+            }
+        }
+    }
+
+    // 遷移 4：預設管理員帳號
+    private void ensureAdminAccount(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
             statement.execute("INSERT OR IGNORE INTO players (username, password) VALUES ('admin', 'admin');");
-            System.out.println("[DB] Admin account ensured.");
-        } catch (SQLException e) {
-            System.err.println("Error initializing database: " + e.getMessage());
-            e.printStackTrace();
+            Log.debug("[DB] Admin account ensured.");
+        }
+    }
+
+    // 遷移 5：戰績分頁依 (timestamp DESC, id DESC) 排序，索引加入 id 後可直接依序範圍掃描，不需另建暫存排序；
+    // 其餘查詢欄位放在 id 之後，仍然不需回表
+    private void reindexRecordsById(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX IF EXISTS idx_record_username_timestamp;");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_record_username_timestamp_id " +
+                    "ON record (username, timestamp, id, player_name, wins, losses);");
+        }
+    }
+
+    // 遷移 6：抽卡稽核紀錄，保存每次付費抽卡的種子、張數與機率，可用 GachaService.replay 重現
+    private void createDrawAuditTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS draw_audit (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "username TEXT NOT NULL," +
+                    "seed INTEGER NOT NULL," +
+                    "draw_count INTEGER NOT NULL," +
+                    "rates TEXT NOT NULL," +
+                    "timestamp DATETIME DEFAULT CURRENT_TIMESTAMP" +
+                    ");");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_draw_audit_username_id ON draw_audit (username, id);");
         }
     }
 
+    /**
+     * Closes all pooled database connections. {@link AsyncRecordGateway} calls this on JVM shutdown
+     * once its queued work has finished.
+     */
+    @Override
+    public void close() {
+        connections.close();
+    }
+
     /**
      * Saves a game record to the database, binding it to a specific username.
      * @param username The username associated with the record.
@@ -134,19 +220,19 @@ public class GameRecordService {
      * @param wins The number of wins.
      * @param losses The number of losses.
      */
+    @Override
     public void saveRecord(String username, String playerName, int wins, int losses) {
         String insertSQL = "INSERT INTO record (username, player_name, wins, losses) VALUES (?, ?, ?, ?);";
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             PreparedStatement preparedStatement = connection.prepareStatement(insertSQL)) {
+        try {
+            PreparedStatement preparedStatement = connections.prepare(insertSQL);
             preparedStatement.setString(1, username);
             preparedStatement.setString(2, playerName);
             preparedStatement.setInt(3, wins);
             preparedStatement.setInt(4, losses);
             preparedStatement.executeUpdate();
-            System.out.println("[DB] Record saved: Username=" + username + ", PlayerName=" + playerName + ", Wins=" + wins + ", Losses=" + losses);
+            Log.debug("[DB] Record saved: Username=" + username + ", PlayerName=" + playerName + ", Wins=" + wins + ", Losses=" + losses);
         } catch (SQLException e) {
-            System.err.println("[DB] Error saving record: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("[DB] Error saving record: " + e.getMessage(), e);
         }
     }
 
@@ -155,10 +241,10 @@ public class GameRecordService {
      * @param username The username whose records are to be retrieved.
      */
     public void printAllRecords(String username) {
-        System.out.println("[DB] Checking records for username: " + username);
-        String querySQL = "SELECT * FROM record WHERE username = ? ORDER BY timestamp DESC;";
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             PreparedStatement preparedStatement = connection.prepareStatement(querySQL)) {
+        Log.debug("[DB] Checking records for username: " + username);
+        String querySQL = "SELECT id, player_name, wins, losses, timestamp FROM record WHERE username = ? ORDER BY timestamp DESC;";
+        try {
+            PreparedStatement preparedStatement = connections.prepare(querySQL);
             preparedStatement.setString(1, username);
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 boolean hasRecords = false;
@@ -173,12 +259,11 @@ public class GameRecordService {
                             resultSet.getString("timestamp"));
                 }
                 if (!hasRecords) {
-                    System.out.println("[DB] No records found for username: " + username);
+                    Log.info("[DB] No records found for username: " + username);
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[DB] Error retrieving records: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("[DB] Error retrieving records: " + e.getMessage(), e);
         }
     }
 
@@ -188,20 +273,21 @@ public class GameRecordService {
      * @param password The password.
      * @return true if registration successful, false if username exists or other error occurs.
      */
+    @Override
     public boolean registerUser(String username, String password) {
         String checkUserSQL = "SELECT username FROM players WHERE username = ?";
         String insertUserSQL = "INSERT INTO players (username, password) VALUES (?, ?)";
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             PreparedStatement checkStmt = connection.prepareStatement(checkUserSQL);
-             PreparedStatement insertStmt = connection.prepareStatement(insertUserSQL)) {
+        try {
+            PreparedStatement checkStmt = connections.prepare(checkUserSQL);
+            PreparedStatement insertStmt = connections.prepare(insertUserSQL);
 
-            System.out.println("[DB] registerUser SQL: " + checkUserSQL + ", then " + insertUserSQL);
+            Log.debug("[DB] registerUser SQL: " + checkUserSQL + ", then " + insertUserSQL);
 
             // Check if the username already exists
             checkStmt.setString(1, username);
             try (ResultSet rs = checkStmt.executeQuery()) {
                 if (rs.next()) {
-                    System.err.println("Registration failed: Username already exists (" + username + ").");
+                    Log.warn("Registration failed: Username already exists (" + username + ").");
                     return false;
                 }
             }
@@ -211,14 +297,16 @@ public class GameRecordService {
             insertStmt.setString(2, password);
             insertStmt.executeUpdate();
             // Diagnostic: print table content after registration
-            System.out.println("[DB] After registration, players table content:");
-            checkDatabaseContent();
-            System.out.println("User registered successfully: " + username);
+            if (Log.isDebugEnabled()) {
+                Log.debug("[DB] After registration, players table content:");
+                checkDatabaseContent();
+            }
+            Log.info("User registered successfully: " + username);
+            notifyPlayerSaved(new Player(username, 1, 0, 1000, 1000)); // Column defaults of the players table
             return true;
 
         } catch (SQLException e) {
-            System.err.println("Error during registration: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error during registration: " + e.getMessage(), e);
             return false;
         }
     }
@@ -229,27 +317,28 @@ public class GameRecordService {
      * @param password 密碼
      * @return 如果登入成功，則為 Player 物件，否則為 null
      */
+    @Override
     public Player loginUser(String username, String password) {
         String sql = "SELECT * FROM players WHERE username = ? AND password = ?"; // 假設密碼未加密
-        try (Connection conn = DriverManager.getConnection(DB_URL); // Fix: Use DriverManager
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            PreparedStatement pstmt = connections.prepare(sql);
             pstmt.setString(1, username);
             pstmt.setString(2, password);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                // 登入成功，創建並回傳 Player 物件
-                return new Player(
-                    rs.getString("username"), // Fix: Use username
-                    rs.getInt("level"),       // Fix: Use level
-                    rs.getInt("xp"),          // Fix: Use xp instead of experience
-                    rs.getInt("currency"),    // Fix: Use currency
-                    rs.getInt("rating")       // Fix: Use rating
-                    // 注意：如果 Player 建構子需要更多參數，請從 ResultSet 中獲取
-                );
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    // 登入成功，創建並回傳 Player 物件
+                    return new Player(
+                        rs.getString("username"), // Fix: Use username
+                        rs.getInt("level"),       // Fix: Use level
+                        rs.getInt("xp"),          // Fix: Use xp instead of experience
+                        rs.getInt("currency"),    // Fix: Use currency
+                        rs.getInt("rating")       // Fix: Use rating
+                        // 注意：如果 Player 建構子需要更多參數，請從 ResultSet 中獲取
+                    );
+                }
             }
         } catch (SQLException e) {
-            System.err.println("登入時資料庫錯誤：" + e.getMessage());
-            e.printStackTrace();
+            Log.error("登入時資料庫錯誤：" + e.getMessage(), e);
         }
         return null; // 登入失敗
     }
@@ -259,12 +348,11 @@ public class GameRecordService {
      */
     public void checkDatabaseContent() {
         String queryPlayersSQL = "SELECT username, password, level, xp, currency, rating FROM players;";
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             Statement statement = connection.createStatement();
+        try (Statement statement = connections.getConnection().createStatement();
              ResultSet rs = statement.executeQuery(queryPlayersSQL)) {
-            System.out.println("[DB Debug] Players table content:");
+            Log.debug("[DB Debug] Players table content:");
             while (rs.next()) {
-                System.out.printf("Username: %s, Password: %s, Level: %d, XP: %d, Currency: %d, Rating: %d\n",
+                Log.debug("Username: %s, Password: %s, Level: %d, XP: %d, Currency: %d, Rating: %d",
                     rs.getString("username"),
                     rs.getString("password"),
                     rs.getInt("level"),
@@ -273,8 +361,7 @@ public class GameRecordService {
                     rs.getInt("rating"));
             }
         } catch (SQLException e) {
-            System.err.println("[DB Debug] Error checking database content: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("[DB Debug] Error checking database content: " + e.getMessage(), e);
         }
     }
 
@@ -285,19 +372,17 @@ public class GameRecordService {
      */
     public boolean clearDatabase(String username) {
         if (!"admin".equals(username)) {
-            System.err.println("Permission denied: Only admin can clear the database.");
+            Log.warn("Permission denied: Only admin can clear the database.");
             return false;
         }
 
         String deleteRecordsSQL = "DELETE FROM record;";
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             Statement statement = connection.createStatement()) {
+        try (Statement statement = connections.getConnection().createStatement()) {
             statement.executeUpdate(deleteRecordsSQL);
-            System.out.println("All records have been cleared by admin.");
+            Log.info("All records have been cleared by admin.");
             return true;
         } catch (SQLException e) {
-            System.err.println("Error clearing database: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error clearing database: " + e.getMessage(), e);
             return false;
         }
     }
@@ -308,9 +393,10 @@ public class GameRecordService {
      * @param type The type of data to clear: "records" or "cards".
      * @return true if the operation is successful, false otherwise.
      */
+    @Override
     public boolean clearDatabaseByType(String username, String type) {
         if (!"admin".equals(username)) {
-            System.err.println("Permission denied: Only admin can clear the database.");
+            Log.warn("Permission denied: Only admin can clear the database.");
             return false;
         }
 
@@ -318,20 +404,18 @@ public class GameRecordService {
         if ("records".equalsIgnoreCase(type)) {
             deleteSQL = "DELETE FROM record;";
         } else if ("cards".equalsIgnoreCase(type)) {
-            deleteSQL = "DELETE FROM deck;"; // Corrected from 'cards' to 'deck'
+            deleteSQL = "DELETE FROM deck_cards;";
         } else {
-            System.err.println("Invalid type specified. Use 'records' or 'cards'.");
+            Log.warn("Invalid type specified. Use 'records' or 'cards'.");
             return false;
         }
 
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             Statement statement = connection.createStatement()) {
+        try (Statement statement = connections.getConnection().createStatement()) {
             statement.executeUpdate(deleteSQL);
-            System.out.println("All " + type + " have been cleared by admin.");
+            Log.info("All " + type + " have been cleared by admin.");
             return true;
         } catch (SQLException e) {
-            System.err.println("Error clearing database: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error clearing database: " + e.getMessage(), e);
             return false;
         }
     }
@@ -342,95 +426,331 @@ public class GameRecordService {
      * @param username The username attempting to clear the registered users.
      * @return true if the operation is successful, false otherwise.
      */
+    @Override
     public boolean clearAllRegisteredUsers(String username) {
         if (!"admin".equals(username)) {
-            System.err.println("Permission denied: Only admin can clear registered users.");
+            Log.warn("Permission denied: Only admin can clear registered users.");
             return false;
         }
 
         String deleteUsersSQL = "DELETE FROM players WHERE username != 'admin';";
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             Statement statement = connection.createStatement()) {
+        try (Statement statement = connections.getConnection().createStatement()) {
             int rowsAffected = statement.executeUpdate(deleteUsersSQL);
-            System.out.println(rowsAffected + " registered users (excluding admin) have been cleared by admin.");
+            Log.info(rowsAffected + " registered users (excluding admin) have been cleared by admin.");
             return true;
         } catch (SQLException e) {
-            System.err.println("Error clearing registered users: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error clearing registered users: " + e.getMessage(), e);
             return false;
         }
     }
 
+    // Adds copies of a card to the aggregate row, creating it if needed
+    private static final String UPSERT_DECK_SQL = "INSERT INTO deck_cards (username, template_id, base_power, count) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT(username, template_id, base_power) DO UPDATE SET count = count + excluded.count;";
+
     // 新增保存玩家卡片到資料庫的方法
+    @Override
     public void saveCardToDeck(String username, model.Card card) {
-        String insertSQL = "INSERT INTO deck (username, card_name, attribute, rarity, type, description, base_power) VALUES (?, ?, ?, ?, ?, ?, ?);";
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             PreparedStatement ps = connection.prepareStatement(insertSQL)) {
+        try {
+            PreparedStatement ps = connections.prepare(UPSERT_DECK_SQL);
+            if (bindDeckCard(ps, username, card)) {
+                ps.executeUpdate();
+                Log.debug("[DB] Card saved to deck: %s", card.getName());
+            }
+        } catch (SQLException e) {
+            Log.error("[DB] Error saving card to deck: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Saves the result of a pull: the drawn cards, if a player is given their remaining currency, and if a
+     * session is given its audit entry, all in one transaction so the pull is atomic and costs a single commit.
+     * @param username The username who owns the cards.
+     * @param cards The cards to save.
+     * @param player The player whose currency should be persisted with the cards, or null to save cards only.
+     * @param session The seed and rates that drew the cards, or null if the pull is not audited.
+     * @return true if everything was saved, false if the transaction was rolled back.
+     */
+    @Override
+    public boolean saveCardsToDeck(String username, List<model.Card> cards, Player player, DrawSession session) {
+        if (cards == null || cards.isEmpty()) {
+            return true;
+        }
+        boolean saved = inTransaction(() -> {
+            PreparedStatement ps = connections.prepare(UPSERT_DECK_SQL);
+            for (model.Card card : cards) {
+                if (bindDeckCard(ps, username, card)) {
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+            if (player != null) {
+                PreparedStatement currency = connections.prepare("UPDATE players SET currency = ? WHERE username = ?");
+                currency.setInt(1, player.getCurrency());
+                currency.setString(2, player.getUsername());
+                currency.executeUpdate();
+            }
+            if (session != null) {
+                PreparedStatement audit = connections.prepare(
+                        "INSERT INTO draw_audit (username, seed, draw_count, rates) VALUES (?, ?, ?, ?);");
+                audit.setString(1, session.getUsername());
+                audit.setLong(2, session.getSeed());
+                audit.setInt(3, session.getCount());
+                audit.setString(4, session.formatRates());
+                audit.executeUpdate();
+            }
+        });
+        if (saved) {
+            Log.debug("[DB] Saved %d cards to deck for user: %s", cards.size(), username);
+        }
+        return saved;
+    }
+
+    /**
+     * Binds one copy of a card to the deck upsert statement.
+     * @return false if the card does not match any template and was not bound.
+     */
+    private boolean bindDeckCard(PreparedStatement ps, String username, model.Card card) throws SQLException {
+        int templateId = card.getTemplateId();
+        if (templateId < 0) {
+            Log.warn("[DB] Skipping card with unknown template: " + card.getName());
+            return false;
+        }
+        ps.setString(1, username);
+        ps.setInt(2, templateId);
+        ps.setInt(3, card.getBasePower());
+        ps.setInt(4, 1);
+        return true;
+    }
+
+    /**
+     * Moves cards from the old one-row-per-copy {@code deck} table into {@code deck_cards}, grouping identical copies.
+     * The old table is dropped once everything has been moved; if some rows name cards that are no longer in the
+     * catalog it is kept as {@code deck_unmigrated} instead so nothing is lost.
+     * Runs inside the schema migration's transaction.
+     */
+    private void migrateLegacyDeck(Connection connection) throws SQLException {
+        int skipped = 0;
+        int moved = 0;
+        PreparedStatement upsert = connections.prepare(UPSERT_DECK_SQL);
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT username, card_name, base_power, COUNT(*) AS copies FROM deck GROUP BY username, card_name, base_power;")) {
+            while (rs.next()) {
+                int templateId = model.CardCatalog.idOf(rs.getString("card_name"));
+                int copies = rs.getInt("copies");
+                if (templateId < 0) {
+                    skipped += copies;
+                    continue;
+                }
+                upsert.setString(1, rs.getString("username"));
+                upsert.setInt(2, templateId);
+                upsert.setInt(3, rs.getInt("base_power"));
+                upsert.setInt(4, copies);
+                upsert.addBatch();
+                moved += copies;
+            }
+        }
+        upsert.executeBatch();
+        try (Statement statement = connection.createStatement()) {
+            if (skipped > 0) {
+                statement.execute("ALTER TABLE deck RENAME TO deck_unmigrated;");
+            } else {
+                statement.execute("DROP TABLE deck;");
+            }
+        }
+        Log.info("[DB] Migrated %d cards from legacy deck table.", moved);
+        if (skipped > 0) {
+            Log.warn("[DB] %d cards with unknown templates were kept in 'deck_unmigrated'.", skipped);
+        }
+    }
+
+    /**
+     * A unit of database work that may throw SQLException.
+     */
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+
+    /**
+     * Runs the work in one transaction on the calling thread's connection, rolling back on failure.
+     * @return true if the transaction committed.
+     */
+    private boolean inTransaction(SqlWork work) {
+        Connection connection = null;
+        try {
+            connection = connections.getConnection();
+            connection.setAutoCommit(false);
+            work.run();
+            connection.commit();
+            return true;
+        } catch (SQLException e) {
+            Log.error("[DB] Transaction failed, rolling back: " + e.getMessage(), e);
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackError) {
+                    Log.error("[DB] Rollback failed: " + rollbackError.getMessage());
+                }
+            }
+            return false;
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException ignored) {
+                    // Connection is unusable; the manager reopens it on next use
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists a player's audited pulls, newest first.
+     * @param username The username whose pulls to list.
+     * @return The audit entries; an entry whose rates cannot be read is skipped.
+     */
+    @Override
+    public List<DrawSession> loadDrawSessions(String username) {
+        List<DrawSession> sessions = new ArrayList<>();
+        String querySQL = "SELECT seed, draw_count, rates, timestamp FROM draw_audit WHERE username = ? ORDER BY id DESC;";
+        try {
+            PreparedStatement ps = connections.prepare(querySQL);
             ps.setString(1, username);
-            ps.setString(2, card.getName());
-            ps.setString(3, card.getAttribute().name());
-            ps.setString(4, card.getRarity().name());
-            ps.setString(5, card.getType().name());
-            ps.setString(6, card.getDescription());
-            ps.setInt(7, card.getBasePower());
-            ps.executeUpdate();
-            System.out.println("[DB] Card saved to deck: " + card.getName());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        sessions.add(new DrawSession(username, rs.getLong("seed"), rs.getInt("draw_count"),
+                                DrawSession.parseRates(rs.getString("rates")), rs.getString("timestamp")));
+                    } catch (IllegalArgumentException e) {
+                        Log.warn("[DB] Skipping draw audit entry with invalid rates: " + e.getMessage());
+                    }
+                }
+            }
         } catch (SQLException e) {
-            System.err.println("[DB] Error saving card to deck: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("[DB] Error loading draw sessions: " + e.getMessage(), e);
         }
+        return sessions;
     }
 
     /**
      * Clears all cards for a specific user from the deck table.
      * @param username The username whose deck is to be cleared.
      */
+    @Override
     public void clearPlayerDeck(String username) {
-        String deleteSQL = "DELETE FROM deck WHERE username = ?;";
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             PreparedStatement ps = connection.prepareStatement(deleteSQL)) {
+        String deleteSQL = "DELETE FROM deck_cards WHERE username = ?;";
+        try {
+            PreparedStatement ps = connections.prepare(deleteSQL);
             ps.setString(1, username);
             int affectedRows = ps.executeUpdate();
-            System.out.println("[DB] Cleared " + affectedRows + " cards from deck for user: " + username);
+            Log.debug("[DB] Cleared " + affectedRows + " card entries from deck for user: " + username);
         } catch (SQLException e) {
-            System.err.println("[DB] Error clearing player deck for " + username + ": " + e.getMessage());
-            e.printStackTrace();
+            Log.error("[DB] Error clearing player deck for " + username + ": " + e.getMessage(), e);
         }
     }
 
     // 新增從資料庫載入玩家卡片的方法
+    @Override
     public java.util.List<model.Card> loadDeck(String username) {
         java.util.List<model.Card> deck = new java.util.ArrayList<>();
-        String querySQL = "SELECT * FROM deck WHERE username = ?;";
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             PreparedStatement ps = connection.prepareStatement(querySQL)) {
+        String querySQL = "SELECT template_id, base_power, count FROM deck_cards WHERE username = ? ORDER BY template_id, base_power;";
+        try {
+            PreparedStatement ps = connections.prepare(querySQL);
             ps.setString(1, username);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    model.Card card = new model.Card(
-                        rs.getString("card_name"),
-                        model.Attribute.valueOf(rs.getString("attribute")),
-                        model.Rarity.valueOf(rs.getString("rarity")),
-                        model.CardType.valueOf(rs.getString("type")),
-                        rs.getString("description"),
-                        rs.getInt("base_power")
-                    );
-                    deck.add(card);
-                    System.out.println("[DB] Card loaded from deck: " + card.getName());
+                    int templateId = rs.getInt("template_id");
+                    if (templateId < 0 || templateId >= model.CardCatalog.size()) {
+                        Log.warn("[DB] Skipping deck entry with unknown template id: " + templateId);
+                        continue;
+                    }
+                    int basePower = rs.getInt("base_power");
+                    int count = rs.getInt("count");
+                    for (int i = 0; i < count; i++) {
+                        deck.add(model.CardCatalog.createCard(templateId, basePower));
+                    }
                 }
             }
+            Log.debug("[DB] Loaded %d cards from deck for user: %s", deck.size(), username);
         } catch (SQLException e) {
-            System.err.println("[DB] Error loading deck: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("[DB] Error loading deck: " + e.getMessage(), e);
         }
         return deck;
     }
 
+    /**
+     * Returns one page of a player's battle history, newest first, using keyset pagination:
+     * pass the last record of the previous page to get the next one, so each page costs the same
+     * no matter how deep into the history it is.
+     * @param username The username whose records are to be retrieved.
+     * @param after The last record of the previous page, or null for the first page.
+     * @param limit The maximum number of records to return.
+     * @return The records of this page; fewer than {@code limit} means the history has been exhausted.
+     */
+    @Override
+    public List<MatchRecord> getRecordsPage(String username, MatchRecord after, int limit) {
+        List<MatchRecord> page = new ArrayList<>(Math.max(0, Math.min(limit, 1000)));
+        String querySQL = after == null
+                ? "SELECT id, player_name, wins, losses, timestamp FROM record WHERE username = ? " +
+                  "ORDER BY timestamp DESC, id DESC LIMIT ?;"
+                : "SELECT id, player_name, wins, losses, timestamp FROM record WHERE username = ? " +
+                  "AND timestamp <= ? AND (timestamp < ? OR id < ?) ORDER BY timestamp DESC, id DESC LIMIT ?;";
+        try {
+            PreparedStatement ps = connections.prepare(querySQL);
+            int index = 1;
+            ps.setString(index++, username);
+            if (after != null) {
+                ps.setString(index++, after.getTimestamp());
+                ps.setString(index++, after.getTimestamp());
+                ps.setLong(index++, after.getId());
+            }
+            ps.setInt(index, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    page.add(new MatchRecord(
+                            rs.getLong("id"),
+                            username,
+                            rs.getString("player_name"),
+                            rs.getInt("wins"),
+                            rs.getInt("losses"),
+                            rs.getString("timestamp")));
+                }
+            }
+        } catch (SQLException e) {
+            Log.error("[DB] Error retrieving record page: " + e.getMessage(), e);
+        }
+        return page;
+    }
+
+    /**
+     * Counts a player's battle records without loading them.
+     * @param username The username whose records are to be counted.
+     * @return The number of records, or 0 if they could not be counted.
+     */
+    @Override
+    public int countRecords(String username) {
+        try {
+            PreparedStatement ps = connections.prepare("SELECT COUNT(*) FROM record WHERE username = ?;");
+            ps.setString(1, username);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            Log.error("[DB] Error counting records: " + e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Returns every record of a player as display strings.
+     * For long histories prefer {@link #getRecordsPage(String, MatchRecord, int)}.
+     */
+    @Override
     public List<String> getAllRecords(String username) {
         List<String> records = new ArrayList<>();
-        String querySQL = "SELECT * FROM record WHERE username = ? ORDER BY timestamp DESC;";
-        try (Connection connection = DriverManager.getConnection(DB_URL);
-             PreparedStatement preparedStatement = connection.prepareStatement(querySQL)) {
+        String querySQL = "SELECT id, player_name, wins, losses, timestamp FROM record WHERE username = ? ORDER BY timestamp DESC;";
+        try {
+            PreparedStatement preparedStatement = connections.prepare(querySQL);
             preparedStatement.setString(1, username);
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
@@ -443,46 +763,64 @@ public class GameRecordService {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("[DB] Error retrieving records: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("[DB] Error retrieving records: " + e.getMessage(), e);
         }
         return records;
     }
 
+    @Override
     public Player loadPlayerData(String username) {
         String sql = "SELECT level, xp, currency, rating FROM players WHERE username = ?";
-        System.out.println("[DB] loadPlayerData SQL: " + sql + ", user=" + username);
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        Log.debug("[DB] loadPlayerData SQL: " + sql + ", user=" + username);
+        try {
+            PreparedStatement pstmt = connections.prepare(sql);
             pstmt.setString(1, username);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                int level = rs.getInt("level");
-                int xp = rs.getInt("xp");
-                int currency = rs.getInt("currency");
-                int rating = rs.getInt("rating");
-                System.out.println(String.format("[DB] Loaded player %s: level=%d, xp=%d, currency=%d, rating=%d", username, level, xp, currency, rating));
-                return new Player(username, level, xp, currency, rating);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    int level = rs.getInt("level");
+                    int xp = rs.getInt("xp");
+                    int currency = rs.getInt("currency");
+                    int rating = rs.getInt("rating");
+                    Log.debug("[DB] Loaded player %s: level=%d, xp=%d, currency=%d, rating=%d", username, level, xp, currency, rating);
+                    return new Player(username, level, xp, currency, rating);
+                }
             }
         } catch (SQLException e) {
-            System.err.println("Error loading player data: " + e.getMessage());
+            Log.error("Error loading player data: " + e.getMessage());
         }
         // If player data not found, create default
         Player newPlayer = new Player(username, 1, 0, 1000, 1000);
         if (savePlayerData(newPlayer)) {
-            System.out.println("Created new player data entry for: " + username);
+            Log.info("Created new player data entry for: " + username);
             return newPlayer;
         }
         return null;
     }
 
+    /**
+     * Registers a callback run after a player's data has been saved successfully, on the saving thread.
+     * Used to keep in-memory views such as the leaderboard in step with the database.
+     * @param listener The callback, given the saved player.
+     */
+    @Override
+    public void addPlayerSaveListener(Consumer<Player> listener) {
+        playerSaveListeners.add(listener);
+    }
+
+    private void notifyPlayerSaved(Player player) {
+        for (Consumer<Player> listener : playerSaveListeners) {
+            listener.accept(player);
+        }
+    }
+
+    @Override
     public boolean savePlayerData(Player player) {
         if (player == null) return false;
         String sql = "UPDATE players SET level = ?, xp = ?, currency = ?, rating = ? WHERE username = ?";
-        System.out.println(String.format("[DB] savePlayerData SQL: %s, player=%s level=%d xp=%d currency=%d rating=%d", sql,
-                player.getUsername(), player.getLevel(), player.getXp(), player.getCurrency(), player.getRating()));
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        Log.debug("[DB] savePlayerData SQL: %s, player=%s level=%d xp=%d currency=%d rating=%d", sql,
+                player.getUsername(), player.getLevel(), player.getXp(), player.getCurrency(), player.getRating());
+        try {
+            PreparedStatement pstmt = connections.prepare(sql);
             pstmt.setInt(1, player.getLevel());
             pstmt.setInt(2, player.getXp());
             pstmt.setInt(3, player.getCurrency());
@@ -492,33 +830,123 @@ public class GameRecordService {
             if (rows == 0) {
                 // No existing row updated, insert new one preserving password
                 String insert = "INSERT INTO players (username, password, level, xp, currency, rating) VALUES (?, ?, ?, ?, ?, ?)";
-                try (PreparedStatement ins = conn.prepareStatement(insert)) {
-                    ins.setString(1, player.getUsername());
-                    ins.setString(2, player.getUsername()); // fallback password to username if missing
-                    ins.setInt(3, player.getLevel());
-                    ins.setInt(4, player.getXp());
-                    ins.setInt(5, player.getCurrency());
-                    ins.setInt(6, player.getRating());
-                    ins.executeUpdate();
-                }
+                PreparedStatement ins = connections.prepare(insert);
+                ins.setString(1, player.getUsername());
+                ins.setString(2, player.getUsername()); // fallback password to username if missing
+                ins.setInt(3, player.getLevel());
+                ins.setInt(4, player.getXp());
+                ins.setInt(5, player.getCurrency());
+                ins.setInt(6, player.getRating());
+                ins.executeUpdate();
             }
-            return true;
         } catch (SQLException e) {
-            System.err.println("[DB] Error saving player data: " + e.getMessage());
+            Log.error("[DB] Error saving player data: " + e.getMessage());
             return false;
         }
+        notifyPlayerSaved(player);
+        return true;
+    }
+
+    /**
+     * Returns one page of the leaderboard, best first. Ties are broken by username so pages never overlap.
+     * @param key The statistic to rank by.
+     * @param limit The maximum number of players to return.
+     * @param offset The number of better-ranked players to skip.
+     * @return The players on this page.
+     */
+    @Override
+    public List<Player> getLeaderboard(LeaderboardKey key, int limit, int offset) {
+        List<Player> players = new ArrayList<>(Math.max(0, Math.min(limit, 1000)));
+        String sql = "SELECT username, level, xp, currency, rating FROM players ORDER BY " +
+                key.getColumn() + " DESC, username LIMIT ? OFFSET ?;";
+        try {
+            PreparedStatement ps = connections.prepare(sql);
+            ps.setInt(1, limit);
+            ps.setInt(2, offset);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    players.add(new Player(rs.getString("username"), rs.getInt("level"), rs.getInt("xp"),
+                            rs.getInt("currency"), rs.getInt("rating")));
+                }
+            }
+        } catch (SQLException e) {
+            Log.error("[DB] Error loading leaderboard: " + e.getMessage(), e);
+        }
+        return players;
+    }
+
+    /**
+     * Looks up a player's 1-based position on a leaderboard by counting the players ranked above them,
+     * using the same ordering as {@link #getLeaderboard(LeaderboardKey, int, int)}.
+     * @param key The statistic to rank by.
+     * @param username The player to look up.
+     * @return The player's rank, or -1 if the player does not exist or the query failed.
+     */
+    @Override
+    public int getRank(LeaderboardKey key, String username) {
+        String column = key.getColumn();
+        String sql = "SELECT 1 + (SELECT COUNT(*) FROM players o WHERE o." + column + " > p." + column +
+                " OR (o." + column + " = p." + column + " AND o.username < p.username)) FROM players p WHERE p.username = ?;";
+        try {
+            PreparedStatement ps = connections.prepare(sql);
+            ps.setString(1, username);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        } catch (SQLException e) {
+            Log.error("[DB] Error looking up rank: " + e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * Updates several players' stats in one transaction, e.g. when a write-behind cache flushes.
+     * Players without a row are skipped rather than inserted, so a late flush cannot re-create deleted accounts.
+     * @param players The players to save.
+     * @return true if the transaction committed, false if it was rolled back.
+     */
+    @Override
+    public boolean savePlayersData(Collection<Player> players) {
+        if (players.isEmpty()) {
+            return true;
+        }
+        List<Player> updated = new ArrayList<>(players.size());
+        boolean saved = inTransaction(() -> {
+            PreparedStatement update = connections.prepare("UPDATE players SET level = ?, xp = ?, currency = ?, rating = ? WHERE username = ?");
+            for (Player player : players) {
+                update.setInt(1, player.getLevel());
+                update.setInt(2, player.getXp());
+                update.setInt(3, player.getCurrency());
+                update.setInt(4, player.getRating());
+                update.setString(5, player.getUsername());
+                update.addBatch();
+            }
+            int[] counts = update.executeBatch();
+            int i = 0;
+            for (Player player : players) {
+                if (counts[i++] != 0) {
+                    updated.add(player);
+                }
+            }
+        });
+        if (saved) {
+            Log.debug("[DB] Saved data for %d of %d players", updated.size(), players.size());
+            for (Player player : updated) {
+                notifyPlayerSaved(player);
+            }
+        }
+        return saved;
     }
 
     /**
      * Loads all players from the database with their stats.
      * @return List of Player objects.
      */
+    @Override
     public List<Player> loadAllPlayers() {
         List<Player> players = new ArrayList<>();
         String sql = "SELECT username, level, xp, currency, rating FROM players";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
+        try (ResultSet rs = connections.prepare(sql).executeQuery()) {
             while (rs.next()) {
                 String user = rs.getString("username");
                 int level = rs.getInt("level");
@@ -528,8 +956,7 @@ public class GameRecordService {
                 players.add(new Player(user, level, xp, currency, rating));
             }
         } catch (SQLException e) {
-            System.err.println("[DB] Error loading all players: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("[DB] Error loading all players: " + e.getMessage(), e);
         }
         return players;
     }
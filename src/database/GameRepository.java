@@ -0,0 +1,22 @@
+package database;
+
+/**
+ * Everything the game stores: players, their decks and their battle records.
+ * {@link GameRecordService} keeps it in SQLite; {@link InMemoryGameRepository} keeps it in memory for
+ * simulations, load tests and runs without a database.
+ */
+public interface GameRepository extends PlayerRepository, DeckRepository, MatchRecordRepository, AutoCloseable {
+    /**
+     * Clears all records or cards based on the specified type. Only accessible by admin users.
+     * @param username The username attempting to clear the data.
+     * @param type The type of data to clear: "records" or "cards".
+     * @return true if the operation is successful, false otherwise.
+     */
+    boolean clearDatabaseByType(String username, String type);
+
+    /**
+     * Releases the storage, e.g. database connections. Further calls may fail.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,402 @@
+package database;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import model.Card;
+import model.CardCatalog;
+import model.DrawSession;
+import model.MatchRecord;
+import model.Player;
+import service.LeaderboardService;
+import util.Log;
+
+/**
+ * Keeps players, decks and battle records in memory, so simulations, load tests and benchmarks can run the game
+ * at full speed without disk I/O. Behaves like {@link GameRecordService}: the same defaults, admin account,
+ * orderings and admin checks. Nothing survives {@link #close()} or the JVM.
+ * <p>
+ * Accounts live in a concurrent map as immutable rows that are replaced atomically. Each leaderboard statistic
+ * has an order-statistic index ({@link LeaderboardService}) updated together with the row, so leaderboard pages
+ * and ranks cost O(log n) rather than a sort or scan of every account. A deck is two primitive
+ * arrays, sorted packed (template id, base power) keys and their copy counts, so it costs the same whatever
+ * the number of copies and loads in the database's order. Each deck and each player's history is locked on
+ * itself. Safe to use from any thread.
+ * Run the game against it with {@code -Dcardgame.db.inMemory=true}.
+ */
+public class InMemoryGameRepository implements GameRepository {
+    public static final String PROPERTY = "cardgame.db.inMemory";
+
+    // Column defaults of the players table
+    private static final int DEFAULT_LEVEL = 1;
+    private static final int DEFAULT_XP = 0;
+    private static final int DEFAULT_CURRENCY = 1000;
+    private static final int DEFAULT_RATING = 1000;
+    // SQLite's CURRENT_TIMESTAMP format, in UTC
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private record Account(String password, int level, int xp, int currency, int rating) {
+        Player toPlayer(String username) {
+            return new Player(username, level, xp, currency, rating);
+        }
+
+        Account withStats(Player player) {
+            return new Account(password, player.getLevel(), player.getXp(), player.getCurrency(), player.getRating());
+        }
+    }
+
+    /**
+     * Copy counts keyed by (template id, base power), kept sorted so cards come out in the database's order.
+     */
+    private static final class Deck {
+        private long[] keys = new long[16];
+        private int[] counts = new int[16];
+        private int size;
+
+        synchronized void add(long key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                counts[index]++;
+                return;
+            }
+            index = -index - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(counts, index, counts, index + 1, size - index);
+            keys[index] = key;
+            counts[index] = 1;
+            size++;
+        }
+
+        synchronized List<Card> toCards() {
+            List<Card> cards = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                int templateId = (int) (keys[i] >>> 32);
+                int basePower = (int) keys[i];
+                for (int copy = 0; copy < counts[i]; copy++) {
+                    cards.add(CardCatalog.createCard(templateId, basePower));
+                }
+            }
+            return cards;
+        }
+    }
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<LeaderboardKey, LeaderboardService> leaderboards = new EnumMap<>(LeaderboardKey.class);
+    private final Map<String, Deck> decks = new ConcurrentHashMap<>();
+    private final Map<String, List<MatchRecord>> histories = new ConcurrentHashMap<>(); // Oldest first; each locked on itself
+    private final Map<String, List<DrawSession>> drawSessions = new ConcurrentHashMap<>(); // Oldest first; each locked on itself
+    private final AtomicLong nextRecordId = new AtomicLong(1);
+    private final List<Consumer<Player>> playerSaveListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates an empty repository holding only the default admin account.
+     */
+    public InMemoryGameRepository() {
+        leaderboards.put(LeaderboardKey.LEVEL, new LeaderboardService(Player::getLevel));
+        leaderboards.put(LeaderboardKey.CURRENCY, new LeaderboardService(Player::getCurrency));
+        leaderboards.put(LeaderboardKey.RATING, new LeaderboardService(Player::getRating));
+        accounts.computeIfAbsent("admin", user -> indexed(user, new Account("admin", DEFAULT_LEVEL, DEFAULT_XP, DEFAULT_CURRENCY, DEFAULT_RATING)));
+    }
+
+    // Called inside the map's compute for the user, so the indexes see a user's changes in the order they happen
+    private Account indexed(String username, Account account) {
+        Player player = account.toPlayer(username);
+        for (LeaderboardService leaderboard : leaderboards.values()) {
+            leaderboard.update(player);
+        }
+        return account;
+    }
+
+    @Override
+    public boolean registerUser(String username, String password) {
+        boolean[] created = {false};
+        Account account = accounts.computeIfAbsent(username, user -> {
+            created[0] = true;
+            return indexed(user, new Account(password, DEFAULT_LEVEL, DEFAULT_XP, DEFAULT_CURRENCY, DEFAULT_RATING));
+        });
+        if (!created[0]) {
+            Log.warn("Registration failed: Username already exists (" + username + ").");
+            return false;
+        }
+        notifyPlayerSaved(account.toPlayer(username));
+        return true;
+    }
+
+    @Override
+    public Player loginUser(String username, String password) {
+        Account account = accounts.get(username);
+        return account != null && account.password().equals(password) ? account.toPlayer(username) : null;
+    }
+
+    @Override
+    public Player loadPlayerData(String username) {
+        Account account = accounts.get(username);
+        if (account != null) {
+            return account.toPlayer(username);
+        }
+        Player newPlayer = new Player(username, DEFAULT_LEVEL, DEFAULT_XP, DEFAULT_CURRENCY, DEFAULT_RATING);
+        savePlayerData(newPlayer);
+        return newPlayer;
+    }
+
+    @Override
+    public boolean savePlayerData(Player player) {
+        if (player == null) return false;
+        store(player);
+        notifyPlayerSaved(player);
+        return true;
+    }
+
+    @Override
+    public boolean savePlayersData(Collection<Player> players) {
+        List<Player> updated = new ArrayList<>(players.size());
+        for (Player player : players) {
+            if (accounts.computeIfPresent(player.getUsername(), (username, account) -> indexed(username, account.withStats(player))) != null) {
+                updated.add(player);
+            }
+        }
+        for (Player player : updated) {
+            notifyPlayerSaved(player);
+        }
+        return true;
+    }
+
+    // Players without an account get one with their username as password, as in GameRecordService
+    private void store(Player player) {
+        accounts.compute(player.getUsername(), (username, account) -> indexed(username, account != null
+                ? account.withStats(player)
+                : new Account(username, player.getLevel(), player.getXp(), player.getCurrency(), player.getRating())));
+    }
+
+    @Override
+    public List<Player> loadAllPlayers() {
+        List<Player> players = new ArrayList<>(accounts.size());
+        accounts.forEach((username, account) -> players.add(account.toPlayer(username)));
+        return players;
+    }
+
+    @Override
+    public List<Player> getLeaderboard(LeaderboardKey key, int limit, int offset) {
+        List<Player> page = leaderboards.get(key).getTop(limit, offset);
+        List<Player> players = new ArrayList<>(page.size());
+        for (Player player : page) {
+            players.add(player.copyStats()); // The index keeps its own snapshots
+        }
+        return players;
+    }
+
+    @Override
+    public int getRank(LeaderboardKey key, String username) {
+        return leaderboards.get(key).getRank(username);
+    }
+
+    @Override
+    public void addPlayerSaveListener(Consumer<Player> listener) {
+        playerSaveListeners.add(listener);
+    }
+
+    private void notifyPlayerSaved(Player player) {
+        for (Consumer<Player> listener : playerSaveListeners) {
+            listener.accept(player);
+        }
+    }
+
+    @Override
+    public boolean clearAllRegisteredUsers(String username) {
+        if (!"admin".equals(username)) {
+            Log.warn("Permission denied: Only admin can clear registered users.");
+            return false;
+        }
+        for (String user : accounts.keySet()) {
+            if (!"admin".equals(user)) {
+                accounts.computeIfPresent(user, (removed, account) -> {
+                    for (LeaderboardService leaderboard : leaderboards.values()) {
+                        leaderboard.remove(removed);
+                    }
+                    return null;
+                });
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void saveCardToDeck(String username, Card card) {
+        long key = deckKey(card);
+        if (key >= 0) {
+            decks.computeIfAbsent(username, user -> new Deck()).add(key);
+        }
+    }
+
+    @Override
+    public boolean saveCardsToDeck(String username, List<Card> cards, Player player, DrawSession session) {
+        if (cards == null || cards.isEmpty()) {
+            return true;
+        }
+        Deck deck = decks.computeIfAbsent(username, user -> new Deck());
+        synchronized (deck) {
+            for (Card card : cards) {
+                long key = deckKey(card);
+                if (key >= 0) {
+                    deck.add(key);
+                }
+            }
+            if (player != null) {
+                accounts.computeIfPresent(player.getUsername(), (user, account) -> indexed(user, new Account(account.password(),
+                        account.level(), account.xp(), player.getCurrency(), account.rating())));
+            }
+            if (session != null) {
+                String timestamp = LocalDateTime.now(ZoneOffset.UTC).format(TIMESTAMP_FORMAT);
+                List<DrawSession> sessions = drawSessions.computeIfAbsent(session.getUsername(), user -> new ArrayList<>());
+                synchronized (sessions) {
+                    sessions.add(new DrawSession(session.getUsername(), session.getSeed(), session.getCount(),
+                            session.getRates(), timestamp));
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<DrawSession> loadDrawSessions(String username) {
+        List<DrawSession> sessions = drawSessions.get(username);
+        if (sessions == null) {
+            return new ArrayList<>();
+        }
+        synchronized (sessions) {
+            List<DrawSession> newestFirst = new ArrayList<>(sessions);
+            Collections.reverse(newestFirst);
+            return newestFirst;
+        }
+    }
+
+    // Packs (template id, base power) so keys sort like the deck table; -1 for a card with no template
+    private static long deckKey(Card card) {
+        int templateId = card.getTemplateId();
+        if (templateId < 0) {
+            Log.warn("[DB] Skipping card with unknown template: " + card.getName());
+            return -1;
+        }
+        return ((long) templateId << 32) | (card.getBasePower() & 0xffffffffL);
+    }
+
+    @Override
+    public List<Card> loadDeck(String username) {
+        Deck deck = decks.get(username);
+        return deck == null ? new ArrayList<>() : deck.toCards();
+    }
+
+    @Override
+    public void clearPlayerDeck(String username) {
+        decks.remove(username);
+    }
+
+    @Override
+    public void saveRecord(String username, String playerName, int wins, int losses) {
+        String timestamp = LocalDateTime.now(ZoneOffset.UTC).format(TIMESTAMP_FORMAT);
+        List<MatchRecord> history = histories.computeIfAbsent(username, user -> new ArrayList<>());
+        synchronized (history) {
+            // Ids are taken under the lock so each history stays in id order
+            history.add(new MatchRecord(nextRecordId.getAndIncrement(), username, playerName, wins, losses, timestamp));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Records are ordered by insertion, which matches the database's (timestamp, id) order as long as the
+     * clock does not go back.
+     */
+    @Override
+    public List<MatchRecord> getRecordsPage(String username, MatchRecord after, int limit) {
+        List<MatchRecord> history = histories.get(username);
+        if (history == null) {
+            return new ArrayList<>();
+        }
+        synchronized (history) {
+            int end = history.size();
+            if (after != null) {
+                // First record at or after the cursor; ids ascend through the history
+                int low = 0;
+                int high = history.size();
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (history.get(mid).getId() < after.getId()) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                end = low;
+            }
+            int start = Math.max(0, end - Math.max(0, limit));
+            List<MatchRecord> page = new ArrayList<>(history.subList(start, end));
+            Collections.reverse(page);
+            return page;
+        }
+    }
+
+    @Override
+    public int countRecords(String username) {
+        List<MatchRecord> history = histories.get(username);
+        if (history == null) {
+            return 0;
+        }
+        synchronized (history) {
+            return history.size();
+        }
+    }
+
+    @Override
+    public List<String> getAllRecords(String username) {
+        List<MatchRecord> page = getRecordsPage(username, null, Integer.MAX_VALUE);
+        List<String> records = new ArrayList<>(page.size());
+        for (MatchRecord record : page) {
+            records.add(String.format("Player: %s, Wins: %d, Losses: %d, Time: %s",
+                    record.getPlayerName(), record.getWins(), record.getLosses(), record.getTimestamp()));
+        }
+        return records;
+    }
+
+    @Override
+    public boolean clearDatabaseByType(String username, String type) {
+        if (!"admin".equals(username)) {
+            Log.warn("Permission denied: Only admin can clear the database.");
+            return false;
+        }
+        if ("records".equalsIgnoreCase(type)) {
+            histories.clear();
+        } else if ("cards".equalsIgnoreCase(type)) {
+            decks.clear();
+        } else {
+            Log.warn("Invalid type specified. Use 'records' or 'cards'.");
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        accounts.clear();
+        for (LeaderboardService leaderboard : leaderboards.values()) {
+            leaderboard.reset(List.of());
+        }
+        decks.clear();
+        histories.clear();
+        drawSessions.clear();
+    }
+}
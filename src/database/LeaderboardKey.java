@@ -0,0 +1,23 @@
+package database;
+
+/**
+ * The player statistics a leaderboard can be ordered by.
+ */
+public enum LeaderboardKey {
+    LEVEL("level"),
+    CURRENCY("currency"),
+    RATING("rating");
+
+    private final String column;
+
+    LeaderboardKey(String column) {
+        this.column = column;
+    }
+
+    /**
+     * @return The players table column holding this statistic.
+     */
+    public String getColumn() {
+        return column;
+    }
+}
@@ -0,0 +1,40 @@
+package database;
+
+import java.util.List;
+import model.MatchRecord;
+
+/**
+ * Stores the result of every battle.
+ */
+public interface MatchRecordRepository {
+    /**
+     * Saves a game record, binding it to a specific username.
+     * @param username The username associated with the record.
+     * @param playerName The name of the player.
+     * @param wins The number of wins.
+     * @param losses The number of losses.
+     */
+    void saveRecord(String username, String playerName, int wins, int losses);
+
+    /**
+     * Returns one page of a player's battle history, newest first, using keyset pagination:
+     * pass the last record of the previous page to get the next one.
+     * @param username The username whose records are to be retrieved.
+     * @param after The last record of the previous page, or null for the first page.
+     * @param limit The maximum number of records to return.
+     * @return The records of this page; fewer than {@code limit} means the history has been exhausted.
+     */
+    List<MatchRecord> getRecordsPage(String username, MatchRecord after, int limit);
+
+    /**
+     * @param username The username whose records are to be counted.
+     * @return The number of records, or 0 if they could not be counted.
+     */
+    int countRecords(String username);
+
+    /**
+     * Returns every record of a player as display strings, newest first.
+     * For long histories prefer {@link #getRecordsPage(String, MatchRecord, int)}.
+     */
+    List<String> getAllRecords(String username);
+}
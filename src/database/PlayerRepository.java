@@ -0,0 +1,86 @@
+package database;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import model.Player;
+
+/**
+ * Stores player accounts and their stats.
+ */
+public interface PlayerRepository {
+    /**
+     * Registers a new user with username and password.
+     * @param username The username.
+     * @param password The password.
+     * @return true if registration successful, false if username exists or other error occurs.
+     */
+    boolean registerUser(String username, String password);
+
+    /**
+     * Checks a user's credentials.
+     * @param username The username.
+     * @param password The password.
+     * @return The player with their stats if the credentials match, otherwise null.
+     */
+    Player loginUser(String username, String password);
+
+    /**
+     * Loads a player's stats, creating a default entry if the player has none.
+     * @param username The username.
+     * @return The player, or null if no entry exists and none could be created.
+     */
+    Player loadPlayerData(String username);
+
+    /**
+     * Saves a player's stats, creating the entry if it does not exist.
+     * @param player The player to save.
+     * @return true if the player was saved.
+     */
+    boolean savePlayerData(Player player);
+
+    /**
+     * Updates several players' stats at once, e.g. when a write-behind cache flushes.
+     * Unlike {@link #savePlayerData(Player)}, players without an entry are skipped, never created.
+     * @param players The players to save.
+     * @return true if every existing player was updated; false means none were.
+     */
+    boolean savePlayersData(Collection<Player> players);
+
+    /**
+     * @return Every player with their stats.
+     */
+    List<Player> loadAllPlayers();
+
+    /**
+     * Returns one page of the leaderboard, best first. Ties are broken by username so pages never overlap.
+     * @param key The statistic to rank by.
+     * @param limit The maximum number of players to return.
+     * @param offset The number of better-ranked players to skip.
+     * @return The players on this page.
+     */
+    List<Player> getLeaderboard(LeaderboardKey key, int limit, int offset);
+
+    /**
+     * Looks up a player's 1-based position on a leaderboard, using the ordering of
+     * {@link #getLeaderboard(LeaderboardKey, int, int)}.
+     * @param key The statistic to rank by.
+     * @param username The player to look up.
+     * @return The player's rank, or -1 if the player does not exist or the lookup failed.
+     */
+    int getRank(LeaderboardKey key, String username);
+
+    /**
+     * Registers a callback run after a player's data has been saved successfully, on the saving thread.
+     * Used to keep in-memory views such as the leaderboard in step with the repository.
+     * @param listener The callback, given the saved player.
+     */
+    void addPlayerSaveListener(Consumer<Player> listener);
+
+    /**
+     * Removes every account except admin. Only accessible by admin users.
+     * @param username The username attempting to clear the registered users.
+     * @return true if the operation is successful, false otherwise.
+     */
+    boolean clearAllRegisteredUsers(String username);
+}
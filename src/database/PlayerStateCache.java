@@ -0,0 +1,350 @@
+package database;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import model.Player;
+import util.Log;
+
+/**
+ * Write-behind cache for player stats in front of {@link PlayerRepository#savePlayersData}.
+ * Updates only replace the player's entry in memory, so many changes during a session turn into one UPDATE per
+ * player per flush. Dirty entries are flushed on a timer, on {@link #flush()} (e.g. at logout) and when the
+ * {@link AsyncRecordGateway} shuts down.
+ * Every update is also appended to a journal file, and entries left in the journal are replayed and saved on
+ * the next start. The journal is compacted after each successful flush.
+ * <p>
+ * Journal writes are group-committed: updates arriving together are appended in one write, and the file is synced
+ * to disk every {@link #JOURNAL_SYNC_MILLIS} ms or every {@link #JOURNAL_SYNC_UPDATES} updates, whichever comes
+ * first, and on {@link #close()}. An update is in the journal, and survives the game crashing, as soon as the
+ * background write runs; an operating system crash or power loss can lose the updates of the last sync window.
+ */
+public class PlayerStateCache implements AutoCloseable {
+    public static final String JOURNAL_FILENAME = "player_state.journal";
+    public static final long JOURNAL_SYNC_MILLIS = 1000;
+    public static final int JOURNAL_SYNC_UPDATES = 64;
+
+    private final AsyncRecordGateway records;
+    private final Path journal;
+    private final ScheduledExecutorService worker;
+
+    private final Object lock = new Object();
+    private final Map<String, Player> dirty = new LinkedHashMap<>(); // Guarded by lock
+    private List<Player> unwritten = new ArrayList<>(); // Updates not yet appended to the journal; guarded by lock
+
+    private final Object journalLock = new Object();
+    private FileChannel journalChannel; // Guarded by journalLock
+    private int unsyncedUpdates; // Appended since the last sync; guarded by journalLock
+
+    /**
+     * Creates the cache, replays any journal left by an earlier run and starts the flush timer.
+     * @param records The gateway used to save players.
+     * @param journal The journal file, or null to keep pending stats in memory only, e.g. for an in-memory repository.
+     * @param flushIntervalMillis How often dirty players are flushed.
+     */
+    public PlayerStateCache(AsyncRecordGateway records, Path journal, long flushIntervalMillis) {
+        this.records = records;
+        this.journal = journal;
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "player-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        records.addShutdownTask(this::flushNow);
+        worker.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (journal != null) {
+            worker.execute(this::recover);
+            worker.scheduleWithFixedDelay(this::sync, JOURNAL_SYNC_MILLIS, JOURNAL_SYNC_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records the player's current stats. Returns immediately; the journal write happens in the background.
+     * @param player The player; a copy of its current stats is stored.
+     */
+    public void update(Player player) {
+        if (player == null || player.getUsername() == null) {
+            return;
+        }
+        Player snapshot = player.copyStats();
+        boolean writeQueued;
+        synchronized (lock) {
+            dirty.put(snapshot.getUsername(), snapshot);
+            writeQueued = journal == null || !unwritten.isEmpty();
+            if (journal != null) {
+                unwritten.add(snapshot);
+            }
+        }
+        if (!writeQueued) {
+            submit(this::appendUnwritten);
+        }
+    }
+
+    /**
+     * @param username The player's username.
+     * @return The player's unsaved stats, or null if nothing is pending for them.
+     */
+    public Player getPending(String username) {
+        synchronized (lock) {
+            return dirty.get(username);
+        }
+    }
+
+    /**
+     * Queues a save of every dirty player. The save is queued on the gateway before this method returns,
+     * so database work submitted afterwards, such as the next login, sees it.
+     * The dirty players are read when the save runs on the database thread, not when it is queued, so a flush
+     * can never write stats older than a save queued before it, e.g. a draw saving the player's currency.
+     * @return A future completed with true once the players are saved, or false if the save failed.
+     */
+    public CompletableFuture<Boolean> flush() {
+        synchronized (lock) {
+            if (dirty.isEmpty()) {
+                return CompletableFuture.completedFuture(true);
+            }
+        }
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        records.call(service -> {
+            Map<String, Player> batch = snapshotDirty();
+            return batch.isEmpty() || service.savePlayersData(batch.values()) ? batch : null;
+        }).whenComplete((batch, error) -> {
+            boolean ok = error == null && batch != null;
+            if (ok && !batch.isEmpty()) {
+                submit(() -> committed(batch));
+            }
+            result.complete(ok);
+        });
+        return result;
+    }
+
+    // Runs on the database thread when the gateway shuts down
+    private void flushNow(GameRepository service) {
+        Map<String, Player> batch = snapshotDirty();
+        if (!batch.isEmpty() && service.savePlayersData(batch.values())) {
+            committed(batch);
+        }
+    }
+
+    private Map<String, Player> snapshotDirty() {
+        synchronized (lock) {
+            return new LinkedHashMap<>(dirty);
+        }
+    }
+
+    /**
+     * Forgets saved entries that have not changed since, then rewrites the journal with what is still dirty.
+     */
+    private void committed(Map<String, Player> batch) {
+        synchronized (journalLock) {
+            List<Player> remaining;
+            synchronized (lock) {
+                for (Map.Entry<String, Player> entry : batch.entrySet()) {
+                    dirty.remove(entry.getKey(), entry.getValue());
+                }
+                remaining = new ArrayList<>(dirty.values());
+            }
+            rewrite(remaining);
+        }
+    }
+
+    /**
+     * Drops every pending entry except the given user's, from memory and from the journal, e.g. when all
+     * registered users are deleted, so stats of deleted players are neither saved nor replayed.
+     * @param username The user whose pending stats are kept, e.g. the admin.
+     */
+    public void discardAllExcept(String username) {
+        synchronized (lock) {
+            dirty.keySet().removeIf(user -> !user.equals(username));
+            unwritten.removeIf(player -> !player.getUsername().equals(username));
+        }
+        // Queued behind earlier journal appends, so the rewrite supersedes them
+        submit(() -> {
+            synchronized (journalLock) {
+                List<Player> remaining;
+                synchronized (lock) {
+                    remaining = new ArrayList<>(dirty.values());
+                }
+                rewrite(remaining);
+            }
+        });
+    }
+
+    // The worker rejects work once closed; the entry is still saved by the gateway's shutdown task
+    private void submit(Runnable task) {
+        try {
+            worker.execute(task);
+        } catch (RejectedExecutionException e) {
+            Log.debug("[Cache] Closed; skipping journal work.");
+        }
+    }
+
+    /**
+     * Stops the timers, then syncs and closes the journal once queued journal writes are done. Pending entries
+     * stay in the journal and are flushed by the gateway's shutdown task or on the next start.
+     */
+    @Override
+    public void close() {
+        submit(() -> {
+            synchronized (journalLock) {
+                sync();
+                closeChannel();
+            }
+        });
+        worker.shutdown();
+    }
+
+    private void recover() {
+        List<Player> recovered = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Player player = parse(line);
+                if (player != null) {
+                    recovered.add(player);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            Log.error("[Cache] Could not read player journal: " + e.getMessage(), e);
+            return;
+        }
+        if (recovered.isEmpty()) {
+            return;
+        }
+        Map<String, Player> latest = new LinkedHashMap<>();
+        for (Player player : recovered) {
+            latest.put(player.getUsername(), player); // Later lines are newer
+        }
+        synchronized (lock) {
+            for (Player player : latest.values()) {
+                dirty.putIfAbsent(player.getUsername(), player); // Anything updated in this session is newer still
+            }
+        }
+        Log.info("[Cache] Recovered unsaved stats for %d players from journal.", latest.size());
+        flush();
+    }
+
+    // Appends every update queued since the last call in one write
+    private void appendUnwritten() {
+        synchronized (journalLock) {
+            List<Player> players;
+            synchronized (lock) {
+                players = unwritten;
+                unwritten = new ArrayList<>();
+            }
+            if (players.isEmpty()) {
+                return;
+            }
+            try {
+                if (journalChannel == null) {
+                    journalChannel = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                }
+                journalChannel.write(encode(players));
+                unsyncedUpdates += players.size();
+                if (unsyncedUpdates >= JOURNAL_SYNC_UPDATES) {
+                    sync();
+                }
+            } catch (IOException e) {
+                Log.error("[Cache] Could not write player journal: " + e.getMessage(), e);
+                closeChannel();
+            }
+        }
+    }
+
+    // Forces appended updates to disk; runs on the worker, on its timer or from appendUnwritten
+    private void sync() {
+        synchronized (journalLock) {
+            if (journalChannel == null || unsyncedUpdates == 0) {
+                return;
+            }
+            try {
+                journalChannel.force(false);
+                unsyncedUpdates = 0;
+            } catch (IOException e) {
+                Log.error("[Cache] Could not sync player journal: " + e.getMessage(), e);
+                closeChannel();
+            }
+        }
+    }
+
+    // Caller holds journalLock
+    private void rewrite(List<Player> players) {
+        if (journal == null) {
+            return;
+        }
+        closeChannel();
+        try {
+            if (players.isEmpty()) {
+                Files.deleteIfExists(journal);
+                return;
+            }
+            Path temp = journal.resolveSibling(journal.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(encode(players));
+                channel.force(false);
+            }
+            Files.move(temp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.error("[Cache] Could not compact player journal: " + e.getMessage(), e);
+        }
+    }
+
+    private void closeChannel() {
+        if (journalChannel != null) {
+            try {
+                journalChannel.close();
+            } catch (IOException ignored) {
+                // Reopened on next append
+            }
+            journalChannel = null;
+        }
+        unsyncedUpdates = 0; // A rewrite syncs the file itself; after a failure the next append reopens it
+    }
+
+    // One line per update: level, xp, currency, rating, then the URL-encoded username
+    private static ByteBuffer encode(List<Player> players) {
+        StringBuilder lines = new StringBuilder();
+        for (Player player : players) {
+            lines.append(player.getLevel()).append('\t')
+                    .append(player.getXp()).append('\t')
+                    .append(player.getCurrency()).append('\t')
+                    .append(player.getRating()).append('\t')
+                    .append(URLEncoder.encode(player.getUsername(), StandardCharsets.UTF_8)).append('\n');
+        }
+        return ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for lines that cannot be parsed, such as one torn by a crash
+    private static Player parse(String line) {
+        String[] fields = line.split("\t");
+        if (fields.length != 5) {
+            return null;
+        }
+        try {
+            return new Player(URLDecoder.decode(fields[4], StandardCharsets.UTF_8),
+                    Integer.parseInt(fields[0]), Integer.parseInt(fields[1]),
+                    Integer.parseInt(fields[2]), Integer.parseInt(fields[3]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
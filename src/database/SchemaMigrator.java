@@ -0,0 +1,93 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import util.Log;
+
+/**
+ * Brings an SQLite database up to the current schema with ordered migrations, tracking the schema version
+ * in {@code PRAGMA user_version}.
+ * <p>
+ * Migration {@code i} in the list upgrades the schema from version {@code i} to {@code i + 1}, so the latest
+ * version is the number of migrations. Each migration runs in its own transaction together with the version
+ * bump: a failed migration rolls back and leaves the database at the last good version, to be retried on the
+ * next start. A database already at the latest version costs one pragma read.
+ * Migrations may only be appended; a released migration must never change, since databases that already
+ * applied it will not run it again.
+ */
+public class SchemaMigrator {
+    /**
+     * One schema change, run inside the migrator's transaction.
+     */
+    @FunctionalInterface
+    public interface Migration {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    private final List<Migration> migrations;
+
+    /**
+     * @param migrations The migrations in order; the first upgrades an empty database from version 0.
+     */
+    public SchemaMigrator(List<Migration> migrations) {
+        this.migrations = List.copyOf(migrations);
+    }
+
+    /**
+     * @return The schema version the migrations lead to.
+     */
+    public int getLatestVersion() {
+        return migrations.size();
+    }
+
+    /**
+     * @param connection The connection to read from.
+     * @return The database's schema version; 0 for a new database.
+     * @throws SQLException if the version cannot be read.
+     */
+    public int readVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA user_version;")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Applies the migrations after the given version, one transaction each.
+     * @param connection The connection to migrate through; must be in auto-commit mode.
+     * @param fromVersion The database's current version, as returned by {@link #readVersion(Connection)}.
+     * @return The version the database is at afterwards.
+     * @throws SQLException if a migration fails; the database keeps every migration before it.
+     */
+    public int migrate(Connection connection, int fromVersion) throws SQLException {
+        if (fromVersion > migrations.size()) {
+            Log.warn("[DB] Schema version %d is newer than this program's %d; leaving it unchanged.", fromVersion, migrations.size());
+            return fromVersion;
+        }
+        for (int version = fromVersion; version < migrations.size(); version++) {
+            long start = System.nanoTime();
+            connection.setAutoCommit(false);
+            try {
+                migrations.get(version).apply(connection);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("PRAGMA user_version = " + (version + 1) + ";");
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackError) {
+                    Log.error("[DB] Rollback failed: " + rollbackError.getMessage(), rollbackError);
+                }
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            Log.info("[DB] Migrated schema to version %d in %.1f ms", version + 1, (System.nanoTime() - start) / 1_000_000.0);
+        }
+        return migrations.size();
+    }
+}
@@ -4,14 +4,19 @@ import model.CardType;
 
 /**
  * Represents a card in the game with a name, attribute, rarity, and base power.
+ * <p>
+ * A card is a reference to its shared {@link CardTemplate} plus the base power rolled for this copy; name,
+ * attribute, rarity, type and description are read through the template, so each copy is one small object
+ * however long its text. Cards from the {@link CardCatalog} can also be packed into an {@code int} with
+ * {@link #pack()}, e.g. to keep large collections in primitive arrays, and rebuilt with {@link #unpack(int)}.
  */
 public class Card {
-    private final String name;
-    private final Attribute attribute;
-    private final Rarity rarity;
+    private static final int POWER_BITS = 16;
+    private static final int POWER_MASK = (1 << POWER_BITS) - 1;
+
+    private final CardTemplate template;
+    private final int templateId; // Catalog id, or -1 for a card built from fields matching no template
     private final int basePower;
-    private final CardType type;
-    private final String description;
 
     /**
      * Existing constructor for backward compatibility, defaults type and description.
@@ -26,6 +31,7 @@ public class Card {
 
     /**
      * New constructor including type and description.
+     * Fields matching a catalog template share that template; other cards get a template of their own.
      * @param name The name of the card.
      * @param attribute The attribute of the card (FIRE, WATER, GRASS).
      * @param rarity The rarity of the card (SSR, SR, R).
@@ -34,24 +40,70 @@ public class Card {
      * @param basePower The base power of the card.
      */
     public Card(String name, Attribute attribute, Rarity rarity, CardType type, String description, int basePower) {
-        this.name = name;
-        this.attribute = attribute;
-        this.rarity = rarity;
+        int id = CardCatalog.idOf(name);
+        CardTemplate catalogTemplate = id >= 0 ? CardCatalog.get(id) : null;
+        if (catalogTemplate != null && catalogTemplate.getAttribute() == attribute && catalogTemplate.getRarity() == rarity
+                && catalogTemplate.getType() == type && catalogTemplate.getDescription().equals(description)) {
+            this.template = catalogTemplate;
+            this.templateId = id;
+        } else {
+            this.template = new CardTemplate(name, attribute, rarity, type, description, null);
+            this.templateId = -1;
+        }
+        this.basePower = basePower;
+    }
+
+    /**
+     * Creates a copy of a catalog template; see {@link CardCatalog#createCard(int, int)}.
+     */
+    Card(CardTemplate template, int templateId, int basePower) {
+        this.template = template;
+        this.templateId = templateId;
         this.basePower = basePower;
-        this.type = type;
-        this.description = description;
+    }
+
+    /**
+     * Rebuilds a card packed with {@link #pack()}.
+     * @param packed The packed card.
+     * @return A new card.
+     * @throws IndexOutOfBoundsException if the template id is not in the catalog.
+     */
+    public static Card unpack(int packed) {
+        return CardCatalog.createCard(packed >>> POWER_BITS, packed & POWER_MASK);
+    }
+
+    /**
+     * @return The template id in the high 16 bits and the base power in the low 16 bits.
+     * @throws IllegalStateException if the card is not from the catalog or its power does not fit in 16 bits.
+     */
+    public int pack() {
+        if (templateId < 0 || basePower < 0 || basePower > POWER_MASK) {
+            throw new IllegalStateException("Card cannot be packed: " + this);
+        }
+        return templateId << POWER_BITS | basePower;
+    }
+
+    public CardTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return The card's id in the {@link CardCatalog}, or -1 if it matches no catalog template.
+     */
+    public int getTemplateId() {
+        return templateId;
     }
 
     public String getName() {
-        return name;
+        return template.getName();
     }
 
     public Attribute getAttribute() {
-        return attribute;
+        return template.getAttribute();
     }
 
     public Rarity getRarity() {
-        return rarity;
+        return template.getRarity();
     }
 
     public int getBasePower() {
@@ -59,16 +111,16 @@ public class Card {
     }
 
     public CardType getType() {
-        return type;
+        return template.getType();
     }
 
     public String getDescription() {
-        return description;
+        return template.getDescription();
     }
 
     @Override
     public String toString() {
         return String.format("Card{name='%s', attribute=%s, rarity=%s, type=%s, basePower=%d}",
-                name, attribute, rarity, type, basePower);
+                getName(), getAttribute(), getRarity(), getType(), basePower);
     }
-}
\ No newline at end of file
+}
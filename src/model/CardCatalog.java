@@ -0,0 +1,105 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fixed catalog of card templates.
+ * A template's id is its index in this catalog and is stored in the database,
+ * so new templates must only ever be appended to the end of the list.
+ */
+public final class CardCatalog {
+    private static final List<CardTemplate> TEMPLATES;
+    private static final Map<String, Integer> IDS_BY_NAME = new HashMap<>();
+
+    static {
+        List<CardTemplate> templates = new ArrayList<>();
+        // Fire attribute cards
+        templates.add(new CardTemplate("Blaze Hound", Attribute.FIRE, Rarity.R, CardType.BEAST, "A fast-burning canine, agile but fragile.", "resources/images/blaze_hound.png"));
+        templates.add(new CardTemplate("Flame Hedgehog", Attribute.FIRE, Rarity.R, CardType.BEAST, "Defensive spiker that retaliates when hit.", "resources/images/flame_hedgehog.png"));
+        templates.add(new CardTemplate("Ember Archer", Attribute.FIRE, Rarity.SR, CardType.WARRIOR, "Fires burning arrows from long range.", "resources/images/ember_archer.png"));
+        templates.add(new CardTemplate("Lava Beetle", Attribute.FIRE, Rarity.SR, CardType.NATURE, "Molten body grants high resistance.", "resources/images/lava_beetle.png"));
+        templates.add(new CardTemplate("Flame Dancer", Attribute.FIRE, Rarity.SR, CardType.MAGE, "Twirls through the battlefield, evasive.", "resources/images/flame_dancer.png"));
+        templates.add(new CardTemplate("Inferno Dragon", Attribute.FIRE, Rarity.SSR, CardType.BEAST, "Dominant fire-breather, area burn skill.", "resources/images/inferno_dragon.png"));
+        templates.add(new CardTemplate("Hellfire Knight", Attribute.FIRE, Rarity.SSR, CardType.WARRIOR, "Rides a fire beast, blends strength & magic.", "resources/images/hellfire_knight.png"));
+        templates.add(new CardTemplate("Solar Fox", Attribute.FIRE, Rarity.SR, CardType.BEAST, "Quick-strike card with bonus crit chance.", "resources/images/solar_fox.png"));
+        templates.add(new CardTemplate("Magma Golem", Attribute.FIRE, Rarity.R, CardType.GOLEM, "Slow but incredibly hard to destroy.", "resources/images/magma_golem.png"));
+        templates.add(new CardTemplate("Ash Phoenix", Attribute.FIRE, Rarity.SSR, CardType.ELEMENTAL, "Mythical rebirth card, powerful late-game.", "resources/images/ash_phoenix.png"));
+        // Grass attribute cards
+        templates.add(new CardTemplate("Mossback Turtle", Attribute.GRASS, Rarity.R, CardType.BEAST, "Tanky turtle with regeneration abilities.", "resources/images/mossback_turtle.png"));
+        templates.add(new CardTemplate("Leaf Pixie", Attribute.GRASS, Rarity.R, CardType.MAGE, "Disruptive support unit, specializes in CC.", "resources/images/leaf_pixie.png"));
+        templates.add(new CardTemplate("Vine Hunter", Attribute.GRASS, Rarity.SR, CardType.WARRIOR, "Archer who tracks with entangling vines.", "resources/images/vine_hunter.png"));
+        templates.add(new CardTemplate("Boomshroom", Attribute.GRASS, Rarity.SR, CardType.NATURE, "Explodes on attack, high-risk card.", "resources/images/boomshroom.png"));
+        templates.add(new CardTemplate("Thorn Witch", Attribute.GRASS, Rarity.SR, CardType.MAGE, "Specializes in poison and control.", "resources/images/thorn_witch.png"));
+        templates.add(new CardTemplate("Shadow Leopard", Attribute.GRASS, Rarity.SSR, CardType.BEAST, "Stealthy predator, double strike ability.", "resources/images/shadow_leopard.png"));
+        templates.add(new CardTemplate("Glimmerhorn King", Attribute.GRASS, Rarity.SSR, CardType.BEAST, "King of the field, inspires other cards.", "resources/images/glimmerhorn_king.png"));
+        templates.add(new CardTemplate("Spirit of Forest", Attribute.GRASS, Rarity.SSR, CardType.ELEMENTAL, "Legendary support card, heals over time.", "resources/images/spirit_of_forest.png"));
+        templates.add(new CardTemplate("Petal Guardian", Attribute.GRASS, Rarity.R, CardType.WARRIOR, "Defensive shield unit, ideal for stalling.", "resources/images/petal_guardian.png"));
+        templates.add(new CardTemplate("Prairie Windwolf", Attribute.GRASS, Rarity.SR, CardType.BEAST, "Breaks through defense with speed.", "resources/images/prairie_windwolf.png"));
+        // Water attribute cards
+        templates.add(new CardTemplate("Bubble Tardigrade", Attribute.WATER, Rarity.R, CardType.BEAST, "Cute yet resilient, restores minor HP.", "resources/images/bubble_tardigrade.png"));
+        templates.add(new CardTemplate("Tide Ninja", Attribute.WATER, Rarity.R, CardType.WARRIOR, "High dodge rate, fast assassin.", "resources/images/tide_ninja.png"));
+        templates.add(new CardTemplate("Ice-scaled Murloc", Attribute.WATER, Rarity.SR, CardType.BEAST, "Blocks incoming attacks, counter-ready.", "resources/images/ice_scaled_murloc.png"));
+        templates.add(new CardTemplate("Aqua Sorcerer", Attribute.WATER, Rarity.SR, CardType.MAGE, "Area caster, slows enemy cards.", "resources/images/aqua_sorcerer.png"));
+        templates.add(new CardTemplate("Abyssal Tentacle", Attribute.WATER, Rarity.SR, CardType.NATURE, "Disrupts and binds opponents in place.", "resources/images/abyssal_tentacle.png"));
+        templates.add(new CardTemplate("Frost Giant", Attribute.WATER, Rarity.SSR, CardType.ELEMENTAL, "Slows enemies and freezes the battlefield.", "resources/images/frost_giant.png"));
+        templates.add(new CardTemplate("Sea King Knight", Attribute.WATER, Rarity.SSR, CardType.WARRIOR, "Leads aquatic troops, aggressive leader.", "resources/images/sea_king_knight.png"));
+        templates.add(new CardTemplate("Snowfang Lynx", Attribute.WATER, Rarity.SR, CardType.BEAST, "Fast striker with high crit potential.", "resources/images/snowfang_lynx.png"));
+        templates.add(new CardTemplate("Mystic Codex", Attribute.WATER, Rarity.R, CardType.MAGE, "Autonomous water spellcaster.", "resources/images/mystic_codex.png"));
+        templates.add(new CardTemplate("Tidal Leviathan", Attribute.WATER, Rarity.SSR, CardType.BEAST, "Devastating waterquake attack, hard to beat.", "resources/images/tidal_leviathan.png"));
+        TEMPLATES = Collections.unmodifiableList(templates);
+        for (int id = 0; id < TEMPLATES.size(); id++) {
+            IDS_BY_NAME.put(TEMPLATES.get(id).getName(), id);
+        }
+    }
+
+    private CardCatalog() {
+    }
+
+    /**
+     * @return All templates in id order; the list is unmodifiable.
+     */
+    public static List<CardTemplate> getTemplates() {
+        return TEMPLATES;
+    }
+
+    /**
+     * @return The number of templates; valid ids are {@code 0} to {@code size() - 1}.
+     */
+    public static int size() {
+        return TEMPLATES.size();
+    }
+
+    /**
+     * @param templateId The template id.
+     * @return The template with that id.
+     * @throws IndexOutOfBoundsException if the id is not in the catalog.
+     */
+    public static CardTemplate get(int templateId) {
+        return TEMPLATES.get(templateId);
+    }
+
+    /**
+     * Looks up a template id by card name.
+     * @param name The card name.
+     * @return The template id, or -1 if no template has that name.
+     */
+    public static int idOf(String name) {
+        Integer id = IDS_BY_NAME.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Creates a card instance from a template. The card shares the template rather than copying its fields.
+     * @param templateId The template id.
+     * @param basePower The rolled base power of this copy.
+     * @return A new card.
+     * @throws IndexOutOfBoundsException if the id is not in the catalog.
+     */
+    public static Card createCard(int templateId, int basePower) {
+        return new Card(TEMPLATES.get(templateId), templateId, basePower);
+    }
+}
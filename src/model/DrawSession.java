@@ -0,0 +1,90 @@
+package model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * The audit entry of one paid pull: who drew, how many cards, and the seed and rarity rates that determined them.
+ * Saved together with the drawn cards, so a disputed pull can be replayed with
+ * {@code service.GachaService.replay(DrawSession)} as long as the card catalog has not changed.
+ */
+public class DrawSession {
+    private final String username;
+    private final long seed;
+    private final int count;
+    private final Map<Rarity, Integer> rates;
+    private final String timestamp;
+
+    /**
+     * @param username The account that paid for the pull.
+     * @param seed The seed of the pull's draw session.
+     * @param count The number of cards drawn.
+     * @param rates The relative weight per rarity in force for the pull.
+     * @param timestamp When the pull was saved (yyyy-MM-dd HH:mm:ss), or null if it has not been saved yet.
+     */
+    public DrawSession(String username, long seed, int count, Map<Rarity, Integer> rates, String timestamp) {
+        this.username = username;
+        this.seed = seed;
+        this.count = count;
+        this.rates = Collections.unmodifiableMap(new EnumMap<>(rates));
+        this.timestamp = timestamp;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return The rarity weights, in {@link Rarity} order.
+     */
+    public Map<Rarity, Integer> getRates() {
+        return rates;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return The rates in the banner file's notation, e.g. {@code SSR=10,SR=30,R=60}.
+     */
+    public String formatRates() {
+        StringJoiner joiner = new StringJoiner(",");
+        rates.forEach((rarity, weight) -> joiner.add(rarity.name() + "=" + weight));
+        return joiner.toString();
+    }
+
+    /**
+     * Reads rates written by {@link #formatRates()}.
+     * @param text The formatted rates.
+     * @return The rarity weights.
+     * @throws IllegalArgumentException if a rarity or weight is invalid.
+     */
+    public static Map<Rarity, Integer> parseRates(String text) {
+        Map<Rarity, Integer> rates = new EnumMap<>(Rarity.class);
+        for (String entry : text.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid rate entry: " + entry);
+            }
+            rates.put(Rarity.valueOf(entry.substring(0, separator).trim()),
+                    Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        return rates;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Draw: %s, Count: %d, Seed: %d, Rates: %s, Time: %s", username, count, seed, formatRates(), timestamp);
+    }
+}
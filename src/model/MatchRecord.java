@@ -0,0 +1,59 @@
+package model;
+
+/**
+ * One saved battle result from a player's history.
+ */
+public class MatchRecord {
+    private final long id;
+    private final String username;
+    private final String playerName;
+    private final int wins;
+    private final int losses;
+    private final String timestamp;
+
+    /**
+     * @param id The database id of the record; breaks ties between records saved in the same second.
+     * @param username The account the record belongs to.
+     * @param playerName The player name shown in the record.
+     * @param wins Rounds won by the player.
+     * @param losses Rounds lost by the player.
+     * @param timestamp When the battle was saved, as stored by the database (yyyy-MM-dd HH:mm:ss).
+     */
+    public MatchRecord(long id, String username, String playerName, int wins, int losses, String timestamp) {
+        this.id = id;
+        this.username = username;
+        this.playerName = playerName;
+        this.wins = wins;
+        this.losses = losses;
+        this.timestamp = timestamp;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Player: %s, Wins: %d, Losses: %d, Time: %s", playerName, wins, losses, timestamp);
+    }
+}
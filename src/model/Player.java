@@ -2,8 +2,13 @@ package model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import util.Log;
 
 public class Player {
+    // Source of stats versions, shared by all players so a newer object always has a higher version
+    private static final AtomicLong STATS_VERSIONS = new AtomicLong();
+
     private String username;
     private int level;
     private int xp;
@@ -11,6 +16,7 @@ public class Player {
     private List<Card> deck;
     private int xpToNextLevel; // Example: XP needed for next level
     private int rating;
+    private long statsVersion = STATS_VERSIONS.incrementAndGet(); // Bumped on every stats change; kept by copyStats
 
     public Player(String username, int level, int xp, int currency) {
         this(username, level, xp, currency, 1000); // default rating
@@ -38,10 +44,21 @@ public class Player {
 
     public void addRating(int delta) {
         this.rating += delta;
+        touch();
     }
 
     public void setRating(int rating) {
         this.rating = rating;
+        touch();
+    }
+
+    // Higher means newer stats, so out-of-order snapshots of the same player can be told apart
+    public long getStatsVersion() {
+        return statsVersion;
+    }
+
+    private void touch() {
+        statsVersion = STATS_VERSIONS.incrementAndGet();
     }
 
     public int getLevel() {
@@ -72,6 +89,7 @@ public class Player {
     // Public methods to modify player stats
     public void addXp(int amount) {
         this.xp += amount;
+        touch();
         // Check for level up
         while (this.xp >= this.xpToNextLevel) {
             levelUp();
@@ -82,18 +100,20 @@ public class Player {
         this.xp -= this.xpToNextLevel; // Subtract XP used for level up
         this.level++;
         this.xpToNextLevel = calculateXpToNextLevel(this.level);
-        System.out.println(username + " leveled up to level " + this.level + "!");
+        Log.info("%s leveled up to level %d!", username, this.level);
         // Potentially add rewards for leveling up (e.g., currency, cards)
         addCurrency(50 * this.level); // Example: reward currency based on new level
     }
 
     public void addCurrency(int amount) {
         this.currency += amount;
+        touch();
     }
 
     public boolean spendCurrency(int amount) {
         if (this.currency >= amount) {
             this.currency -= amount;
+            touch();
             return true;
         }
         return false;
@@ -105,6 +125,13 @@ public class Player {
         }
     }
 
+    // Copy of the stats (without the deck) with the same stats version, safe to hand to another thread
+    public Player copyStats() {
+        Player copy = new Player(username, level, xp, currency, rating);
+        copy.statsVersion = statsVersion;
+        return copy;
+    }
+
     // Example method to calculate XP needed for next level
     private int calculateXpToNextLevel(int currentLevel) {
         return 100 * currentLevel; // Simple example: 100 XP per level
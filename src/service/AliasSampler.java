@@ -0,0 +1,98 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted random sampler using Vose's alias method.
+ * Building the table costs O(n); every sample afterwards costs O(1) regardless of the number of outcomes.
+ * @param <T> The type of the outcomes being sampled.
+ */
+public class AliasSampler<T> {
+    private final List<T> outcomes;
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Builds an alias table from the given outcome weights.
+     * Weights do not need to sum to any particular total; they are normalised here.
+     * @param weights The outcomes and their relative weights, iterated in map order.
+     * @throws IllegalArgumentException if there are no outcomes, a weight is negative, or all weights are zero.
+     */
+    public AliasSampler(Map<T, ? extends Number> weights) {
+        int n = weights.size();
+        if (n == 0) {
+            throw new IllegalArgumentException("At least one outcome is required.");
+        }
+        this.outcomes = new ArrayList<>(n);
+        double[] scaled = new double[n];
+        double total = 0;
+        for (Map.Entry<T, ? extends Number> entry : weights.entrySet()) {
+            double weight = entry.getValue().doubleValue();
+            if (weight < 0 || Double.isNaN(weight)) {
+                throw new IllegalArgumentException("Invalid weight for " + entry.getKey() + ": " + weight);
+            }
+            scaled[outcomes.size()] = weight;
+            outcomes.add(entry.getKey());
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Weights must not all be zero.");
+        }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = scaled[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is full (up to floating point error)
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    /**
+     * Draws one outcome.
+     * @param random The random source to use.
+     * @return The sampled outcome.
+     */
+    public T sample(RandomGenerator random) {
+        // One uniform variate supplies both the column (integer part) and the coin flip (fractional part)
+        double u = random.nextDouble() * probability.length;
+        int column = (int) u;
+        return u - column < probability[column] ? outcomes.get(column) : outcomes.get(alias[column]);
+    }
+
+    /**
+     * @return The number of outcomes in this sampler.
+     */
+    public int size() {
+        return outcomes.size();
+    }
+}
@@ -4,57 +4,261 @@ import model.Card;
 import model.Attribute;
 import model.Rarity;
 import model.CardTemplate;
+import model.CardCatalog;
 import model.CardType;
+import model.DrawSession;
 import model.Player; // Import the Player model
+import util.Log;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 /**
  * Service for handling the gacha (card drawing) logic.
+ * Instances are not thread-safe; give each thread its own instance, e.g. via {@link #split()}.
+ * <p>
+ * Every paid pull ({@link #drawCards(Player, int)}) starts a fresh session with a new seed and records it in a
+ * {@link DrawSession}, which the caller saves with the drawn cards. To replay a pull, build a service from the
+ * recorded rates and seed and draw the recorded count without a player: {@link #replay(DrawSession)} does exactly
+ * {@code new GachaService(rates, seed).drawCards(count)}. Calling {@code drawCards(Player, int)} instead would
+ * reseed and draw something else. Replays also need the same card catalog, since draws pick template ids.
  */
 public class GachaService {
-    private final Random random = new Random();
+    // Default generator: fast, splittable and fully determined by its seed
+    public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+    private static final RandomGeneratorFactory<RandomGenerator> DEFAULT_FACTORY = RandomGeneratorFactory.of(DEFAULT_ALGORITHM);
+
+    private RandomGenerator random;
+    private long sessionSeed;
+    private final boolean seededSessions; // false when the caller supplied its own generator
+    private final Map<Rarity, Integer> rates; // In Rarity order, so a replay builds the same alias table
+    private final AliasSampler<Rarity> raritySampler;
+    private DrawSession lastSession;
     private static final int CARD_DRAW_COST = 10; // Define the cost for drawing a card
+    // System property pointing at a banner rate file, e.g. -Dgacha.banner=data/banner.properties
+    public static final String BANNER_PROPERTY = "gacha.banner";
+
+    // All card templates, shared with the database layer so deck rows can store template ids
+    private static final List<CardTemplate> TEMPLATES = CardCatalog.getTemplates();
 
-    // Static list of all card templates
-    private static final List<CardTemplate> TEMPLATES = new ArrayList<>();
+    private static final Rarity[] RARITIES = Rarity.values();
+    private static final Attribute[] ATTRIBUTES = Attribute.values();
+
+    // Immutable draw pools of template ids, indexed by [rarity ordinal][attribute ordinal] and built once from TEMPLATES.
+    // Fallbacks ("any template of this rarity", then "any template") are resolved here so a draw is a single lookup.
+    private static final int[][][] POOLS = new int[RARITIES.length][ATTRIBUTES.length][];
     static {
-        // Fire attribute cards
-        TEMPLATES.add(new CardTemplate("Blaze Hound", Attribute.FIRE, Rarity.R, CardType.BEAST, "A fast-burning canine, agile but fragile.", "resources/images/blaze_hound.png"));
-        TEMPLATES.add(new CardTemplate("Flame Hedgehog", Attribute.FIRE, Rarity.R, CardType.BEAST, "Defensive spiker that retaliates when hit.", "resources/images/flame_hedgehog.png"));
-        TEMPLATES.add(new CardTemplate("Ember Archer", Attribute.FIRE, Rarity.SR, CardType.WARRIOR, "Fires burning arrows from long range.", "resources/images/ember_archer.png"));
-        TEMPLATES.add(new CardTemplate("Lava Beetle", Attribute.FIRE, Rarity.SR, CardType.NATURE, "Molten body grants high resistance.", "resources/images/lava_beetle.png"));
-        TEMPLATES.add(new CardTemplate("Flame Dancer", Attribute.FIRE, Rarity.SR, CardType.MAGE, "Twirls through the battlefield, evasive.", "resources/images/flame_dancer.png"));
-        TEMPLATES.add(new CardTemplate("Inferno Dragon", Attribute.FIRE, Rarity.SSR, CardType.BEAST, "Dominant fire-breather, area burn skill.", "resources/images/inferno_dragon.png"));
-        TEMPLATES.add(new CardTemplate("Hellfire Knight", Attribute.FIRE, Rarity.SSR, CardType.WARRIOR, "Rides a fire beast, blends strength & magic.", "resources/images/hellfire_knight.png"));
-        TEMPLATES.add(new CardTemplate("Solar Fox", Attribute.FIRE, Rarity.SR, CardType.BEAST, "Quick-strike card with bonus crit chance.", "resources/images/solar_fox.png"));
-        TEMPLATES.add(new CardTemplate("Magma Golem", Attribute.FIRE, Rarity.R, CardType.GOLEM, "Slow but incredibly hard to destroy.", "resources/images/magma_golem.png"));
-        TEMPLATES.add(new CardTemplate("Ash Phoenix", Attribute.FIRE, Rarity.SSR, CardType.ELEMENTAL, "Mythical rebirth card, powerful late-game.", "resources/images/ash_phoenix.png"));
-        // Grass attribute cards
-        TEMPLATES.add(new CardTemplate("Mossback Turtle", Attribute.GRASS, Rarity.R, CardType.BEAST, "Tanky turtle with regeneration abilities.", "resources/images/mossback_turtle.png"));
-        TEMPLATES.add(new CardTemplate("Leaf Pixie", Attribute.GRASS, Rarity.R, CardType.MAGE, "Disruptive support unit, specializes in CC.", "resources/images/leaf_pixie.png"));
-        TEMPLATES.add(new CardTemplate("Vine Hunter", Attribute.GRASS, Rarity.SR, CardType.WARRIOR, "Archer who tracks with entangling vines.", "resources/images/vine_hunter.png"));
-        TEMPLATES.add(new CardTemplate("Boomshroom", Attribute.GRASS, Rarity.SR, CardType.NATURE, "Explodes on attack, high-risk card.", "resources/images/boomshroom.png"));
-        TEMPLATES.add(new CardTemplate("Thorn Witch", Attribute.GRASS, Rarity.SR, CardType.MAGE, "Specializes in poison and control.", "resources/images/thorn_witch.png"));
-        TEMPLATES.add(new CardTemplate("Shadow Leopard", Attribute.GRASS, Rarity.SSR, CardType.BEAST, "Stealthy predator, double strike ability.", "resources/images/shadow_leopard.png"));
-        TEMPLATES.add(new CardTemplate("Glimmerhorn King", Attribute.GRASS, Rarity.SSR, CardType.BEAST, "King of the field, inspires other cards.", "resources/images/glimmerhorn_king.png"));
-        TEMPLATES.add(new CardTemplate("Spirit of Forest", Attribute.GRASS, Rarity.SSR, CardType.ELEMENTAL, "Legendary support card, heals over time.", "resources/images/spirit_of_forest.png"));
-        TEMPLATES.add(new CardTemplate("Petal Guardian", Attribute.GRASS, Rarity.R, CardType.WARRIOR, "Defensive shield unit, ideal for stalling.", "resources/images/petal_guardian.png"));
-        TEMPLATES.add(new CardTemplate("Prairie Windwolf", Attribute.GRASS, Rarity.SR, CardType.BEAST, "Breaks through defense with speed.", "resources/images/prairie_windwolf.png"));
-        // Water attribute cards
-        TEMPLATES.add(new CardTemplate("Bubble Tardigrade", Attribute.WATER, Rarity.R, CardType.BEAST, "Cute yet resilient, restores minor HP.", "resources/images/bubble_tardigrade.png"));
-        TEMPLATES.add(new CardTemplate("Tide Ninja", Attribute.WATER, Rarity.R, CardType.WARRIOR, "High dodge rate, fast assassin.", "resources/images/tide_ninja.png"));
-        TEMPLATES.add(new CardTemplate("Ice-scaled Murloc", Attribute.WATER, Rarity.SR, CardType.BEAST, "Blocks incoming attacks, counter-ready.", "resources/images/ice_scaled_murloc.png"));
-        TEMPLATES.add(new CardTemplate("Aqua Sorcerer", Attribute.WATER, Rarity.SR, CardType.MAGE, "Area caster, slows enemy cards.", "resources/images/aqua_sorcerer.png"));
-        TEMPLATES.add(new CardTemplate("Abyssal Tentacle", Attribute.WATER, Rarity.SR, CardType.NATURE, "Disrupts and binds opponents in place.", "resources/images/abyssal_tentacle.png"));
-        TEMPLATES.add(new CardTemplate("Frost Giant", Attribute.WATER, Rarity.SSR, CardType.ELEMENTAL, "Slows enemies and freezes the battlefield.", "resources/images/frost_giant.png"));
-        TEMPLATES.add(new CardTemplate("Sea King Knight", Attribute.WATER, Rarity.SSR, CardType.WARRIOR, "Leads aquatic troops, aggressive leader.", "resources/images/sea_king_knight.png"));
-        TEMPLATES.add(new CardTemplate("Snowfang Lynx", Attribute.WATER, Rarity.SR, CardType.BEAST, "Fast striker with high crit potential.", "resources/images/snowfang_lynx.png"));
-        TEMPLATES.add(new CardTemplate("Mystic Codex", Attribute.WATER, Rarity.R, CardType.MAGE, "Autonomous water spellcaster.", "resources/images/mystic_codex.png"));
-        TEMPLATES.add(new CardTemplate("Tidal Leviathan", Attribute.WATER, Rarity.SSR, CardType.BEAST, "Devastating waterquake attack, hard to beat.", "resources/images/tidal_leviathan.png"));
+        int[] all = new int[TEMPLATES.size()];
+        for (int id = 0; id < all.length; id++) {
+            all[id] = id;
+        }
+        for (Rarity rarity : RARITIES) {
+            int[] byRarity = idsMatching(rarity, null);
+            for (Attribute attribute : ATTRIBUTES) {
+                int[] pool = idsMatching(rarity, attribute);
+                if (pool.length == 0) {
+                    pool = byRarity.length > 0 ? byRarity : all;
+                }
+                POOLS[rarity.ordinal()][attribute.ordinal()] = pool;
+            }
+        }
+    }
+
+    private static int[] idsMatching(Rarity rarity, Attribute attribute) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < TEMPLATES.size(); id++) {
+            CardTemplate template = TEMPLATES.get(id);
+            if (template.getRarity() == rarity && (attribute == null || template.getAttribute() == attribute)) {
+                ids.add(id);
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return The number of card templates; valid template ids are {@code 0} to {@code getTemplateCount() - 1}.
+     */
+    public static int getTemplateCount() {
+        return TEMPLATES.size();
+    }
+
+    /**
+     * Looks up a card template by the id written by {@link #drawInto(int, int[], byte[], int[], int)}.
+     * @param templateId The template id.
+     * @return The card template.
+     */
+    public static CardTemplate getTemplate(int templateId) {
+        return TEMPLATES.get(templateId);
+    }
+
+    /**
+     * Creates a gacha service using the banner file named by the {@value #BANNER_PROPERTY} system property,
+     * or the default rates from {@link Rarity#getProbability()} if it is not set.
+     */
+    public GachaService() {
+        this(defaultRarityWeights());
+    }
+
+    /**
+     * Creates a gacha service with custom rarity rates, e.g. for a limited banner.
+     * @param rarityWeights Relative weight per rarity; rarities that are missing can never be drawn.
+     */
+    public GachaService(Map<Rarity, Integer> rarityWeights) {
+        this(rarityWeights, newSeed());
+    }
+
+    /**
+     * Creates a gacha service whose first draw session uses the given seed, so its draws can be replayed exactly.
+     * @param rarityWeights Relative weight per rarity.
+     * @param seed The seed for the first draw session.
+     */
+    public GachaService(Map<Rarity, Integer> rarityWeights, long seed) {
+        this.rates = Collections.unmodifiableMap(new EnumMap<>(rarityWeights));
+        this.raritySampler = new AliasSampler<>(rates);
+        this.seededSessions = true;
+        startSession(seed);
+    }
+
+    /**
+     * Creates a gacha service that draws from a caller-supplied generator, e.g. a {@code SplittableRandom}.
+     * Sessions are not reseeded in this mode and {@link #getSessionSeed()} is meaningless.
+     * @param rarityWeights Relative weight per rarity.
+     * @param random The random generator to use.
+     */
+    public GachaService(Map<Rarity, Integer> rarityWeights, RandomGenerator random) {
+        this.rates = Collections.unmodifiableMap(new EnumMap<>(rarityWeights));
+        this.raritySampler = new AliasSampler<>(rates);
+        this.seededSessions = false;
+        this.random = random;
+    }
+
+    private GachaService(Map<Rarity, Integer> rates, AliasSampler<Rarity> raritySampler, RandomGenerator random) {
+        this.rates = rates;
+        this.raritySampler = raritySampler;
+        this.seededSessions = false;
+        this.random = random;
+    }
+
+    /**
+     * Starts a new draw session with the given seed. All draws until the next session are fully determined by it.
+     * @param seed The session seed.
+     */
+    public void startSession(long seed) {
+        this.sessionSeed = seed;
+        this.random = DEFAULT_FACTORY.create(seed);
+    }
+
+    /**
+     * @return The seed of the current draw session; replaying it with the same rates reproduces the draws.
+     */
+    public long getSessionSeed() {
+        return sessionSeed;
+    }
+
+    /**
+     * @return The relative weight per rarity used by this service, in {@link Rarity} order.
+     */
+    public Map<Rarity, Integer> getRates() {
+        return rates;
+    }
+
+    /**
+     * @return The session of the last paid pull, to be saved with its cards, or null if there has been none
+     *         or this service draws from a caller-supplied generator.
+     */
+    public DrawSession getLastSession() {
+        return lastSession;
+    }
+
+    /**
+     * Replays a recorded pull.
+     * @param session The recorded session.
+     * @return The cards the pull drew, in the same order.
+     */
+    public static List<Card> replay(DrawSession session) {
+        return new GachaService(session.getRates(), session.getSeed()).drawCards(session.getCount());
+    }
+
+    /**
+     * Creates an independent gacha service with the same rates for use on another thread.
+     * The child's generator is split from this one, so parallel simulations share no state.
+     * @return A new gacha service.
+     */
+    public GachaService split() {
+        RandomGenerator child = random instanceof SplittableGenerator
+                ? ((SplittableGenerator) random).split()
+                : DEFAULT_FACTORY.create(random.nextLong());
+        return new GachaService(rates, raritySampler, child);
+    }
+
+    private static long newSeed() {
+        return ThreadLocalRandom.current().nextLong() ^ System.nanoTime();
+    }
+
+    /**
+     * Loads banner rates from a properties file with one entry per rarity, e.g. {@code SSR=3}.
+     * Rarities that are not listed keep their default probability.
+     * @param file The banner file.
+     * @return The rarity weights for the banner.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a rarity or weight is invalid, a weight is negative or all weights are zero.
+     */
+    public static Map<Rarity, Integer> loadBannerRates(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        Map<Rarity, Integer> weights = defaultRates();
+        for (String key : properties.stringPropertyNames()) {
+            Rarity rarity = Rarity.valueOf(key.trim().toUpperCase());
+            int weight = Integer.parseInt(properties.getProperty(key).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + rarity + ": " + weight);
+            }
+            weights.put(rarity, weight);
+        }
+        // Checked here rather than left to the sampler, so a bad banner falls back to the default rates
+        long total = 0;
+        for (int weight : weights.values()) {
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Banner weights must not all be zero.");
+        }
+        return weights;
+    }
+
+    private static Map<Rarity, Integer> defaultRates() {
+        Map<Rarity, Integer> weights = new EnumMap<>(Rarity.class);
+        for (Rarity rarity : Rarity.values()) {
+            weights.put(rarity, rarity.getProbability());
+        }
+        return weights;
+    }
+
+    private static Map<Rarity, Integer> defaultRarityWeights() {
+        String bannerFile = System.getProperty(BANNER_PROPERTY);
+        if (bannerFile != null && !bannerFile.isEmpty()) {
+            try {
+                return loadBannerRates(Paths.get(bannerFile));
+            } catch (IOException | IllegalArgumentException e) {
+                Log.warn("[Gacha] Could not load banner rates from " + bannerFile + ", using defaults: " + e.getMessage());
+            }
+        }
+        return defaultRates();
     }
 
     /**
@@ -67,27 +271,17 @@ public class GachaService {
     public List<Card> drawCards(Player player, int count) {
         int totalCost = CARD_DRAW_COST * count;
         if (!player.spendCurrency(totalCost)) {
-            System.out.println("[Gacha] Not enough currency to draw " + count + " card(s). Required: " + totalCost + ", Available: " + player.getCurrency());
+            Log.info("[Gacha] Not enough currency to draw %d card(s). Required: %d, Available: %d", count, totalCost, player.getCurrency());
             return null; // Not enough currency
         }
-
-        List<Card> cards = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
-            Rarity rarity = getRandomRarity();
-            Attribute attribute = getRandomAttribute();
-            List<CardTemplate> pool = TEMPLATES.stream()
-                    .filter(t -> t.getAttribute() == attribute && t.getRarity() == rarity)
-                    .collect(Collectors.toList());
-            CardTemplate template = pool.get(random.nextInt(pool.size()));
-            int basePower = getRandomPower(rarity);
-            Card card = new Card(template.getName(), attribute, rarity, template.getType(), template.getDescription(), basePower);
-            cards.add(card);
-
-            // Print card details immediately after drawing
-            System.out.printf("[Gacha] Drawn Card: Name=%s, Attribute=%s, Rarity=%s, Type=%s, Power=%d\n",
-                    card.getName(), card.getAttribute(), card.getRarity(), card.getType(), card.getBasePower());
+        if (seededSessions) {
+            // Each paid pull gets its own recorded seed so it can be audited and replayed
+            startSession(newSeed());
+            lastSession = new DrawSession(player.getUsername(), sessionSeed, count, rates, null);
+            Log.info("[Gacha] Draw session for %s: seed=%d, count=%d, rates=%s", player.getUsername(), sessionSeed, count, lastSession.formatRates());
         }
-        return cards;
+
+        return toCards(count, "[Gacha] Drawn Card: Name=%s, Attribute=%s, Rarity=%s, Type=%s, Power=%d");
     }
 
     /**
@@ -97,53 +291,65 @@ public class GachaService {
      * @return A list of randomly generated cards.
      */
     public List<Card> drawCards(int count) {
-        List<Card> cards = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
+        return toCards(count, "[Gacha] Drawn Card (for non-player): Name=%s, Attribute=%s, Rarity=%s, Type=%s, Power=%d");
+    }
+
+    /**
+     * Draws cards in bulk into caller-supplied buffers, for high-volume simulations.
+     * No per-card objects are allocated and nothing is printed; slot {@code offset + i} of each buffer
+     * receives the template id, rarity ordinal and base power of the i-th card.
+     * This version does not involve currency.
+     * @param count The number of cards to draw.
+     * @param templateIds Receives template ids, resolvable with {@link #getTemplate(int)}.
+     * @param rarities Receives {@link Rarity#ordinal()} values.
+     * @param powers Receives base power values.
+     * @param offset The first buffer slot to write.
+     * @return The number of cards drawn: {@code count}, or 0 if no card templates are defined.
+     * @throws IndexOutOfBoundsException if a buffer is too small for {@code offset + count}.
+     */
+    public int drawInto(int count, int[] templateIds, byte[] rarities, int[] powers, int offset) {
+        int end = offset + count;
+        if (offset < 0 || count < 0 || end > templateIds.length || end > rarities.length || end > powers.length) {
+            throw new IndexOutOfBoundsException("Buffers too small for " + count + " draws at offset " + offset);
+        }
+        if (TEMPLATES.isEmpty()) {
+            return 0;
+        }
+        for (int i = offset; i < end; i++) {
             Rarity rarity = getRandomRarity();
-            Attribute attribute = getRandomAttribute();
-            List<CardTemplate> pool = TEMPLATES.stream()
-                    .filter(t -> t.getAttribute() == attribute && t.getRarity() == rarity)
-                    .collect(Collectors.toList());
-            
-            // Fallback if no specific card template is found for the combination
-            if (pool.isEmpty()) {
-                // Try to find any card of the determined rarity
-                pool = TEMPLATES.stream().filter(t -> t.getRarity() == rarity).collect(Collectors.toList());
-                if (pool.isEmpty()) { // If still empty, pick any card from all templates
-                    pool = new ArrayList<>(TEMPLATES);
-                    if (pool.isEmpty()) { // Should not happen if TEMPLATES is populated
-                        System.err.println("[Gacha] Error: No card templates available.");
-                        return cards; // Return empty list or throw exception
-                    }
-                }
-            }
-            
-            CardTemplate template = pool.get(random.nextInt(pool.size()));
-            int basePower = getRandomPower(rarity);
-            // Ensure the created card uses the initially determined attribute, even if template pool was broadened
-            Card card = new Card(template.getName(), attribute, rarity, template.getType(), template.getDescription(), basePower);
+            int[] pool = POOLS[rarity.ordinal()][random.nextInt(ATTRIBUTES.length)];
+            templateIds[i] = pool[random.nextInt(pool.length)];
+            rarities[i] = (byte) rarity.ordinal();
+            powers[i] = getRandomPower(rarity);
+        }
+        return count;
+    }
+
+    /**
+     * Adapts a bulk draw into a list of cards.
+     */
+    private List<Card> toCards(int count, String logFormat) {
+        int[] templateIds = new int[count];
+        byte[] rarities = new byte[count];
+        int[] powers = new int[count];
+        int drawn = drawInto(count, templateIds, rarities, powers, 0);
+        if (drawn == 0 && count > 0) { // Should not happen if TEMPLATES is populated
+            Log.error("[Gacha] Error: No card templates available.");
+        }
+        List<Card> cards = new ArrayList<>(drawn);
+        for (int i = 0; i < drawn; i++) {
+            Card card = CardCatalog.createCard(templateIds[i], powers[i]);
             cards.add(card);
 
-            System.out.printf("[Gacha] Drawn Card (for non-player): Name=%s, Attribute=%s, Rarity=%s, Type=%s, Power=%d\\n",
-                    card.getName(), card.getAttribute(), card.getRarity(), card.getType(), card.getBasePower());
+            if (Log.isDebugEnabled()) {
+                Log.debug(logFormat, card.getName(), card.getAttribute(), card.getRarity(), card.getType(), card.getBasePower());
+            }
         }
         return cards;
     }
 
     private Rarity getRandomRarity() {
-        int roll = random.nextInt(100) + 1;
-        if (roll <= Rarity.SSR.getProbability()) {
-            return Rarity.SSR;
-        } else if (roll <= Rarity.SSR.getProbability() + Rarity.SR.getProbability()) {
-            return Rarity.SR;
-        } else {
-            return Rarity.R;
-        }
-    }
-
-    private Attribute getRandomAttribute() {
-        Attribute[] attributes = Attribute.values();
-        return attributes[random.nextInt(attributes.length)];
+        return raritySampler.sample(random);
     }
 
     private int getRandomPower(Rarity rarity) {
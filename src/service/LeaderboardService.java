@@ -0,0 +1,284 @@
+package service;
+
+import model.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * In-memory leaderboard backed by an order-statistic treap.
+ * Players are ordered by a statistic, rating unless another is given, highest first, with ties broken by
+ * username, matching the SQL leaderboard.
+ * Updates, rank lookups and page lookups cost O(log n) (plus the page size) and never touch the database.
+ * Updates can arrive out of order, e.g. a database save listener delivering an older snapshot after a newer
+ * in-game update, so a snapshot older than the stored one ({@link Player#getStatsVersion()}) is ignored.
+ * All methods are synchronized so the leaderboard can be updated from worker threads and read on the EDT.
+ */
+public class LeaderboardService {
+    private static final class Node {
+        final String username;
+        final int score; // The statistic the leaderboard is ordered by
+        final int priority;
+        Player snapshot; // Copy of the player's stats, for display
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(Player snapshot, int score, int priority) {
+            this.username = snapshot.getUsername();
+            this.score = score;
+            this.snapshot = snapshot;
+            this.priority = priority;
+        }
+    }
+
+    private final ToIntFunction<Player> score;
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final RandomGenerator random = RandomGenerator.of(GachaService.DEFAULT_ALGORITHM);
+    private Node root;
+    private volatile boolean warmed;
+
+    /**
+     * Creates an empty leaderboard ordered by rating.
+     */
+    public LeaderboardService() {
+        this(Player::getRating);
+    }
+
+    /**
+     * Creates an empty leaderboard ordered by the given statistic.
+     * @param score The statistic to rank players by, e.g. {@code Player::getLevel}.
+     */
+    public LeaderboardService(ToIntFunction<Player> score) {
+        this.score = score;
+    }
+
+    /**
+     * Loads the initial player list, e.g. from {@code GameRecordService.loadAllPlayers()}.
+     * Players already updated through {@link #update(Player)} keep their newer stats.
+     * @param players All known players.
+     */
+    public synchronized void warm(List<Player> players) {
+        for (Player player : players) {
+            if (!nodes.containsKey(player.getUsername())) {
+                insert(player.copyStats());
+            }
+        }
+        warmed = true;
+    }
+
+    /**
+     * Replaces the whole leaderboard, e.g. after players were deleted from the database.
+     * @param players All known players.
+     */
+    public synchronized void reset(List<Player> players) {
+        nodes.clear();
+        root = null;
+        warm(players);
+    }
+
+    /**
+     * @return true once {@link #warm(List)} has run, so the leaderboard covers every player.
+     */
+    public boolean isWarmed() {
+        return warmed;
+    }
+
+    /**
+     * Adds a player or updates their stats, moving them if their score changed.
+     * Ignored if the stored stats are newer.
+     * @param player The player; a snapshot of its current stats is stored.
+     */
+    public synchronized void update(Player player) {
+        if (player == null || player.getUsername() == null) {
+            return;
+        }
+        Player snapshot = player.copyStats();
+        Node existing = nodes.get(snapshot.getUsername());
+        if (existing != null && snapshot.getStatsVersion() < existing.snapshot.getStatsVersion()) {
+            return; // Stale snapshot, e.g. a save that was queued before the latest change
+        }
+        if (existing != null && existing.score == score.applyAsInt(snapshot)) {
+            existing.snapshot = snapshot; // Same position, only the displayed stats change
+            return;
+        }
+        if (existing != null) {
+            root = delete(root, existing.score, existing.username);
+        }
+        insert(snapshot);
+    }
+
+    /**
+     * Removes a player from the leaderboard.
+     * @param username The player's username.
+     */
+    public synchronized void remove(String username) {
+        Node existing = nodes.remove(username);
+        if (existing != null) {
+            root = delete(root, existing.score, existing.username);
+        }
+    }
+
+    /**
+     * @return The number of players on the leaderboard.
+     */
+    public synchronized int size() {
+        return size(root);
+    }
+
+    /**
+     * Looks up a player's 1-based position.
+     * @param username The player's username.
+     * @return The player's rank, or -1 if the player is not on the leaderboard.
+     */
+    public synchronized int getRank(String username) {
+        Node target = nodes.get(username);
+        if (target == null) {
+            return -1;
+        }
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int c = compare(target.score, target.username, node);
+            if (c < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                if (c == 0) {
+                    return rank;
+                }
+                node = node.right;
+            }
+        }
+        return -1; // Not reachable while nodes and the tree agree
+    }
+
+    /**
+     * Returns one page of the leaderboard, best first.
+     * @param limit The maximum number of players to return.
+     * @param offset The number of better-ranked players to skip.
+     * @return Snapshots of the players on this page.
+     */
+    public synchronized List<Player> getTop(int limit, int offset) {
+        List<Player> page = new ArrayList<>(Math.max(0, Math.min(limit, size(root))));
+        collect(root, Math.max(0, offset), limit, page);
+        return page;
+    }
+
+    private void insert(Player snapshot) {
+        Node node = new Node(snapshot, score.applyAsInt(snapshot), random.nextInt());
+        nodes.put(node.username, node);
+        root = insert(root, node);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void resize(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    // Orders by score descending, then username ascending
+    private static int compare(int score, String username, Node node) {
+        if (score != node.score) {
+            return score > node.score ? -1 : 1;
+        }
+        return username.compareTo(node.username);
+    }
+
+    private static Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            split(tree, node);
+            resize(node);
+            return node;
+        }
+        if (compare(node.score, node.username, tree) < 0) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        resize(tree);
+        return tree;
+    }
+
+    // Splits tree around pivot's key into pivot.left (smaller) and pivot.right (larger)
+    private static void split(Node tree, Node pivot) {
+        if (tree == null) {
+            pivot.left = null;
+            pivot.right = null;
+            return;
+        }
+        if (compare(pivot.score, pivot.username, tree) < 0) {
+            split(tree.left, pivot);
+            tree.left = pivot.right;
+            pivot.right = tree;
+        } else {
+            split(tree.right, pivot);
+            tree.right = pivot.left;
+            pivot.left = tree;
+        }
+        resize(tree);
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            resize(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        resize(right);
+        return right;
+    }
+
+    private static Node delete(Node tree, int score, String username) {
+        if (tree == null) {
+            return null;
+        }
+        int c = compare(score, username, tree);
+        if (c == 0) {
+            return merge(tree.left, tree.right);
+        }
+        if (c < 0) {
+            tree.left = delete(tree.left, score, username);
+        } else {
+            tree.right = delete(tree.right, score, username);
+        }
+        resize(tree);
+        return tree;
+    }
+
+    // In-order walk that skips whole subtrees lying before the offset
+    private static int collect(Node node, int skip, int limit, List<Player> out) {
+        if (node == null || out.size() >= limit) {
+            return skip;
+        }
+        if (skip >= node.size) {
+            return skip - node.size;
+        }
+        skip = collect(node.left, skip, limit, out);
+        if (out.size() >= limit) {
+            return skip;
+        }
+        if (skip > 0) {
+            skip--;
+        } else {
+            out.add(node.snapshot);
+        }
+        return collect(node.right, skip, limit, out);
+    }
+}
@@ -0,0 +1,207 @@
+package util;
+
+import java.io.PrintStream;
+
+/**
+ * Small leveled logging facade with an asynchronous ring-buffer appender.
+ * Callers only check the level and enqueue; formatting and console I/O happen on a background thread,
+ * so logging normally never blocks the game or database paths. When the buffer is full, DEBUG and INFO messages
+ * are dropped and counted, while WARN and ERROR wait briefly for a free slot and are otherwise written on the
+ * caller's thread, ahead of the queued messages, so no warning or error is ever lost.
+ * The level defaults to INFO and can be changed with {@code -Dcardgame.log.level=DEBUG} or {@link #setLevel(Level)}.
+ */
+public final class Log {
+    public enum Level { DEBUG, INFO, WARN, ERROR, OFF }
+
+    public static final String LEVEL_PROPERTY = "cardgame.log.level";
+    private static final int BUFFER_SIZE = 4096; // Must be a power of two
+    private static final long FULL_WAIT_MILLIS = 10; // How long WARN and ERROR wait for a slot before writing directly
+
+    private static volatile Level level = parseLevel(System.getProperty(LEVEL_PROPERTY));
+
+    // Ring buffer slots; guarded by LOCK
+    private static final Object LOCK = new Object();
+    private static final Level[] levels = new Level[BUFFER_SIZE];
+    private static final String[] formats = new String[BUFFER_SIZE];
+    private static final Object[][] arguments = new Object[BUFFER_SIZE][];
+    private static final Throwable[] errors = new Throwable[BUFFER_SIZE];
+    private static long head; // Next slot to read
+    private static long tail; // Next slot to write
+    private static long dropped;
+
+    static {
+        Thread writer = new Thread(Log::drainLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "log-flush"));
+    }
+
+    private Log() {
+    }
+
+    private static Level parseLevel(String value) {
+        if (value == null || value.isEmpty()) {
+            return Level.INFO;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    public static boolean isEnabled(Level messageLevel) {
+        return messageLevel != Level.OFF && messageLevel.ordinal() >= level.ordinal();
+    }
+
+    public static boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public static void debug(String format, Object... args) {
+        log(Level.DEBUG, null, format, args);
+    }
+
+    public static void info(String format, Object... args) {
+        log(Level.INFO, null, format, args);
+    }
+
+    public static void warn(String format, Object... args) {
+        log(Level.WARN, null, format, args);
+    }
+
+    public static void error(String format, Object... args) {
+        log(Level.ERROR, null, format, args);
+    }
+
+    /**
+     * Logs an error together with the stack trace of its cause.
+     */
+    public static void error(String message, Throwable error) {
+        log(Level.ERROR, error, message);
+    }
+
+    /**
+     * Enqueues a message. {@code format} is a {@link String#format} pattern, applied on the writer thread;
+     * with no arguments it is printed as-is.
+     */
+    private static void log(Level messageLevel, Throwable error, String format, Object... args) {
+        if (!isEnabled(messageLevel)) {
+            return;
+        }
+        synchronized (LOCK) {
+            if (tail - head < BUFFER_SIZE || (messageLevel.ordinal() >= Level.WARN.ordinal() && awaitSlot())) {
+                int slot = (int) (tail & (BUFFER_SIZE - 1));
+                levels[slot] = messageLevel;
+                formats[slot] = format;
+                arguments[slot] = args;
+                errors[slot] = error;
+                tail++;
+                LOCK.notifyAll();
+                return;
+            }
+            if (messageLevel.ordinal() < Level.WARN.ordinal()) {
+                dropped++;
+                return;
+            }
+        }
+        // The writer thread is too far behind; print outside the lock so it can keep draining meanwhile
+        write(messageLevel, error, format, args);
+    }
+
+    /**
+     * Waits up to {@link #FULL_WAIT_MILLIS} for the writer thread to free a slot. Must hold LOCK.
+     * @return true if a slot is free.
+     */
+    private static boolean awaitSlot() {
+        long deadline = System.nanoTime() + FULL_WAIT_MILLIS * 1_000_000;
+        while (tail - head >= BUFFER_SIZE) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                LOCK.wait(Math.max(1, remaining / 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Blocks until every message enqueued so far has been written.
+     */
+    public static void flush() {
+        synchronized (LOCK) {
+            long target = tail;
+            while (head < target) {
+                try {
+                    LOCK.wait(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void drainLoop() {
+        while (true) {
+            Level messageLevel;
+            String format;
+            Object[] args;
+            Throwable error;
+            long lost;
+            synchronized (LOCK) {
+                while (head == tail) {
+                    try {
+                        LOCK.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                int slot = (int) (head & (BUFFER_SIZE - 1));
+                messageLevel = levels[slot];
+                format = formats[slot];
+                args = arguments[slot];
+                error = errors[slot];
+                formats[slot] = null;
+                arguments[slot] = null;
+                errors[slot] = null;
+                lost = dropped;
+                dropped = 0;
+            }
+            if (lost > 0) {
+                System.err.println("[Log] Dropped " + lost + " message(s), buffer full");
+            }
+            write(messageLevel, error, format, args);
+            synchronized (LOCK) {
+                head++;
+                LOCK.notifyAll();
+            }
+        }
+    }
+
+    private static void write(Level messageLevel, Throwable error, String format, Object[] args) {
+        PrintStream out = messageLevel.ordinal() >= Level.WARN.ordinal() ? System.err : System.out;
+        try {
+            String text = args == null || args.length == 0 ? format : String.format(format, args);
+            out.print(text.endsWith("\n") ? text : text + System.lineSeparator());
+        } catch (RuntimeException e) {
+            out.println(format);
+        }
+        if (error != null) {
+            error.printStackTrace(out);
+        }
+    }
+}
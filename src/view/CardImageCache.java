@@ -0,0 +1,311 @@
+package view;
+
+import java.awt.BasicStroke;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.SwingUtilities;
+import model.Card;
+import model.CardCatalog;
+import util.Log;
+
+/**
+ * Loads card art in the background and keeps it scaled and ready to paint.
+ * <p>
+ * {@link IconSet#icon(Card)} returns an {@link Icon} at once. Until the art is ready it paints a placeholder
+ * and queues the load; images are decoded on worker threads, scaled once per target size, and the component
+ * that painted the placeholder (or, for a list renderer, the list) is repainted when they arrive.
+ * Scaled images live in an LRU cache bounded by a byte budget. Decoded originals are only softly referenced,
+ * so another size can be scaled without decoding again, yet the garbage collector may drop them under memory
+ * pressure. Art whose file is missing keeps the placeholder and is not retried.
+ */
+public class CardImageCache {
+    private static final int DECODER_THREADS = 2;
+
+    private record Key(String path, int width, int height) {
+    }
+
+    private final long byteBudget;
+    private final ExecutorService decoder;
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<Key, BufferedImage> scaled = new LinkedHashMap<>(64, 0.75f, true); // Guarded by lock
+    private long scaledBytes; // Guarded by lock
+    private final Map<String, SoftReference<BufferedImage>> originals = new HashMap<>(); // Guarded by lock
+    private final Set<String> missing = new HashSet<>(); // Guarded by lock
+    private final Map<Key, Set<Component>> loading = new HashMap<>(); // Guarded by lock; components to repaint
+
+    // Placeholders are drawn once per size; only touched on the EDT
+    private final Map<Long, BufferedImage> placeholders = new HashMap<>();
+
+    /**
+     * @param byteBudget The most memory scaled images may use, counted as 4 bytes per pixel.
+     */
+    public CardImageCache(long byteBudget) {
+        this.byteBudget = byteBudget;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.decoder = Executors.newFixedThreadPool(DECODER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "card-images-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    /**
+     * @param width The width to paint card art at.
+     * @param height The height to paint card art at.
+     * @return The icons for every card at this size; keep it for as long as the size is in use.
+     */
+    public IconSet iconSet(int width, int height) {
+        return new IconSet(width, height);
+    }
+
+    /**
+     * Card art icons at one size. Icons are created once per card template, so renderers can ask for them
+     * on every paint without allocating. Only used on the EDT.
+     */
+    public final class IconSet {
+        private final int width;
+        private final int height;
+        private final Icon[] icons = new Icon[CardCatalog.size()];
+        private final Icon placeholderIcon;
+
+        private IconSet(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.placeholderIcon = new CardArtIcon(null, width, height);
+        }
+
+        /**
+         * @param card The card whose art to show.
+         * @return An icon painting the card's art, or a placeholder until it has loaded.
+         */
+        public Icon icon(Card card) {
+            int id = card.getTemplateId();
+            if (id < 0) {
+                return placeholderIcon;
+            }
+            Icon icon = icons[id];
+            if (icon == null) {
+                icon = new CardArtIcon(new Key(CardCatalog.get(id).getImagePath(), width, height), width, height);
+                icons[id] = icon;
+            }
+            return icon;
+        }
+    }
+
+    /**
+     * @return The memory currently used by scaled images, in bytes.
+     */
+    public long getCachedBytes() {
+        synchronized (lock) {
+            return scaledBytes;
+        }
+    }
+
+    /**
+     * Stops the decoder threads. Icons keep painting whatever is cached.
+     */
+    public void shutdown() {
+        decoder.shutdownNow();
+    }
+
+    private final class CardArtIcon implements Icon {
+        private final Key key;
+        private final int width;
+        private final int height;
+        private BufferedImage placeholder;
+
+        CardArtIcon(Key key, int width, int height) {
+            this.key = key;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            BufferedImage image = key == null ? null : lookup(key, c);
+            if (image == null) {
+                if (placeholder == null) {
+                    placeholder = placeholder(width, height);
+                }
+                image = placeholder;
+            }
+            g.drawImage(image, x, y, null);
+        }
+
+        @Override
+        public int getIconWidth() {
+            return width;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return height;
+        }
+    }
+
+    // Returns the scaled image, or null after queueing its load and remembering c for the repaint
+    private BufferedImage lookup(Key key, Component c) {
+        synchronized (lock) {
+            BufferedImage image = scaled.get(key);
+            if (image != null || missing.contains(key.path())) {
+                return image;
+            }
+            Set<Component> waiting = loading.get(key);
+            if (waiting == null) {
+                waiting = new HashSet<>();
+                loading.put(key, waiting);
+                try {
+                    decoder.execute(() -> load(key));
+                } catch (RuntimeException e) {
+                    loading.remove(key); // Shut down
+                    return null;
+                }
+            }
+            waiting.add(c);
+            return null;
+        }
+    }
+
+    // Runs on a decoder thread
+    private void load(Key key) {
+        BufferedImage original = original(key.path());
+        BufferedImage image = original == null ? null : scale(original, key.width(), key.height());
+        Set<Component> waiting;
+        synchronized (lock) {
+            waiting = loading.remove(key);
+            if (image == null) {
+                missing.add(key.path());
+            } else {
+                put(key, image);
+            }
+        }
+        if (image != null && waiting != null) {
+            SwingUtilities.invokeLater(() -> waiting.forEach(CardImageCache::repaintShowing));
+        }
+    }
+
+    private BufferedImage original(String path) {
+        synchronized (lock) {
+            SoftReference<BufferedImage> ref = originals.get(path);
+            BufferedImage cached = ref == null ? null : ref.get();
+            if (cached != null) {
+                return cached;
+            }
+        }
+        BufferedImage decoded = decode(path);
+        if (decoded != null) {
+            synchronized (lock) {
+                originals.put(path, new SoftReference<>(decoded));
+            }
+        }
+        return decoded;
+    }
+
+    // Reads the image from the working directory, falling back to the classpath (e.g. inside the jar)
+    private static BufferedImage decode(String path) {
+        try {
+            Path file = Path.of(path);
+            if (Files.isRegularFile(file)) {
+                return ImageIO.read(file.toFile());
+            }
+            try (InputStream in = CardImageCache.class.getResourceAsStream("/" + path)) {
+                if (in != null) {
+                    return ImageIO.read(in);
+                }
+            }
+            Log.debug("[Images] No card art at %s", path);
+        } catch (IOException | RuntimeException e) {
+            Log.warn("[Images] Could not decode %s: %s", path, e.getMessage());
+        }
+        return null;
+    }
+
+    private static BufferedImage scale(BufferedImage original, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    // Caller holds lock
+    private void put(Key key, BufferedImage image) {
+        BufferedImage previous = scaled.put(key, image);
+        if (previous != null) {
+            scaledBytes -= bytes(previous);
+        }
+        scaledBytes += bytes(image);
+        Iterator<BufferedImage> eldest = scaled.values().iterator();
+        while (scaledBytes > byteBudget && eldest.hasNext()) {
+            BufferedImage evicted = eldest.next();
+            if (evicted == image) {
+                break; // Always keep the image just loaded
+            }
+            scaledBytes -= bytes(evicted);
+            eldest.remove();
+        }
+    }
+
+    private static long bytes(BufferedImage image) {
+        return 4L * image.getWidth() * image.getHeight();
+    }
+
+    // A renderer component is never showing itself; repaint the list or panel it was painted into
+    private static void repaintShowing(Component c) {
+        Component target = c;
+        while (target != null && !target.isShowing()) {
+            target = target.getParent();
+        }
+        if (target != null) {
+            target.repaint();
+        }
+    }
+
+    private BufferedImage placeholder(int width, int height) {
+        long sizeKey = ((long) width << 32) | (height & 0xffffffffL);
+        BufferedImage image = placeholders.get(sizeKey);
+        if (image == null) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                int arc = Math.max(4, Math.min(width, height) / 6);
+                g.setColor(Palette.PLACEHOLDER_FILL);
+                g.fillRoundRect(0, 0, width - 1, height - 1, arc, arc);
+                g.setColor(Palette.PLACEHOLDER_OUTLINE);
+                g.setStroke(new BasicStroke(1f));
+                g.drawRoundRect(0, 0, width - 1, height - 1, arc, arc);
+            } finally {
+                g.dispose();
+            }
+            placeholders.put(sizeKey, image);
+        }
+        return image;
+    }
+}
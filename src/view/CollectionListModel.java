@@ -0,0 +1,120 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.AbstractListModel;
+import model.Card;
+
+/**
+ * List model for the card collection: one row per distinct card name, in the order the name was first drawn,
+ * with the number of copies owned.
+ * Counts are aggregated as cards are drawn, so opening the collection view costs only the visible rows rather
+ * than a pass over the whole collection. Like any Swing model it must only be used on the EDT.
+ */
+public class CollectionListModel extends AbstractListModel<CollectionListModel.Entry> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * One distinct card and how many copies of it are owned.
+     */
+    public static final class Entry {
+        private final Card card;
+        private int count;
+
+        private Entry(Card card) {
+            this.card = card;
+        }
+
+        /**
+         * @return The first copy drawn, representing every copy.
+         */
+        public Card getCard() {
+            return card;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Integer> indexByName = new HashMap<>();
+    private int totalCards;
+
+    /**
+     * Replaces the collection, e.g. with a deck loaded at login.
+     * @param cards Every card owned, in draw order.
+     */
+    public void reset(Collection<Card> cards) {
+        int oldSize = entries.size();
+        entries.clear();
+        indexByName.clear();
+        totalCards = 0;
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        for (Card card : cards) {
+            count(card);
+        }
+        if (!entries.isEmpty()) {
+            fireIntervalAdded(this, 0, entries.size() - 1);
+        }
+    }
+
+    /**
+     * Adds newly drawn cards. Fires one change event covering the rows whose counts changed
+     * and one add event for the new rows.
+     * @param cards The cards drawn.
+     */
+    public void addAll(Collection<Card> cards) {
+        int firstNew = entries.size();
+        int firstChanged = Integer.MAX_VALUE;
+        int lastChanged = -1;
+        for (Card card : cards) {
+            int index = count(card);
+            if (index < firstNew) {
+                firstChanged = Math.min(firstChanged, index);
+                lastChanged = Math.max(lastChanged, index);
+            }
+        }
+        if (lastChanged >= 0) {
+            fireContentsChanged(this, firstChanged, lastChanged);
+        }
+        if (entries.size() > firstNew) {
+            fireIntervalAdded(this, firstNew, entries.size() - 1);
+        }
+    }
+
+    // Returns the row the card was counted in
+    private int count(Card card) {
+        Integer index = indexByName.get(card.getName());
+        if (index == null) {
+            index = entries.size();
+            indexByName.put(card.getName(), index);
+            entries.add(new Entry(card));
+        }
+        entries.get(index).count++;
+        totalCards++;
+        return index;
+    }
+
+    /**
+     * @return The number of cards owned, counting copies.
+     */
+    public int getTotalCards() {
+        return totalCards;
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public Entry getElementAt(int index) {
+        return entries.get(index);
+    }
+}
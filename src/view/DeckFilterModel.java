@@ -0,0 +1,154 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.AbstractListModel;
+import model.Attribute;
+import model.Card;
+import model.Rarity;
+
+/**
+ * List model showing the player's deck filtered by rarity and attribute.
+ * <p>
+ * One bitset per rarity and per attribute is built once over the deck, so applying a filter is a bitset AND
+ * rather than a scan of the cards. When the filter changes, the old and new visible sets are diffed and only
+ * the rows that actually appeared or disappeared are reported, as runs of added and removed intervals; the
+ * list keeps the selection of cards that stay visible. A diff more fragmented than {@link #MAX_DIFF_EVENTS}
+ * runs is reported as one full replacement instead. Like any Swing model it must only be used on the EDT.
+ */
+public class DeckFilterModel extends AbstractListModel<Card> {
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAX_DIFF_EVENTS = 256;
+
+    private final List<Card> deck;
+    private final Map<Rarity, BitSet> byRarity = new EnumMap<>(Rarity.class);
+    private final Map<Attribute, BitSet> byAttribute = new EnumMap<>(Attribute.class);
+    private final BitSet all;
+
+    private BitSet visible;
+    private int[] rows; // Deck index of each visible row
+
+    /**
+     * Creates the model showing the whole deck.
+     * @param deck The player's cards; copied, so later changes to the list are not seen.
+     */
+    public DeckFilterModel(List<Card> deck) {
+        this.deck = new ArrayList<>(deck);
+        for (Rarity rarity : Rarity.values()) {
+            byRarity.put(rarity, new BitSet(this.deck.size()));
+        }
+        for (Attribute attribute : Attribute.values()) {
+            byAttribute.put(attribute, new BitSet(this.deck.size()));
+        }
+        for (int i = 0; i < this.deck.size(); i++) {
+            Card card = this.deck.get(i);
+            byRarity.get(card.getRarity()).set(i);
+            byAttribute.get(card.getAttribute()).set(i);
+        }
+        all = new BitSet(this.deck.size());
+        all.set(0, this.deck.size());
+        visible = all;
+        rows = toRows(all);
+    }
+
+    /**
+     * Shows only the cards matching both criteria.
+     * @param rarity The rarity to show, or null for any.
+     * @param attribute The attribute to show, or null for any.
+     */
+    public void setFilter(Rarity rarity, Attribute attribute) {
+        BitSet next = (BitSet) (rarity == null ? all : byRarity.get(rarity)).clone();
+        if (attribute != null) {
+            next.and(byAttribute.get(attribute));
+        }
+        BitSet previous = visible;
+        int previousSize = rows.length;
+        visible = next;
+        rows = toRows(next);
+        fireDiff(previous, previousSize, next);
+    }
+
+    /**
+     * Removes the filter.
+     */
+    public void clearFilter() {
+        setFilter(null, null);
+    }
+
+    /**
+     * @param row A row of this model.
+     * @return The card's position in the deck passed to the constructor.
+     */
+    public int getDeckIndex(int row) {
+        return rows[row];
+    }
+
+    @Override
+    public int getSize() {
+        return rows.length;
+    }
+
+    @Override
+    public Card getElementAt(int row) {
+        return deck.get(rows[row]);
+    }
+
+    private static int[] toRows(BitSet set) {
+        int[] result = new int[set.cardinality()];
+        int row = 0;
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            result[row++] = i;
+        }
+        return result;
+    }
+
+    /**
+     * Reports the change from the previous to the next visible set as the added and removed runs that turn
+     * one into the other, in order. Listeners already see the final contents, which is enough for JList:
+     * it only uses the indices to shift its selection and schedule a repaint.
+     */
+    private void fireDiff(BitSet previous, int previousSize, BitSet next) {
+        BitSet changed = (BitSet) previous.clone();
+        changed.xor(next);
+        if (changed.isEmpty()) {
+            return;
+        }
+        // Collect runs first, so an over-fragmented diff can fall back before anything is fired
+        List<int[]> runs = new ArrayList<>(); // {first row, length, 1 if added or 0 if removed}
+        int row = 0; // Row of the current deck index in the list as transformed so far
+        int cursor = 0;
+        for (int start = changed.nextSetBit(0); start >= 0; start = changed.nextSetBit(cursor)) {
+            row += next.get(cursor, start).cardinality(); // Rows kept between the previous run and this one
+            boolean added = next.get(start);
+            int end = start + 1;
+            while (changed.get(end) && next.get(end) == added) {
+                end++;
+            }
+            runs.add(new int[] {row, end - start, added ? 1 : 0});
+            if (runs.size() > MAX_DIFF_EVENTS) {
+                if (previousSize > 0) {
+                    fireIntervalRemoved(this, 0, previousSize - 1);
+                }
+                if (rows.length > 0) {
+                    fireIntervalAdded(this, 0, rows.length - 1);
+                }
+                return;
+            }
+            if (added) {
+                row += end - start;
+            }
+            cursor = end;
+        }
+        for (int[] run : runs) {
+            if (run[2] == 1) {
+                fireIntervalAdded(this, run[0], run[0] + run[1] - 1);
+            } else {
+                fireIntervalRemoved(this, run[0], run[0] + run[1] - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package view;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.swing.AbstractButton;
+import util.Log;
+
+/**
+ * Measures how long the Swing event dispatch thread spends on each event and on named sections such as
+ * panel transitions, and catches stalls as they happen.
+ * <p>
+ * {@link #install()} pushes an event queue that times every dispatched event; button clicks and key presses on
+ * buttons are reported under the button's text. {@link #section(String, Runnable)} times a block of GUI code.
+ * Time spent inside a nested event loop (a modal dialog opened by the code being timed) is excluded, so a
+ * message box left open does not count as a slow action.
+ * A watchdog thread captures the EDT's stack whenever one event runs longer than the stall threshold,
+ * set with {@code -Dcardgame.edt.stallMillis} (default 100).
+ */
+public final class EdtMonitor {
+    public static final String STALL_THRESHOLD_PROPERTY = "cardgame.edt.stallMillis";
+    private static final long STALL_THRESHOLD_NANOS = Long.getLong(STALL_THRESHOLD_PROPERTY, 100) * 1_000_000L;
+    private static final int SAMPLES_PER_NAME = 1024; // Percentiles cover the most recent samples
+    private static final int MAX_STALL_REPORTS = 20;
+    private static final int MAX_DEPTH = 64;
+
+    // Timing stack for nested dispatches and sections; only touched on the EDT
+    private static final long[] starts = new long[MAX_DEPTH];
+    private static final long[] nestedStarts = new long[MAX_DEPTH];
+    private static final long[] nestedEnds = new long[MAX_DEPTH];
+    private static final boolean[] dispatches = new boolean[MAX_DEPTH]; // Event dispatch rather than a section
+    private static final String[] names = new String[MAX_DEPTH];
+    private static int depth;
+
+    private static final Map<String, Samples> samples = new ConcurrentHashMap<>();
+    private static final Deque<String> stallReports = new ArrayDeque<>(); // Guarded by itself
+    private static volatile long busySince; // Start of the innermost running dispatch, 0 while idle
+    private static volatile String busyWith;
+    private static volatile Thread eventThread;
+    private static volatile boolean installed;
+
+    private EdtMonitor() {
+    }
+
+    /**
+     * Latency samples for one event or section name.
+     */
+    private static final class Samples {
+        private final long[] ring = new long[SAMPLES_PER_NAME];
+        private long count;
+        private long max;
+
+        synchronized void add(long nanos) {
+            ring[(int) (count % SAMPLES_PER_NAME)] = nanos;
+            count++;
+            max = Math.max(max, nanos);
+        }
+
+        synchronized String format(String name) {
+            int n = (int) Math.min(count, SAMPLES_PER_NAME);
+            long[] sorted = Arrays.copyOf(ring, n);
+            Arrays.sort(sorted);
+            return String.format("%-40s %8d %8.1f %8.1f %8.1f %8.1f", name, count,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)), millis(max));
+        }
+    }
+
+    /**
+     * Installs the timing event queue and starts the stall watchdog. Safe to call more than once.
+     */
+    public static void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new TimingEventQueue());
+        Thread watchdog = new Thread(EdtMonitor::watch, "edt-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    /**
+     * Runs GUI code as a named, timed section. Calls off the EDT run untimed.
+     * @param name The section name, e.g. the method being timed.
+     * @param work The code to time.
+     */
+    public static void section(String name, Runnable work) {
+        if (!EventQueue.isDispatchThread() || depth >= MAX_DEPTH) {
+            work.run();
+            return;
+        }
+        begin(name, false);
+        try {
+            work.run();
+        } finally {
+            end(name);
+        }
+    }
+
+    private static void begin(String name, boolean dispatch) {
+        long now = System.nanoTime();
+        if (dispatch) {
+            // A dispatch inside another frame means a nested event loop is running; every enclosing frame excludes it
+            for (int i = 0; i < depth; i++) {
+                if (nestedStarts[i] == 0) {
+                    nestedStarts[i] = now;
+                }
+            }
+        }
+        starts[depth] = now;
+        nestedStarts[depth] = 0;
+        nestedEnds[depth] = 0;
+        dispatches[depth] = dispatch;
+        names[depth] = name;
+        depth++;
+        eventThread = Thread.currentThread();
+        busyWith = name;
+        busySince = now;
+    }
+
+    private static void end(String name) {
+        long now = System.nanoTime();
+        depth--;
+        long elapsed = now - starts[depth];
+        if (nestedStarts[depth] != 0) {
+            // Drop the time spent in a nested event loop, e.g. waiting on a modal dialog
+            elapsed -= nestedEnds[depth] - nestedStarts[depth];
+        }
+        if (dispatches[depth]) {
+            for (int i = 0; i < depth; i++) {
+                nestedEnds[i] = now;
+            }
+        }
+        if (depth > 0 && !dispatches[depth]) {
+            // A section ended and the enclosing frame is still running; restart the stall clock from here,
+            // since the enclosing frame may have spent a long time in a modal dialog
+            busyWith = names[depth - 1];
+            busySince = now;
+        } else {
+            // Idle, or back in the nested event loop of an enclosing frame
+            busySince = 0;
+        }
+        names[depth] = null;
+        samples.computeIfAbsent(name, key -> new Samples()).add(elapsed);
+    }
+
+    /**
+     * Event queue that times each dispatched event.
+     */
+    private static final class TimingEventQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            if (depth >= MAX_DEPTH) {
+                super.dispatchEvent(event);
+                return;
+            }
+            String name = nameOf(event);
+            begin(name, true);
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                end(name);
+            }
+        }
+    }
+
+    // Clicks and key presses on buttons are named after the button, so each action gets its own line
+    private static String nameOf(AWTEvent event) {
+        Object source = event.getSource();
+        if (source instanceof AbstractButton button
+                && (event.getID() == MouseEvent.MOUSE_RELEASED || event.getID() == KeyEvent.KEY_RELEASED)) {
+            String text = button.getText();
+            return "action: " + (text == null || text.isEmpty() ? button.getClass().getSimpleName() : text);
+        }
+        return "event: " + event.getClass().getSimpleName();
+    }
+
+    private static void watch() {
+        long reportedStart = 0;
+        long sleepMillis = Math.max(10, STALL_THRESHOLD_NANOS / 2_000_000L);
+        while (true) {
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long start = busySince;
+            Thread thread = eventThread;
+            if (start == 0 || thread == null || start == reportedStart) {
+                continue;
+            }
+            long stalled = System.nanoTime() - start;
+            if (stalled < STALL_THRESHOLD_NANOS) {
+                continue;
+            }
+            reportedStart = start;
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("%s EDT stalled %.0f ms in %s%n", LocalDateTime.now(), millis(stalled), busyWith));
+            for (StackTraceElement frame : thread.getStackTrace()) {
+                report.append("    at ").append(frame).append(System.lineSeparator());
+            }
+            Log.warn("[EDT] " + report);
+            synchronized (stallReports) {
+                if (stallReports.size() == MAX_STALL_REPORTS) {
+                    stallReports.removeFirst();
+                }
+                stallReports.addLast(report.toString());
+            }
+        }
+    }
+
+    /**
+     * @return A text report of latency percentiles per event and section, followed by the latest stalls.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("EDT latency (ms), excluding time in modal dialogs%n"));
+        report.append(String.format("%-40s %8s %8s %8s %8s %8s%n", "name", "count", "p50", "p90", "p99", "max"));
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(samples).entrySet()) {
+            report.append(entry.getValue().format(entry.getKey())).append(System.lineSeparator());
+        }
+        List<String> stalls;
+        synchronized (stallReports) {
+            stalls = new ArrayList<>(stallReports);
+        }
+        report.append(String.format("%nStalls over %d ms: %d%n", STALL_THRESHOLD_NANOS / 1_000_000L, stalls.size()));
+        for (String stall : stalls) {
+            report.append(stall).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes {@link #report()} to a file.
+     * @param file The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void dump(Path file) throws IOException {
+        Files.writeString(file, report(), StandardCharsets.UTF_8);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,58 @@
+package view;
+
+import java.awt.Font;
+
+/**
+ * Shared, pre-derived fonts for the Swing views.
+ * Fonts are immutable, so every component and renderer can share one instance per style and size instead of
+ * constructing a new {@link Font} each time, which matters most in cell renderers that run on every repaint.
+ */
+public final class Fonts {
+    public static final String FAMILY = "Microsoft JhengHei UI";
+    private static final int MIN_SIZE = 8;
+    private static final int MAX_SIZE = 48;
+
+    /** Text-only icons such as the theme notification's sun and moon. */
+    public static final Font ICON = new Font(Font.DIALOG, Font.BOLD, 24);
+    /** Fixed-width text such as reports. */
+    public static final Font MONOSPACED = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    // Indexed by style (PLAIN, BOLD, ITALIC, BOLD | ITALIC), then size - MIN_SIZE
+    private static final Font[][] CACHE = new Font[4][MAX_SIZE - MIN_SIZE + 1];
+
+    static {
+        Font base = new Font(FAMILY, Font.PLAIN, 12);
+        for (int style = 0; style < CACHE.length; style++) {
+            for (int size = MIN_SIZE; size <= MAX_SIZE; size++) {
+                CACHE[style][size - MIN_SIZE] = base.deriveFont(style, (float) size);
+            }
+        }
+    }
+
+    private Fonts() {
+    }
+
+    /**
+     * @param style {@link Font#PLAIN}, {@link Font#BOLD}, {@link Font#ITALIC} or {@code BOLD | ITALIC}.
+     * @param size The point size.
+     * @return The shared game font with this style and size.
+     */
+    public static Font get(int style, int size) {
+        if (style < 0 || style >= CACHE.length || size < MIN_SIZE || size > MAX_SIZE) {
+            return new Font(FAMILY, style, size); // Outside the pre-derived range; not expected in the views
+        }
+        return CACHE[style][size - MIN_SIZE];
+    }
+
+    public static Font plain(int size) {
+        return get(Font.PLAIN, size);
+    }
+
+    public static Font bold(int size) {
+        return get(Font.BOLD, size);
+    }
+
+    public static Font italic(int size) {
+        return get(Font.ITALIC, size);
+    }
+}
@@ -1,28 +1,45 @@
 package view;
 
 import controller.GameController;
+import model.Attribute;
 import model.Card;
+import model.DrawSession;
+import model.MatchRecord;
 import model.Player; // Import Player for stats
+import model.Rarity;
 import service.BattleService.BattleResult;
+import database.AsyncRecordGateway;
 import database.GameRecordService; // Import GameRecordService
+import database.GameRepository;
+import database.InMemoryGameRepository;
+import database.PlayerStateCache;
+import database.LeaderboardKey;
+import service.LeaderboardService;
+import util.Log;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
-import java.util.LinkedHashMap;
 import java.util.ArrayList;
 import java.util.Comparator;
 import javax.swing.JProgressBar;
 import java.awt.event.KeyEvent;
+import javax.swing.border.Border;
 import javax.swing.plaf.FontUIResource;
 import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
-import javax.swing.SwingWorker;
 
 /**
  * GUI-based interface for the game using Swing.
@@ -30,7 +47,7 @@ import javax.swing.SwingWorker;
 @SuppressWarnings("unused")
 public class GameGUI extends JFrame {
     private final GameController gameController;
-    private boolean isDarkTheme = false; // 追蹤當前使用的是否為暗色主題
+    private Theme currentTheme = Theme.LIGHT; // 當前使用的主題
     private JTextArea gameLog;
     private JPanel cardPanel;
     private JLabel scoreLabel;
@@ -44,9 +61,16 @@ public class GameGUI extends JFrame {
     private final JPanel lobbyPanel; // Panel for the game lobby
     private final JPanel drawOptionsPanel; // Panel for choosing single or ten draw
     private final JPanel selectionPanel; // Panel for selecting battle cards
-    private DefaultListModel<String> deckListModel;
-    private JList<String> deckList;
-    private GameRecordService recordService;  // Database service for users and records
+    private DeckFilterModel deckListModel;
+    private JList<Card> deckList;
+    private final AsyncRecordGateway records; // 所有資料庫操作都經由此閘道在背景執行緒執行，結果回到 EDT
+    private final PlayerStateCache playerCache; // 玩家數值的回寫快取
+    private final LeaderboardService leaderboard = new LeaderboardService(); // 記憶體中的積分排行榜
+    private final CollectionListModel collection = new CollectionListModel(); // 牌組列表模型，隨抽卡累計
+    private final CardImageCache cardImages = new CardImageCache(CARD_IMAGE_BUDGET_BYTES); // 卡圖在背景解碼與縮放
+    private final CardImageCache.IconSet revealArt = cardImages.iconSet(64, 64); // 抽卡結果卡圖
+    private final CardImageCache.IconSet collectionArt = cardImages.iconSet(40, 40); // 牌組列表卡圖
+    private final OverlayAnimator overlay = new OverlayAnimator(); // 勝負與抽卡動畫，畫在 glass pane 上
     private Player currentPlayer; // Changed from String to Player
     private JLabel playerLevelLabel; // Label for player level
     private JLabel playerXpLabel;   // Label for player XP
@@ -60,6 +84,7 @@ public class GameGUI extends JFrame {
     
     // 追蹤當前顯示的面板
     private String currentPanelName = "Login"; // 預設為登入面板
+    private final Set<String> builtPanels = new HashSet<>(); // 已建構的延遲面板
 
     // Fields for login panel components that need to be accessed by LoginWorker
     private JTextField usernameField;
@@ -68,13 +93,40 @@ public class GameGUI extends JFrame {
     private JButton loginButton;
 
 
+    private static final long PLAYER_FLUSH_INTERVAL_MS = 30_000; // 玩家數值定期寫回資料庫的間隔
+    private static final int COLLECTION_ROW_HEIGHT = 52; // 牌組列表固定列高
+    private static final int COLLECTION_ROW_WIDTH = 540; // 牌組列表固定列寬
+    private static final int COLLECTION_NAME_WIDTH = 200; // 牌組列表名稱欄寬（含卡圖）
+    private static final long CARD_IMAGE_BUDGET_BYTES = 16L * 1024 * 1024; // 縮放後卡圖的記憶體上限
+    private static final int SELECTION_ROW_HEIGHT = 30; // 選卡列表固定列高
+    private static final int SELECTION_ROW_WIDTH = 500; // 選卡列表固定列寬
+    private static final String EDT_REPORT_FILENAME = "edt-report.txt"; // 效能報告輸出檔
+
     /**
      * Constructor for GameGUI.
      */
     public GameGUI() {
         gameController = new GameController(new Player("Player", 1, 0, 100));
         gameController.startGame();
-        recordService = new GameRecordService(); // 初始化資料庫和表格        // 設置基本窗口属性
+        // -Dcardgame.db.inMemory=true 時改用記憶體儲存，不讀寫資料庫檔案，也不使用玩家數值日誌
+        boolean inMemory = Boolean.getBoolean(InMemoryGameRepository.PROPERTY);
+        Supplier<GameRepository> repository = inMemory ? InMemoryGameRepository::new : GameRecordService::new;
+        records = new AsyncRecordGateway(repository, SwingUtilities::invokeLater); // 在背景初始化資料庫和表格
+        records.run(service -> { }).whenComplete((ignored, error) -> StartupTrace.mark(StartupTrace.DATABASE_READY));
+        Path journal = inMemory ? null : GameRecordService.DATA_DIR.resolve(PlayerStateCache.JOURNAL_FILENAME);
+        playerCache = new PlayerStateCache(records, journal, PLAYER_FLUSH_INTERVAL_MS);
+        // 積分排行榜隨積分變動與玩家資料保存即時更新，啟動時在背景載入所有玩家
+        gameController.setLeaderboard(leaderboard);
+        records.run(service -> {
+            service.addPlayerSaveListener(leaderboard::update);
+            leaderboard.warm(service.loadAllPlayers());
+        });
+        // 設置統一字體（與主題無關，只需設置一次）
+        setUIFont(new FontUIResource(Fonts.plain(12)));
+        // 元件建構前先寫入主題預設值，啟動時不需要再走訪整個元件樹
+        currentTheme.install();
+        setGlassPane(overlay);
+        // 設置基本窗口属性
         setTitle("卡牌對決：元素抽卡競技場");
         setSize(900, 650);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
@@ -91,7 +143,13 @@ public class GameGUI extends JFrame {
 
         // 主面板使用CardLayout布局
         cardLayout = new CardLayout(); // Initialize cardLayout
-        mainPanel = new JPanel(cardLayout); // Use initialized cardLayout
+        mainPanel = new JPanel(cardLayout) { // Use initialized cardLayout
+            @Override
+            public void paint(Graphics g) {
+                super.paint(g);
+                StartupTrace.mark(StartupTrace.FIRST_FRAME);
+            }
+        };
         add(mainPanel);
 
         // 初始化组件
@@ -105,26 +163,13 @@ public class GameGUI extends JFrame {
         loginPanel = new JPanel(new BorderLayout());
         initializeLoginPanel();
 
-        // 初始化大廳面板
+        // 其餘面板在第一次顯示時才建構（見 ensurePanelBuilt），大廳、抽卡結果與選卡面板每次顯示都會重建
         lobbyPanel = new JPanel(new GridLayout(3, 1));
-        initializeLobbyPanel();
-
-        // 初始化抽卡選項面板
         drawOptionsPanel = new JPanel(new GridLayout(3, 1));
-        initializeDrawOptionsPanel();
-
-        // 初始化抽卡結果面板
         drawCardPanel = new JPanel(new BorderLayout());
-        initializeDrawCardPanel();        // 初始化對戰面板
         battlePanel = new JPanel(new BorderLayout());
-        initializeBattlePanel();
-
-        // 初始化卡牌選擇面板 - 先不調用initializeSelectionPanel，在showSelectionPanel中完整初始化
         selectionPanel = new JPanel(new BorderLayout());
-
-        // 初始化排行榜面板
         rankingPanel = new JPanel(new BorderLayout());
-        initializeRankingPanel();
 
         // 將各個面板添加到主面板
         mainPanel.add(loginPanel, "Login");
@@ -135,12 +180,22 @@ public class GameGUI extends JFrame {
         mainPanel.add(battlePanel, "Battle");
         mainPanel.add(rankingPanel, "Ranking");        // 首先顯示登入面板
         showLoginPanel();
-        
-        // 設置菜單欄
-        setJMenuBar(createMenuBar());
-        
-        // 初始應用明亮主題
-        applyTheme("light");
+        StartupTrace.mark(StartupTrace.CONSTRUCTED);
+    }
+
+    /**
+     * 第一次顯示面板時才建構其內容，縮短啟動到登入畫面的時間
+     */
+    private void ensurePanelBuilt(String panelName) {
+        if (!builtPanels.add(panelName)) {
+            return;
+        }
+        switch (panelName) {
+            case "DrawOptions": initializeDrawOptionsPanel(); break;
+            case "Battle": initializeBattlePanel(); break;
+            case "Ranking": initializeRankingPanel(); break;
+            default: break;
+        }
     }
     
     /**
@@ -178,7 +233,7 @@ public class GameGUI extends JFrame {
         
         // 標題
         JLabel titleLabel = new JLabel("卡牌對決：元素抽卡競技場", SwingConstants.CENTER);
-        titleLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 24));
+        titleLabel.setFont(Fonts.bold(24));
         gbc.gridx = 0;
         gbc.gridy = 0;
         gbc.gridwidth = 2;
@@ -186,39 +241,39 @@ public class GameGUI extends JFrame {
         
         // 副標題
         JLabel subtitleLabel = new JLabel("歡迎來到遊戲世界", SwingConstants.CENTER);
-        subtitleLabel.setFont(new Font("Microsoft JhengHei UI", Font.ITALIC, 16));
+        subtitleLabel.setFont(Fonts.italic(16));
         subtitleLabel.setBorder(BorderFactory.createEmptyBorder(5, 0, 20, 0));
         gbc.gridy = 1;
         loginPanel.add(subtitleLabel, gbc);
         
         // 使用者名稱標籤和文本框
         JLabel usernameLabel = new JLabel("使用者名稱:");
-        usernameLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        usernameLabel.setFont(Fonts.plain(14));
         gbc.gridx = 0;
         gbc.gridy = 2;
         gbc.gridwidth = 1;
         loginPanel.add(usernameLabel, gbc);
         
         usernameField = new JTextField(20); // Assign to field
-        usernameField.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        usernameField.setFont(Fonts.plain(14));
         gbc.gridx = 1;
         loginPanel.add(usernameField, gbc);
         
         // 密碼標籤和文本框
         JLabel passwordLabel = new JLabel("密碼:");
-        passwordLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        passwordLabel.setFont(Fonts.plain(14));
         gbc.gridx = 0;
         gbc.gridy = 3;
         loginPanel.add(passwordLabel, gbc);
         
         passwordField = new JPasswordField(20); // Assign to field
-        passwordField.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        passwordField.setFont(Fonts.plain(14));
         gbc.gridx = 1;
         loginPanel.add(passwordField, gbc);
         
         // 登入狀態標籤
         statusLabel = new JLabel("請輸入您的帳號和密碼"); // Assign to field
-        statusLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 12));
+        statusLabel.setFont(Fonts.plain(12));
         statusLabel.setForeground(Color.GRAY);
         gbc.gridx = 0;
         gbc.gridy = 4;
@@ -235,8 +290,11 @@ public class GameGUI extends JFrame {
             // Optionally, show a loading indicator here
             statusLabel.setText("正在登入...");
 
-            LoginWorker worker = new LoginWorker(username, password);
-            worker.execute();
+            // 登入與載入卡片收藏都在資料庫執行緒完成，結果回到 EDT 更新介面
+            records.call(service -> {
+                Player player = service.loginUser(username, password);
+                return player != null ? Map.entry(player, service.loadDeck(player.getUsername())) : null;
+            }).whenComplete((login, error) -> finishLogin(login, error));
         });
         
         // 註冊新帳號按鈕
@@ -245,11 +303,13 @@ public class GameGUI extends JFrame {
             if (user != null && !user.isEmpty()) {
                 String pass = JOptionPane.showInputDialog(this, "請輸入密碼:");
                 if (pass != null && !pass.isEmpty()) { 
-                    if (recordService.registerUser(user, pass)) {
-                        JOptionPane.showMessageDialog(this, "註冊成功！請登入。");
-                    } else {
-                        JOptionPane.showMessageDialog(this, "使用者名稱已存在。", "錯誤", JOptionPane.ERROR_MESSAGE);
-                    }
+                    records.call(service -> service.registerUser(user, pass)).thenAccept(registered -> {
+                        if (registered) {
+                            JOptionPane.showMessageDialog(this, "註冊成功！請登入。");
+                        } else {
+                            JOptionPane.showMessageDialog(this, "使用者名稱已存在。", "錯誤", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
             }
         });
@@ -276,7 +336,7 @@ public class GameGUI extends JFrame {
         // 底部版權資訊
         JPanel footerPanel = new JPanel();
         JLabel footerLabel = new JLabel("© 2025 卡牌遊戲公司。保留所有權利。", SwingConstants.CENTER);
-        footerLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 12));
+        footerLabel.setFont(Fonts.plain(12));
         footerLabel.setForeground(Color.GRAY);
         footerPanel.add(footerLabel);
         
@@ -296,7 +356,7 @@ public class GameGUI extends JFrame {
         // 頂部標題面板
         JPanel titlePanel = new JPanel();
         JLabel titleLabel = new JLabel("遊戲大廳", SwingConstants.CENTER);
-        titleLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 24));
+        titleLabel.setFont(Fonts.bold(24));
         titlePanel.add(titleLabel);
         lobbyPanel.add(titlePanel, BorderLayout.NORTH);
 
@@ -348,9 +408,7 @@ public class GameGUI extends JFrame {
             BorderFactory.createEtchedBorder(), "系統功能"));
             
         JButton logoutButton = createStyledButton("登出", e -> {
-            if (currentPlayer != null) { // Check if currentPlayer is not null
-                recordService.savePlayerData(currentPlayer); // Save player data before logging out
-            }
+            flushPlayerState(); // Save player data before logging out
             currentPlayer = null; 
             JOptionPane.showMessageDialog(this, "您已成功登出。", "登出", JOptionPane.INFORMATION_MESSAGE);
             showLoginPanel();
@@ -363,10 +421,22 @@ public class GameGUI extends JFrame {
                 int confirm = JOptionPane.showConfirmDialog(this,
                     "警告：此操作將清除所有遊戲紀錄、卡牌和玩家資料（除了admin帳號）！\\n確定要初始化資料庫嗎？", "高風險操作確認", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
                 if (confirm == JOptionPane.YES_OPTION) {
-                    boolean recordsCleared = recordService.clearDatabaseByType(currentPlayer.getUsername(), "records");
-                    boolean cardsCleared = recordService.clearDatabaseByType(currentPlayer.getUsername(), "cards");
-                    boolean usersCleared = recordService.clearAllRegisteredUsers(currentPlayer.getUsername());
-
+                    String admin = currentPlayer.getUsername();
+                    playerCache.discardAllExcept(admin);
+                    records.call(service -> {
+                        boolean[] cleared = {
+                            service.clearDatabaseByType(admin, "records"),
+                            service.clearDatabaseByType(admin, "cards"),
+                            service.clearAllRegisteredUsers(admin)
+                        };
+                        if (cleared[2]) {
+                            leaderboard.reset(service.loadAllPlayers());
+                        }
+                        return cleared;
+                    }).thenAccept(cleared -> {
+                    boolean recordsCleared = cleared[0];
+                    boolean cardsCleared = cleared[1];
+                    boolean usersCleared = cleared[2];
                     if (recordsCleared && cardsCleared && usersCleared) {
                         JOptionPane.showMessageDialog(this, "資料庫已成功初始化。", "成功", JOptionPane.INFORMATION_MESSAGE);
                     } else {
@@ -376,6 +446,7 @@ public class GameGUI extends JFrame {
                         if (!usersCleared) errorMessage.append("- 清除用戶資料失敗\\n");
                         JOptionPane.showMessageDialog(this, errorMessage.toString(), "錯誤", JOptionPane.ERROR_MESSAGE);
                     }
+                    });
                 }
             });
             adminPanel.add(initDbButton);
@@ -384,11 +455,14 @@ public class GameGUI extends JFrame {
                 int confirm = JOptionPane.showConfirmDialog(this,
                     "確定要清除所有遊戲紀錄嗎？", "確認", JOptionPane.YES_NO_OPTION);
                 if (confirm == JOptionPane.YES_OPTION) {
-                    if (recordService.clearDatabaseByType(currentPlayer.getUsername(), "records")) { // Fix: Use currentPlayer.getUsername()
-                        JOptionPane.showMessageDialog(this, "所有遊戲紀錄已清除。", "成功", JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        JOptionPane.showMessageDialog(this, "遊戲紀錄清除失敗。", "錯誤", JOptionPane.ERROR_MESSAGE);
-                    }
+                    String admin = currentPlayer.getUsername();
+                    records.call(service -> service.clearDatabaseByType(admin, "records")).thenAccept(cleared -> {
+                        if (cleared) {
+                            JOptionPane.showMessageDialog(this, "所有遊戲紀錄已清除。", "成功", JOptionPane.INFORMATION_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(this, "遊戲紀錄清除失敗。", "錯誤", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
             });
             adminPanel.add(clearRecordsButton);
@@ -397,11 +471,14 @@ public class GameGUI extends JFrame {
                 int confirm = JOptionPane.showConfirmDialog(this,
                     "確定要清除所有卡牌嗎？", "確認", JOptionPane.YES_NO_OPTION);
                 if (confirm == JOptionPane.YES_OPTION) {
-                    if (recordService.clearDatabaseByType(currentPlayer.getUsername(), "cards")) { // Fix: Use currentPlayer.getUsername()
-                        JOptionPane.showMessageDialog(this, "所有卡牌已清除。", "成功", JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        JOptionPane.showMessageDialog(this, "卡牌清除失敗。", "錯誤", JOptionPane.ERROR_MESSAGE);
-                    }
+                    String admin = currentPlayer.getUsername();
+                    records.call(service -> service.clearDatabaseByType(admin, "cards")).thenAccept(cleared -> {
+                        if (cleared) {
+                            JOptionPane.showMessageDialog(this, "所有卡牌已清除。", "成功", JOptionPane.INFORMATION_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(this, "卡牌清除失敗。", "錯誤", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
             });
             adminPanel.add(clearCardsButton);
@@ -410,11 +487,21 @@ public class GameGUI extends JFrame {
                 int confirm = JOptionPane.showConfirmDialog(this,
                     "警告：此操作將刪除所有已註冊的用戶帳號（除了admin帳號）及其相關資料！\\n確定要清除所有已註冊用戶嗎？", "高風險操作確認", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
                 if (confirm == JOptionPane.YES_OPTION) {
-                    if (recordService.clearAllRegisteredUsers(currentPlayer.getUsername())) {
-                        JOptionPane.showMessageDialog(this, "所有已註冊用戶（除了admin）已成功清除。", "成功", JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        JOptionPane.showMessageDialog(this, "清除已註冊用戶失敗。", "錯誤", JOptionPane.ERROR_MESSAGE);
-                    }
+                    String admin = currentPlayer.getUsername();
+                    playerCache.discardAllExcept(admin);
+                    records.call(service -> {
+                        boolean cleared = service.clearAllRegisteredUsers(admin);
+                        if (cleared) {
+                            leaderboard.reset(service.loadAllPlayers());
+                        }
+                        return cleared;
+                    }).thenAccept(cleared -> {
+                        if (cleared) {
+                            JOptionPane.showMessageDialog(this, "所有已註冊用戶（除了admin）已成功清除。", "成功", JOptionPane.INFORMATION_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(this, "清除已註冊用戶失敗。", "錯誤", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
             });
             adminPanel.add(clearUsersButton);
@@ -452,12 +539,12 @@ public class GameGUI extends JFrame {
         gbcStats.gridx = 0;
         gbcStats.gridwidth = 1;
         playerLevelLabel = new JLabel();
-        playerLevelLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        playerLevelLabel.setFont(Fonts.plain(14));
         statsPanel.add(playerLevelLabel, gbcStats);
         
         gbcStats.gridx = 1;
         playerXpLabel = new JLabel();
-        playerXpLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        playerXpLabel.setFont(Fonts.plain(14));
         statsPanel.add(playerXpLabel, gbcStats);
         
         // 第二行 - XP進度條
@@ -478,12 +565,12 @@ public class GameGUI extends JFrame {
         gbcStats.weightx = 0;
         gbcStats.fill = GridBagConstraints.NONE;
         playerCurrencyLabel = new JLabel();
-        playerCurrencyLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        playerCurrencyLabel.setFont(Fonts.plain(14));
         statsPanel.add(playerCurrencyLabel, gbcStats);
         
         gbcStats.gridx = 1;
         playerRatingLabel = new JLabel();
-        playerRatingLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        playerRatingLabel.setFont(Fonts.plain(14));
         statsPanel.add(playerRatingLabel, gbcStats);
         
         return statsPanel;
@@ -494,7 +581,7 @@ public class GameGUI extends JFrame {
      */
     private JButton createStyledButton(String text, ActionListener listener) {
         JButton button = new JButton(text);
-        button.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        button.setFont(Fonts.plain(14));
         button.setMargin(new Insets(10, 20, 10, 20));
         button.addActionListener(listener);
         return button;
@@ -509,7 +596,7 @@ public class GameGUI extends JFrame {
         // 標題面板
         JPanel titlePanel = new JPanel();
         JLabel titleLabel = new JLabel("抽卡系統", SwingConstants.CENTER);
-        titleLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 24));
+        titleLabel.setFont(Fonts.bold(24));
         titlePanel.add(titleLabel);
         drawOptionsPanel.add(titlePanel, BorderLayout.NORTH);
         
@@ -524,9 +611,15 @@ public class GameGUI extends JFrame {
         gbc.weightx = 1.0;
           JButton singleDraw = createStyledButton("單抽", e -> { 
             Card newCard = gameController.drawCard();
+            if (newCard == null) {
+                JOptionPane.showMessageDialog(this, "貨幣不足，無法抽卡。", "單抽結果", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
             if (currentPlayer != null) { // Fix: Check if currentPlayer is not null
-                recordService.saveCardToDeck(currentPlayer.getUsername(), newCard); // Fix: Use currentPlayer.getUsername()
+                // 卡片與剩餘貨幣在同一交易中保存
+                saveDrawAsync(List.of(newCard));
             }
+            collection.addAll(List.of(newCard));
             
             // 顯示抽卡動畫
             showAnimationEffect("card_draw");
@@ -540,10 +633,15 @@ public class GameGUI extends JFrame {
             showAnimationEffect("card_draw");
             
             List<Card> newCards = gameController.drawMultiple(10);
-            for (Card card : newCards) {
-                if (currentPlayer != null) // Fix: Check if currentPlayer is not null
-                    recordService.saveCardToDeck(currentPlayer.getUsername(), card); // Fix: Use currentPlayer.getUsername()
+            if (newCards == null) {
+                JOptionPane.showMessageDialog(this, "貨幣不足，無法進行十連抽。", "十連抽", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            if (currentPlayer != null) { // Fix: Check if currentPlayer is not null
+                // 十張卡片與剩餘貨幣以單一批次交易保存
+                saveDrawAsync(newCards);
             }
+            collection.addAll(newCards);
             updateCardButtons();
             showDrawCardPanel();
         });
@@ -559,7 +657,7 @@ public class GameGUI extends JFrame {
         // 底部說明面板
         JPanel infoPanel = new JPanel();
         JLabel infoLabel = new JLabel("每日首次抽卡可獲得額外獎勵！", SwingConstants.CENTER);
-        infoLabel.setFont(new Font("Microsoft JhengHei UI", Font.ITALIC, 14));
+        infoLabel.setFont(Fonts.italic(14));
         infoPanel.add(infoLabel);
         drawOptionsPanel.add(infoPanel, BorderLayout.SOUTH);
         
@@ -581,9 +679,9 @@ public class GameGUI extends JFrame {
         // 頂部面板 - 顯示分數和回合
         JPanel topPanel = new JPanel(new GridLayout(1, 3));
         scoreLabel = new JLabel("玩家: 0 | 電腦: 0", SwingConstants.CENTER);
-        scoreLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 16));
+        scoreLabel.setFont(Fonts.plain(16));
         roundLabel = new JLabel("回合: 1/10", SwingConstants.CENTER);
-        roundLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 16));
+        roundLabel.setFont(Fonts.plain(16));
         JButton backToLobbyFromBattle = createStyledButton("返回大廳", e -> { showLobbyPanel(); });
         
         topPanel.add(scoreLabel);
@@ -594,7 +692,7 @@ public class GameGUI extends JFrame {
         // 中央面板 - 遊戲日誌
         gameLog = new JTextArea();
         gameLog.setEditable(false);
-        gameLog.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        gameLog.setFont(Fonts.plain(14));
         gameLog.setMargin(new Insets(10, 10, 10, 10));
         JScrollPane scrollPane = new JScrollPane(gameLog);
         scrollPane.setBorder(BorderFactory.createTitledBorder(
@@ -635,16 +733,16 @@ public class GameGUI extends JFrame {
                     card.getAttribute(),
                     card.getBasePower());
             JButton cardButton = new JButton(buttonText);
-            cardButton.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 12));
+            cardButton.setFont(Fonts.plain(12));
             
             // 根據稀有度設置邊框顏色
             String rarity = card.getRarity().toString();
             if (rarity.equals("LEGENDARY")) {
-                cardButton.setBackground(new Color(255, 250, 205)); // 淺金色
+                cardButton.setBackground(Palette.LIGHT_GOLD_BG); // 淺金色
             } else if (rarity.equals("RARE")) {
-                cardButton.setBackground(new Color(230, 230, 250)); // 淺藍色
+                cardButton.setBackground(Palette.LIGHT_BLUE_BG); // 淺藍色
             } else if (rarity.equals("UNCOMMON")) {
-                cardButton.setBackground(new Color(240, 255, 240)); // 淺綠色
+                cardButton.setBackground(Palette.LIGHT_GREEN_BG); // 淺綠色
             }
             
             int cardIndex = index++;
@@ -669,6 +767,7 @@ public class GameGUI extends JFrame {
             Card computerCard = gameController.getComputerCards().get(0); // 假設電腦選擇第一張
 
             BattleResult result = gameController.playRound(playerCardIndex);
+            cachePlayerState(currentPlayer); // 每回合的經驗與貨幣變動先寫入快取，定期合併保存
 
             // 更新電腦卡牌顯示
             computerCardPanel.removeAll();
@@ -678,18 +777,18 @@ public class GameGUI extends JFrame {
                     computerCard.getAttribute(),
                     computerCard.getBasePower());
             JLabel computerCardLabel = new JLabel(computerCardText, SwingConstants.CENTER);
-            computerCardLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+            computerCardLabel.setFont(Fonts.plain(14));
             // 添加背景色以增強視覺效果
             String rarity = computerCard.getRarity().toString();
             if (rarity.equals("LEGENDARY")) {
                 computerCardLabel.setOpaque(true);
-                computerCardLabel.setBackground(new Color(255, 250, 205)); // 淺金色
+                computerCardLabel.setBackground(Palette.LIGHT_GOLD_BG); // 淺金色
             } else if (rarity.equals("RARE")) {
                 computerCardLabel.setOpaque(true);
-                computerCardLabel.setBackground(new Color(230, 230, 250)); // 淺藍色
+                computerCardLabel.setBackground(Palette.LIGHT_BLUE_BG); // 淺藍色
             } else if (rarity.equals("UNCOMMON")) {
                 computerCardLabel.setOpaque(true);
-                computerCardLabel.setBackground(new Color(240, 255, 240)); // 淺綠色
+                computerCardLabel.setBackground(Palette.LIGHT_GREEN_BG); // 淺綠色
             }
             computerCardPanel.add(computerCardLabel);
             computerCardPanel.revalidate();
@@ -766,13 +865,16 @@ public class GameGUI extends JFrame {
 
         // 將記錄保存到資料庫
         if (currentPlayer != null) { // Fix: Check if currentPlayer is not null
-            recordService.saveRecord(currentPlayer.getUsername(), "Player", gameController.getPlayerScore(), gameController.getComputerScore()); // Fix: Use currentPlayer.getUsername()
-            gameLog.append("遊戲記錄已保存。\n");
+            String username = currentPlayer.getUsername();
+            int wins = gameController.getPlayerScore();
+            int losses = gameController.getComputerScore();
+            records.run(service -> service.saveRecord(username, "Player", wins, losses))
+                .thenRun(() -> gameLog.append("遊戲記錄已保存。\n"));
         }
 
         // 根據勝負應用評分變更並保存
         gameController.applyRatingChange();
-        recordService.savePlayerData(gameController.getCurrentPlayer());
+        cachePlayerState(gameController.getCurrentPlayer());
         updatePlayerStatsDisplay();
 
         JOptionPane.showMessageDialog(this, "遊戲結束! 勝利者: " + winnerText + "\n" + finalScore, "遊戲結束", JOptionPane.INFORMATION_MESSAGE);
@@ -798,110 +900,17 @@ public class GameGUI extends JFrame {
     }
 
     private void addHistoryButton() {
-        JButton historyButton = createStyledButton("查看歷史", e -> {
-            // 使用 GameRecordService 的方法來查詢對戰紀錄
-            if (currentPlayer != null) { // Fix: Check if currentPlayer is not null
-                List<String> records = recordService.getAllRecords(currentPlayer.getUsername()); // Fix: Use currentPlayer.getUsername()
-                if (records.isEmpty()) {
-                    JOptionPane.showMessageDialog(this, 
-                        "用戶 " + currentPlayer.getUsername() + " 沒有找到對戰記錄", // Fix: Use currentPlayer.getUsername()
-                        "遊戲歷史", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    // 創建更美觀的遊戲歷史記錄對話框
-                    JDialog historyDialog = new JDialog(this, "遊戲歷史記錄", true);
-                    historyDialog.setLayout(new BorderLayout(10, 10));
-                    historyDialog.setSize(500, 400);
-                    historyDialog.setLocationRelativeTo(this);
-                    
-                    // 標題面板
-                    JPanel titlePanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-                    JLabel titleLabel = new JLabel(currentPlayer.getUsername() + " 的遊戲記錄", SwingConstants.CENTER); // Fix: Use currentPlayer.getUsername()
-                    titleLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 18));
-                    if (isDarkTheme) {
-                        titleLabel.setForeground(Color.WHITE);
-                    }
-                    titlePanel.add(titleLabel);
-                    historyDialog.add(titlePanel, BorderLayout.NORTH);
-                    
-                    // 記錄列表
-                    JPanel recordsPanel = new JPanel();
-                    recordsPanel.setLayout(new BoxLayout(recordsPanel, BoxLayout.Y_AXIS));
-                    recordsPanel.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
-                    if (isDarkTheme) {
-                        recordsPanel.setBackground(new Color(33, 37, 43));
-                    }
-                    
-                    // 統計資訊
-                    JLabel statsLabel = new JLabel("總遊戲記錄數: " + records.size());
-                    statsLabel.setFont(new Font("Microsoft JhengHei UI", Font.ITALIC, 14));
-                    statsLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
-                    statsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-                    if (isDarkTheme) {
-                        statsLabel.setForeground(Color.WHITE);
-                    }
-                    recordsPanel.add(statsLabel);
-                    
-                    // 添加每條記錄
-                    int count = 1;
-                    for (String record : records) {
-                        JPanel recordPanel = new JPanel();
-                        recordPanel.setLayout(new BorderLayout(5, 2));
-                        recordPanel.setBorder(BorderFactory.createCompoundBorder(
-                            BorderFactory.createMatteBorder(0, 0, 1, 0, Color.LIGHT_GRAY),
-                            BorderFactory.createEmptyBorder(8, 5, 8, 5)
-                        ));
-                        
-                        // 為了使每條記錄更易讀，替換英文成中文並添加更多信息
-                        String enhancedRecord = record
-                            .replace("Game record for", "對戰記錄 -")
-                            .replace("Player", "玩家")
-                            .replace("Computer", "電腦");
-                        
-                        // 添加斑馬紋效果
-                        if (count % 2 == 0) {
-                            recordPanel.setBackground(new Color(245, 245, 245));
-                        }
-                        
-                        JLabel recordLabel = new JLabel("#" + count + ": " + enhancedRecord);
-                        recordLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
-                        recordPanel.add(recordLabel, BorderLayout.CENTER);
-                        
-                        recordsPanel.add(recordPanel);
-                        count++;
-                    }
-                    
-                    // 添加記錄到滾動面板
-                    JScrollPane scrollPane = new JScrollPane(recordsPanel);
-                    historyDialog.add(scrollPane, BorderLayout.CENTER);
-                    
-                    // 底部按鈕
-                    JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-                    JButton closeButton = createStyledButton("關閉", e2 -> historyDialog.dispose());
-                    buttonPanel.add(closeButton);
-                    historyDialog.add(buttonPanel, BorderLayout.SOUTH);
-                    
-                    // 顯示對話框
-                    historyDialog.setVisible(true);
-                }
-            } else {
-                JOptionPane.showMessageDialog(this, "請先登入以查看歷史記錄。", "提示", JOptionPane.INFORMATION_MESSAGE);
-            }
-        });
+        JButton historyButton = createStyledButton("查看歷史", e -> openBattleHistory());
         historyButton.setToolTipText("查看過去的對戰記錄");
         // add(historyButton, BorderLayout.WEST); // This was causing issues, history button is part of battle panel or similar context
     }    /**
      * 顯示玩家的當前牌組，包括完整詳細信息和重複卡片的計數。
      */
     private void showDeck() {
-        List<Card> deck = gameController.getPlayerDeck();
-        // 按卡片名稱聚合，保留抽取順序
-        Map<String, Integer> countMap = new LinkedHashMap<>();
-        Map<String, Card> repMap = new LinkedHashMap<>();
-        for (Card c : deck) {
-            countMap.put(c.getName(), countMap.getOrDefault(c.getName(), 0) + 1);
-            repMap.putIfAbsent(c.getName(), c);
-        }
-        
+        EdtMonitor.section("showDeck", this::doShowDeck);
+    }
+
+    private void doShowDeck() {
         // 創建更視覺化的對話框
         JDialog deckDialog = new JDialog(this, "牌組內容", true);
         deckDialog.setLayout(new BorderLayout(10, 10));
@@ -909,125 +918,43 @@ public class GameGUI extends JFrame {
         deckDialog.setLocationRelativeTo(this);
         
         // 設置對話框主題顏色
-        if (isDarkTheme) {
-            deckDialog.getContentPane().setBackground(new Color(33, 37, 43));
+        if (currentTheme.isDark()) {
+            deckDialog.getContentPane().setBackground(Palette.DARK_BACKGROUND);
         }
         
-        // 標題面板
-        JPanel titlePanel = new JPanel();
-        if (isDarkTheme) {
-            titlePanel.setBackground(new Color(33, 37, 43));
+        // 標題面板：標題與統計數據
+        JPanel titlePanel = new JPanel(new GridLayout(2, 1));
+        if (currentTheme.isDark()) {
+            titlePanel.setBackground(Palette.DARK_BACKGROUND);
         }
         JLabel titleLabel = new JLabel("你的牌組", SwingConstants.CENTER);
-        titleLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 18));
-        if (isDarkTheme) {
+        titleLabel.setFont(Fonts.bold(18));
+        JLabel statsLabel = new JLabel(String.format("總卡片數: %d, 獨特卡片: %d", 
+                                       collection.getTotalCards(), collection.getSize()), SwingConstants.CENTER);
+        statsLabel.setFont(Fonts.italic(14));
+        if (currentTheme.isDark()) {
             titleLabel.setForeground(Color.WHITE);
+            statsLabel.setForeground(Color.WHITE);
         }
         titlePanel.add(titleLabel);
+        titlePanel.add(statsLabel);
         deckDialog.add(titlePanel, BorderLayout.NORTH);
         
-        // 卡片列表面板
-        JPanel cardsPanel = new JPanel();
-        cardsPanel.setLayout(new BoxLayout(cardsPanel, BoxLayout.Y_AXIS));
-        cardsPanel.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
-        if (isDarkTheme) {
-            cardsPanel.setBackground(new Color(33, 37, 43));
+        // 卡片列表：直接使用隨抽卡累計的模型，只繪製可見的列
+        JList<CollectionListModel.Entry> cardsList = new JList<>(collection);
+        cardsList.setCellRenderer(new CollectionEntryRenderer());
+        cardsList.setFixedCellHeight(COLLECTION_ROW_HEIGHT);
+        cardsList.setFixedCellWidth(COLLECTION_ROW_WIDTH); // 固定寬度，避免為計算寬度走訪所有列
+        cardsList.setBorder(BorderFactory.createEmptyBorder(0, 15, 0, 15));
+        if (currentTheme.isDark()) {
+            cardsList.setBackground(Palette.DARK_BACKGROUND);
         }
+        deckDialog.add(new JScrollPane(cardsList), BorderLayout.CENTER);
         
-        // 統計數據
-        JLabel statsLabel = new JLabel(String.format("總卡片數: %d, 獨特卡片: %d", 
-                                       deck.size(), repMap.size()));
-        statsLabel.setFont(new Font("Microsoft JhengHei UI", Font.ITALIC, 14));
-        statsLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
-        statsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        if (isDarkTheme) {
-            statsLabel.setForeground(Color.WHITE);
-        }
-        cardsPanel.add(statsLabel);
-        
-        // 添加每張卡片
-        for (Map.Entry<String, Integer> entry : countMap.entrySet()) {
-            Card rep = repMap.get(entry.getKey());
-            int cnt = entry.getValue();
-            
-            JPanel cardPanel = new JPanel();
-            cardPanel.setLayout(new BorderLayout(5, 2));
-            cardPanel.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createMatteBorder(0, 0, 1, 0, isDarkTheme ? new Color(80, 80, 80) : Color.LIGHT_GRAY),
-                BorderFactory.createEmptyBorder(8, 5, 8, 5)
-            ));
-            
-            // 左側：卡片名稱和數量
-            JPanel leftPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-            if (isDarkTheme) {
-                leftPanel.setBackground(new Color(33, 37, 43));
-            }
-            
-            String nameHtml = String.format("<html><b>%s</b> x%d</html>", rep.getName(), cnt);
-            JLabel nameLabel = new JLabel(nameHtml);
-            nameLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
-            if (isDarkTheme) {
-                nameLabel.setForeground(Color.WHITE);
-            }
-            leftPanel.add(nameLabel);
-              // 右側：卡片詳細資訊
-            JPanel rightPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-            if (isDarkTheme) {
-                rightPanel.setBackground(new Color(33, 37, 43));
-            }
-              // 獲取對應稀有度的顏色
-            String rarityColorHex = getRarityColorForTheme(rep.getRarity().toString());
-            
-            String details = String.format("<html><span style='color:%s'>%s</span> %s, 類型: %s, 力量: %d<br><i>%s</i></html>",
-                                          rarityColorHex,
-                                          rep.getRarity(), rep.getAttribute(), 
-                                          rep.getType(), rep.getBasePower(), 
-                                          rep.getDescription());
-            JLabel detailsLabel = new JLabel(details);
-            detailsLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 13));
-            if (isDarkTheme) {
-                detailsLabel.setForeground(Color.WHITE);
-            }
-            rightPanel.add(detailsLabel);
-            
-            cardPanel.add(leftPanel, BorderLayout.WEST);
-            cardPanel.add(rightPanel, BorderLayout.CENTER);
-            
-            // 根據稀有度和主題設置背景色
-            String rarity = rep.getRarity().toString();
-            if (isDarkTheme) {
-                // 暗色主題下的背景色
-                if (rarity.equals("LEGENDARY")) {
-                    cardPanel.setBackground(new Color(100, 84, 0, 80)); // 深金色
-                } else if (rarity.equals("RARE")) {
-                    cardPanel.setBackground(new Color(40, 70, 120, 80)); // 深藍色
-                } else if (rarity.equals("UNCOMMON")) {
-                    cardPanel.setBackground(new Color(30, 80, 30, 80)); // 深綠色
-                } else {
-                    cardPanel.setBackground(new Color(50, 50, 50)); // 深灰色
-                }
-            } else {
-                // 明亮主題下的背景色
-                if (rarity.equals("LEGENDARY")) {
-                    cardPanel.setBackground(new Color(255, 250, 205)); // 淺金色
-                } else if (rarity.equals("RARE")) {
-                    cardPanel.setBackground(new Color(230, 230, 250)); // 淺藍色
-                } else if (rarity.equals("UNCOMMON")) {
-                    cardPanel.setBackground(new Color(240, 255, 240)); // 淺綠色
-                } else {
-                    cardPanel.setBackground(Color.WHITE); // 白色
-                }            }
-            
-            cardsPanel.add(cardPanel);
-        }
-        
-        // 將卡片列表加入滾动面板
-        JScrollPane scrollPane = new JScrollPane(cardsPanel);
-        deckDialog.add(scrollPane, BorderLayout.CENTER);
-          // 底部按鈕
+        // 底部按鈕
         JPanel buttonPanel = new JPanel();
-        if (isDarkTheme) {
-            buttonPanel.setBackground(new Color(33, 37, 43));
+        if (currentTheme.isDark()) {
+            buttonPanel.setBackground(Palette.DARK_BACKGROUND);
         }
         JButton closeButton = createStyledButton("關閉", e -> deckDialog.dispose());
         buttonPanel.add(closeButton);
@@ -1035,15 +962,112 @@ public class GameGUI extends JFrame {
         
         // 顯示對話框
         deckDialog.setVisible(true);
+        // 對話框關閉後解除列表對模型的監聽
+        cardsList.setModel(new DefaultListModel<>());
+    }
+
+    /**
+     * 牌組列表的渲染器：每列顯示卡片名稱、數量與詳細資訊，元件重複使用
+     */
+    private class CollectionEntryRenderer extends JPanel implements ListCellRenderer<CollectionListModel.Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel rarityLabel = new JLabel();
+        private final JLabel detailsLabel = new JLabel();
+        private final JLabel descriptionLabel = new JLabel();
+        private final Border lightBorder = rowBorder(Color.LIGHT_GRAY);
+        private final Border darkBorder = rowBorder(Palette.DARK_SEPARATOR);
+
+        CollectionEntryRenderer() {
+            setLayout(new BorderLayout(10, 2));
+            nameLabel.setFont(Fonts.bold(14));
+            nameLabel.setPreferredSize(new Dimension(COLLECTION_NAME_WIDTH, 20));
+            rarityLabel.setFont(Fonts.bold(13));
+            detailsLabel.setFont(Fonts.plain(13));
+            descriptionLabel.setFont(Fonts.italic(13));
+
+            JPanel detailsLine = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+            detailsLine.setOpaque(false);
+            detailsLine.add(rarityLabel);
+            detailsLine.add(detailsLabel);
+            JPanel rightPanel = new JPanel(new GridLayout(2, 1));
+            rightPanel.setOpaque(false);
+            rightPanel.add(detailsLine);
+            rightPanel.add(descriptionLabel);
+
+            add(nameLabel, BorderLayout.WEST);
+            add(rightPanel, BorderLayout.CENTER);
+        }
+
+        private Border rowBorder(Color separator) {
+            return BorderFactory.createCompoundBorder(
+                BorderFactory.createMatteBorder(0, 0, 1, 0, separator),
+                BorderFactory.createEmptyBorder(4, 5, 4, 5)
+            );
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends CollectionListModel.Entry> list,
+                                                      CollectionListModel.Entry entry,
+                                                      int index,
+                                                      boolean isSelected,
+                                                      boolean cellHasFocus) {
+            Card card = entry.getCard();
+            nameLabel.setText(card.getName() + " x" + entry.getCount());
+            nameLabel.setIcon(collectionArt.icon(card));
+            rarityLabel.setText(card.getRarity().toString());
+            detailsLabel.setText(card.getAttribute() + ", 類型: " + card.getType() + ", 力量: " + card.getBasePower());
+            descriptionLabel.setText(card.getDescription());
+
+            boolean dark = currentTheme.isDark();
+            Color textColor = dark ? Color.WHITE : Color.BLACK;
+            nameLabel.setForeground(textColor);
+            detailsLabel.setForeground(textColor);
+            descriptionLabel.setForeground(textColor);
+            rarityLabel.setForeground(rarityColor(card.getRarity().toString(), dark));
+            setBorder(dark ? darkBorder : lightBorder);
+
+            // 根據稀有度和主題設置背景色
+            if (isSelected) {
+                setBackground(dark ? Palette.DARK_SELECTION : Palette.LIGHT_SELECTION);
+            } else {
+                switch (card.getRarity().toString()) {
+                    case "LEGENDARY": setBackground(dark ? Palette.DARK_GOLD_BG : Palette.LIGHT_GOLD_BG); break;
+                    case "RARE": setBackground(dark ? Palette.DARK_BLUE_BG : Palette.LIGHT_BLUE_BG); break;
+                    case "UNCOMMON": setBackground(dark ? Palette.DARK_GREEN_BG : Palette.LIGHT_GREEN_BG); break;
+                    default: setBackground(dark ? Palette.DARK_GREY_BG : Color.WHITE); break;
+                }
+            }
+            return this;
+        }
+
+        // 與 getRarityColorForTheme 相同的配色
+        private Color rarityColor(String rarity, boolean dark) {
+            switch (rarity) {
+                case "LEGENDARY": return dark ? Palette.GOLD : Palette.LIGHT_RARITY_LEGENDARY;
+                case "RARE": return dark ? Palette.DARK_BLUE_TEXT : Palette.LIGHT_RARITY_RARE;
+                case "UNCOMMON": return dark ? Palette.DARK_GREEN_TEXT : Palette.LIGHT_RARITY_UNCOMMON;
+                default: return dark ? Palette.DARK_RARITY_COMMON : Palette.LIGHT_RARITY_COMMON;
+            }
+        }
     }
 
     private void showLoginPanel() {
+        EdtMonitor.section("showLoginPanel", this::doShowLoginPanel);
+    }
+
+    private void doShowLoginPanel() {
         currentPanelName = "Login";
         CardLayout layout = (CardLayout) mainPanel.getLayout();
         layout.show(mainPanel, "Login");
     }
 
     private void showLobbyPanel() {
+        EdtMonitor.section("showLobbyPanel", this::doShowLobbyPanel);
+    }
+
+    private void doShowLobbyPanel() {
         currentPanelName = "Lobby";
         // Rebuild lobby panel to reflect current user and admin rights
         lobbyPanel.removeAll();
@@ -1053,10 +1077,19 @@ public class GameGUI extends JFrame {
     }
 
     private void showDrawOptionsPanel() {
+        EdtMonitor.section("showDrawOptionsPanel", this::doShowDrawOptionsPanel);
+    }
+
+    private void doShowDrawOptionsPanel() {
         currentPanelName = "DrawOptions";
+        ensurePanelBuilt("DrawOptions");
         CardLayout layout = (CardLayout) mainPanel.getLayout();
         layout.show(mainPanel, "DrawOptions");
     }    private void showDrawCardPanel() {
+        EdtMonitor.section("showDrawCardPanel", this::doShowDrawCardPanel);
+    }
+
+    private void doShowDrawCardPanel() {
         // 動態重建抽卡面板以顯示最新卡片
         drawCardPanel.removeAll();
         drawCardPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -1064,7 +1097,7 @@ public class GameGUI extends JFrame {
         // 標題
         JPanel titlePanel = new JPanel();
         JLabel titleLabel = new JLabel("抽卡結果", SwingConstants.CENTER);
-        titleLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 24));
+        titleLabel.setFont(Fonts.bold(24));
         titlePanel.add(titleLabel);
         drawCardPanel.add(titlePanel, BorderLayout.NORTH);
         
@@ -1079,21 +1112,21 @@ public class GameGUI extends JFrame {
             // 根據稀有度和主題設置邊框顏色
             Color borderColor;
             Color bgColor;
-            Color textColor = isDarkTheme ? Color.WHITE : Color.BLACK;
+            Color textColor = currentTheme.isDark() ? Color.WHITE : Color.BLACK;
             
             String rarity = card.getRarity().toString();
             if (rarity.equals("LEGENDARY")) {
-                borderColor = new Color(255, 215, 0); // 金色邊框在兩種主題下都相同
-                bgColor = isDarkTheme ? new Color(100, 84, 0, 80) : new Color(255, 250, 205);
+                borderColor = Palette.GOLD; // 金色邊框在兩種主題下都相同
+                bgColor = currentTheme.isDark() ? Palette.DARK_GOLD_BG : Palette.LIGHT_GOLD_BG;
             } else if (rarity.equals("RARE")) {
-                borderColor = new Color(70, 130, 180); // 藍色邊框
-                bgColor = isDarkTheme ? new Color(40, 70, 120, 80) : new Color(230, 230, 250);
+                borderColor = Palette.STEEL_BLUE; // 藍色邊框
+                bgColor = currentTheme.isDark() ? Palette.DARK_BLUE_BG : Palette.LIGHT_BLUE_BG;
             } else if (rarity.equals("UNCOMMON")) {
-                borderColor = new Color(173, 255, 47); // 綠色邊框
-                bgColor = isDarkTheme ? new Color(30, 80, 30, 80) : new Color(240, 255, 240);
+                borderColor = Palette.GREEN_YELLOW; // 綠色邊框
+                bgColor = currentTheme.isDark() ? Palette.DARK_GREEN_BG : Palette.LIGHT_GREEN_BG;
             } else {
-                borderColor = new Color(192, 192, 192); // 灰色邊框
-                bgColor = isDarkTheme ? new Color(50, 50, 50) : Color.WHITE;
+                borderColor = Palette.SILVER; // 灰色邊框
+                bgColor = currentTheme.isDark() ? Palette.DARK_GREY_BG : Color.WHITE;
             }
             
             cardPanel.setBackground(bgColor);
@@ -1103,7 +1136,7 @@ public class GameGUI extends JFrame {
             ));
             
             // 卡片文字內容 - 在暗色主題下使用更亮的顏色
-            String textStyle = isDarkTheme ? 
+            String textStyle = currentTheme.isDark() ? 
                 "style='color: white; text-align:center;'" : 
                 "style='text-align:center;'";
             String rarityColorHex = getRarityColorForTheme(rarity);
@@ -1120,9 +1153,12 @@ public class GameGUI extends JFrame {
                 card.getDescription());
             
             JLabel cardLabel = new JLabel(cardText, SwingConstants.CENTER);
-            cardLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 12));
+            cardLabel.setFont(Fonts.plain(12));
             cardLabel.setForeground(textColor);
             
+            // 卡圖：載入完成前顯示預留圖
+            JLabel artLabel = new JLabel(revealArt.icon(card), SwingConstants.CENTER);
+            cardPanel.add(artLabel, BorderLayout.NORTH);
             cardPanel.add(cardLabel, BorderLayout.CENTER);
             cardDisplayPanel.add(cardPanel);
         }
@@ -1153,7 +1189,7 @@ public class GameGUI extends JFrame {
      * 獲取稀有度對應的顏色十六進制代碼，適配不同主題
      */
     private String getRarityColorForTheme(String rarity) {
-        if (isDarkTheme) {
+        if (currentTheme.isDark()) {
             // 暗色主題下的顏色
             switch (rarity) {
                 case "LEGENDARY": return "#ffd700"; // 明亮的金色
@@ -1173,7 +1209,12 @@ public class GameGUI extends JFrame {
     }
 
     private void showBattlePanel() {
+        EdtMonitor.section("showBattlePanel", this::doShowBattlePanel);
+    }
+
+    private void doShowBattlePanel() {
         currentPanelName = "Battle";
+        ensurePanelBuilt("Battle");
         // 更新玩家手牌顯示，並重置戰鬥區域
         updateCardButtons();
         gameLog.setText("");
@@ -1193,7 +1234,7 @@ public class GameGUI extends JFrame {
         // 標題
         JPanel titlePanel = new JPanel();
         JLabel title = new JLabel("選擇10張卡牌進行對戰", SwingConstants.CENTER);
-        title.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 22));
+        title.setFont(Fonts.bold(22));
         title.setBorder(BorderFactory.createEmptyBorder(5, 0, 15, 0));
         titlePanel.add(title);
         selectionPanel.add(titlePanel, BorderLayout.NORTH);
@@ -1203,21 +1244,21 @@ public class GameGUI extends JFrame {
         // 指引文字
         JLabel guidanceLabel = new JLabel("<html>提示: 按住Ctrl鍵可選擇多張卡牌。<br>必須選擇剛好10張卡牌。</html>", 
                                          SwingConstants.CENTER);
-        guidanceLabel.setFont(new Font("Microsoft JhengHei UI", Font.ITALIC, 13));
+        guidanceLabel.setFont(Fonts.italic(13));
         guidanceLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
         centerPanel.add(guidanceLabel, BorderLayout.NORTH);
         
         // 卡片列表
-        deckListModel = new DefaultListModel<>();
+        deckListModel = new DeckFilterModel(gameController.getPlayerDeck());
         deckList = new JList<>(deckListModel);
         deckList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
-        deckList.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        deckList.setFont(Fonts.plain(14));
         // 添加自定義渲染器
         deckList.setCellRenderer(new CardListRenderer());
         
         // 添加選擇計數器標籤
         JLabel selectionCountLabel = new JLabel("已選擇: 0/10", SwingConstants.CENTER);
-        selectionCountLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        selectionCountLabel.setFont(Fonts.plain(14));
         
         // 監聽選擇變化
         deckList.addListSelectionListener(e -> {
@@ -1227,7 +1268,7 @@ public class GameGUI extends JFrame {
                 
                 // 根據選擇數量更新標籤顏色
                 if (selectedCount == 10) {
-                    selectionCountLabel.setForeground(new Color(0, 128, 0)); // 綠色
+                    selectionCountLabel.setForeground(Palette.SUCCESS); // 綠色
                 } else {
                     selectionCountLabel.setForeground(Color.RED);
                 }
@@ -1248,16 +1289,11 @@ public class GameGUI extends JFrame {
         btnPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 0, 0));
         
         JButton confirm = createStyledButton("確認選擇", e -> { 
-            List<Card> deck = gameController.getPlayerDeck(); 
-            int[] sel = deckList.getSelectedIndices();
-            if (sel.length != 10) {
+            List<Card> selected = deckList.getSelectedValuesList();
+            if (selected.size() != 10) {
                 JOptionPane.showMessageDialog(this, "請確切選擇10張卡牌。", "選擇錯誤", JOptionPane.ERROR_MESSAGE);
                 return;
             }
-            List<Card> selected = new ArrayList<>();
-            for (int idx : sel) {
-                selected.add(deck.get(idx));
-            }
             gameController.setBattleCards(selected);
             showBattlePanel();
         });
@@ -1271,100 +1307,127 @@ public class GameGUI extends JFrame {
         selectionPanel.revalidate();
         selectionPanel.repaint();
     }
-      /**
+
+    /**
+     * 選卡列表中每張卡片的顯示文字
+     */
+    private static String selectionText(Card c) {
+        return String.format("%s (%s %s, 類型:%s, 力量:%d)",
+            c.getName(), c.getRarity(), c.getAttribute(), c.getType(), c.getBasePower());
+    }
+
+    /**
+     * 為渲染器快取「原邊框＋內距」的組合邊框，每種原邊框只組合一次
+     */
+    private static final class PaddedBorders {
+        private final Border padding;
+        private final Map<Border, Border> cache = new IdentityHashMap<>();
+
+        PaddedBorders(int top, int left, int bottom, int right) {
+            padding = BorderFactory.createEmptyBorder(top, left, bottom, right);
+        }
+
+        Border wrap(Border border) {
+            if (border == null) {
+                return padding;
+            }
+            return cache.computeIfAbsent(border, inner -> BorderFactory.createCompoundBorder(inner, padding));
+        }
+    }
+
+    /**
      * 卡片列表自定義渲染器，根據卡片稀有度顯示不同顏色背景
      */
     private class CardListRenderer extends DefaultListCellRenderer {
+        // 依稀有度預先組合的邊框（左側色條＋內距），渲染時不再建立物件
+        private final Border legendaryBorder = rarityBorder(Palette.GOLD);
+        private final Border rareBorder = rarityBorder(Palette.STEEL_BLUE);
+        private final Border commonBorder = rarityBorder(Palette.SILVER);
+        private final PaddedBorders padded = new PaddedBorders(3, 5, 3, 5);
+        // 顯示文字依卡片快取，繪製時不再格式化字串
+        private final Map<Card, String> texts = new WeakHashMap<>();
+
+        private Border rarityBorder(Color stripe) {
+            return BorderFactory.createCompoundBorder(
+                BorderFactory.createMatteBorder(1, 5, 1, 1, stripe),
+                BorderFactory.createEmptyBorder(3, 5, 3, 5));
+        }
+
         @Override
         public Component getListCellRendererComponent(JList<?> list, Object value, 
                 int index, boolean isSelected, boolean cellHasFocus) {
             
-            JLabel label = (JLabel) super.getListCellRendererComponent(
-                    list, value, index, isSelected, cellHasFocus);
+            Card card = value instanceof Card ? (Card) value : null;
+            // 直接傳入快取的文字，避免預設實作呼叫 Card.toString()
+            JLabel label = (JLabel) super.getListCellRendererComponent(list,
+                    card != null ? texts.computeIfAbsent(card, GameGUI::selectionText) : value,
+                    index, isSelected, cellHasFocus);
             
-            if (value != null) {
-                String cardInfo = value.toString();
+            if (card != null) {
                 // 根據卡片稀有度和主題設置背景顏色
-                if (cardInfo.contains("LEGENDARY")) {
-                    if (!isSelected) {
-                        label.setBackground(isDarkTheme ? 
-                            new Color(100, 84, 0, 80) :     // 深色主題下的金色背景
-                            new Color(255, 250, 205));      // 淺色主題下的金色背景
-                        label.setForeground(isDarkTheme ? new Color(255, 223, 0) : label.getForeground());
-                    }
-                    label.setBorder(BorderFactory.createMatteBorder(1, 5, 1, 1, new Color(255, 215, 0)));
-                } else if (cardInfo.contains("RARE")) {
+                Rarity rarity = card.getRarity();
+                if (rarity == Rarity.SSR) {
                     if (!isSelected) {
-                        label.setBackground(isDarkTheme ? 
-                            new Color(40, 70, 120, 80) :    // 深色主題下的藍色背景
-                            new Color(230, 230, 250));      // 淺色主題下的藍色背景
-                        label.setForeground(isDarkTheme ? new Color(135, 206, 250) : label.getForeground());
+                        label.setBackground(currentTheme.isDark() ? 
+                            Palette.DARK_GOLD_BG :     // 深色主題下的金色背景
+                            Palette.LIGHT_GOLD_BG);      // 淺色主題下的金色背景
+                        label.setForeground(currentTheme.isDark() ? Palette.DARK_GOLD_TEXT : label.getForeground());
                     }
-                    label.setBorder(BorderFactory.createMatteBorder(1, 5, 1, 1, new Color(70, 130, 180)));
-                } else if (cardInfo.contains("UNCOMMON")) {
+                    label.setBorder(legendaryBorder);
+                } else if (rarity == Rarity.SR) {
                     if (!isSelected) {
-                        label.setBackground(isDarkTheme ? 
-                            new Color(30, 80, 30, 80) :     // 深色主題下的綠色背景
-                            new Color(240, 255, 240));      // 淺色主題下的綠色背景
-                        label.setForeground(isDarkTheme ? new Color(144, 238, 144) : label.getForeground());
+                        label.setBackground(currentTheme.isDark() ? 
+                            Palette.DARK_BLUE_BG :    // 深色主題下的藍色背景
+                            Palette.LIGHT_BLUE_BG);      // 淺色主題下的藍色背景
+                        label.setForeground(currentTheme.isDark() ? Palette.DARK_BLUE_TEXT : label.getForeground());
                     }
-                    label.setBorder(BorderFactory.createMatteBorder(1, 5, 1, 1, new Color(173, 255, 47)));
+                    label.setBorder(rareBorder);
                 } else {
                     if (!isSelected) {
-                        label.setBackground(isDarkTheme ? 
-                            new Color(50, 50, 50) :         // 深色主題下的灰色背景
+                        label.setBackground(currentTheme.isDark() ? 
+                            Palette.DARK_GREY_BG :         // 深色主題下的灰色背景
                             Color.WHITE);                   // 淺色主題下的白色背景
-                        label.setForeground(isDarkTheme ? Color.LIGHT_GRAY : label.getForeground());
+                        label.setForeground(currentTheme.isDark() ? Color.LIGHT_GRAY : label.getForeground());
                     }
-                    label.setBorder(BorderFactory.createMatteBorder(1, 5, 1, 1, new Color(192, 192, 192)));
+                    label.setBorder(commonBorder);
                 }
+            } else {
+                // 無卡片時沿用預設邊框並加上內距
+                label.setBorder(padded.wrap(label.getBorder()));
             }
             
             // 設置更好的選擇顏色
             if (isSelected) {
-                label.setBackground(isDarkTheme ? 
-                    new Color(80, 110, 160) :  // 深色主題下的選中背景色
-                    new Color(232, 242, 254)); // 淺色主題下的選中背景色
-                label.setForeground(isDarkTheme ? Color.WHITE : Color.BLACK);
+                label.setBackground(currentTheme.isDark() ? 
+                    Palette.DARK_SELECTION :  // 深色主題下的選中背景色
+                    Palette.LIGHT_SELECTION); // 淺色主題下的選中背景色
+                label.setForeground(currentTheme.isDark() ? Color.WHITE : Color.BLACK);
             }
             
-            // 增加垂直填充
-            label.setBorder(BorderFactory.createCompoundBorder(
-                label.getBorder(),
-                BorderFactory.createEmptyBorder(3, 5, 3, 5)
-            ));
-            
             return label;
         }
     }    /**
      * 自定義卡片清單渲染器，提供詳細資訊懸停顯示功能
      */
     private class EnhancedCardListRenderer extends DefaultListCellRenderer {
-        // 淺色主題下的卡片背景顏色
-        private final Color lightLegendaryColor = new Color(255, 223, 0, 40);  // 淺金色
-        private final Color lightEpicColor = new Color(163, 53, 238, 40);      // 淺紫色
-        private final Color lightRareColor = new Color(0, 112, 221, 40);       // 淺藍色
-        private final Color lightCommonColor = new Color(200, 200, 200, 40);   // 淺灰色
-        
-        // 深色主題下的卡片背景顏色
-        private final Color darkLegendaryColor = new Color(255, 215, 0, 60);   // 金色
-        private final Color darkEpicColor = new Color(190, 110, 255, 60);      // 紫色
-        private final Color darkRareColor = new Color(65, 155, 240, 60);       // 藍色
-        private final Color darkCommonColor = new Color(150, 150, 150, 60);    // 灰色
+        private final PaddedBorders padded = new PaddedBorders(5, 5, 5, 5);
+        // 懸停提示依卡片快取，主題變更時重建
+        private final Map<Card, String> tooltips = new WeakHashMap<>();
+        private final Map<Card, String> texts = new WeakHashMap<>();
+        private Theme tooltipTheme;
 
         @Override
         public Component getListCellRendererComponent(JList<?> list, Object value, 
                                                     int index, boolean isSelected, 
                                                     boolean cellHasFocus) {
-            JLabel label = (JLabel) super.getListCellRendererComponent(
-                list, value, index, isSelected, cellHasFocus);
-            
-            // 檢查是否超出範圍
-            if (index < 0 || index >= gameController.getPlayerDeck().size()) {
-                return label;
+            // 列表的值就是卡片對象（過濾後索引不再對應牌組位置）
+            if (!(value instanceof Card)) {
+                return super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
             }
-              // 獲取對應的卡片對象
-            Card card = gameController.getPlayerDeck().get(index);
+            Card card = (Card) value;
+            // 直接傳入快取的文字，避免預設實作呼叫 Card.toString()
+            JLabel label = (JLabel) super.getListCellRendererComponent(
+                list, texts.computeIfAbsent(card, GameGUI::selectionText), index, isSelected, cellHasFocus);
             
             // 使用全局主題變數，而不是嘗試從顏色推斷
             // boolean isDarkTheme = UIManager.getColor("Panel.background") != null && 
@@ -1376,50 +1439,66 @@ public class GameGUI extends JFrame {
                 switch (rarity) {
                     case "LEGENDARY":
                     case "SSR":
-                        label.setBackground(isDarkTheme ? darkLegendaryColor : lightLegendaryColor);
+                        label.setBackground(currentTheme.isDark() ? Palette.DARK_LEGENDARY_TINT : Palette.LIGHT_LEGENDARY_TINT);
                         break;
                     case "EPIC":
                     case "SR":
-                        label.setBackground(isDarkTheme ? darkEpicColor : lightEpicColor);
+                        label.setBackground(currentTheme.isDark() ? Palette.DARK_EPIC_TINT : Palette.LIGHT_EPIC_TINT);
                         break;
                     case "RARE":
                     case "R":
-                        label.setBackground(isDarkTheme ? darkRareColor : lightRareColor);
+                        label.setBackground(currentTheme.isDark() ? Palette.DARK_RARE_TINT : Palette.LIGHT_RARE_TINT);
                         break;
                     case "COMMON":
                     default:
-                        label.setBackground(isDarkTheme ? darkCommonColor : lightCommonColor);
+                        label.setBackground(currentTheme.isDark() ? Palette.DARK_COMMON_TINT : Palette.LIGHT_COMMON_TINT);
                         break;
                 }
                 
                 // 根據主題調整文字顏色
-                if (isDarkTheme) {
-                    label.setForeground(new Color(230, 230, 230));
+                if (currentTheme.isDark()) {
+                    label.setForeground(Palette.DARK_CARD_TEXT);
                 } else {
-                    label.setForeground(new Color(33, 33, 33));
+                    label.setForeground(Palette.LIGHT_CARD_TEXT);
                 }            
             }
             
             // 設置懸停文字提示 (詳細卡片資訊)
-            // 根據主題設置工具提示顏色
-            String bgColor = isDarkTheme ? "#2d3748" : "#f8f9fa";
-            String textColor = isDarkTheme ? "#e2e8f0" : "#1a202c";
-            String borderColor = isDarkTheme ? "#4a5568" : "#cbd5e0";
-            String headerColor = isDarkTheme ? "#63b3ed" : "#3182ce";
-            String descBgColor = isDarkTheme ? "#1a202c" : "#edf2f7";
+            if (tooltipTheme != currentTheme) {
+                tooltips.clear();
+                tooltipTheme = currentTheme;
+            }
+            label.setToolTipText(tooltips.computeIfAbsent(card, this::buildTooltip));
+            
+            // 設置內部邊距
+            label.setBorder(padded.wrap(label.getBorder()));
             
+            // 調整字體
+            label.setFont(Fonts.plain(14));
+            
+            return label;
+        }
+
+        private String buildTooltip(Card card) {
+            // 根據主題設置工具提示顏色
+            String bgColor = currentTheme.isDark() ? "#2d3748" : "#f8f9fa";
+            String textColor = currentTheme.isDark() ? "#e2e8f0" : "#1a202c";
+            String borderColor = currentTheme.isDark() ? "#4a5568" : "#cbd5e0";
+            String headerColor = currentTheme.isDark() ? "#63b3ed" : "#3182ce";
+            String descBgColor = currentTheme.isDark() ? "#1a202c" : "#edf2f7";
+        
             // 根據稀有度設置特殊顏色
             String rarityColor = "#6b7280"; // 默認灰色
             String rarityText = card.getRarity().toString();
             if (rarityText.equals("LEGENDARY") || rarityText.equals("SSR")) {
-                rarityColor = isDarkTheme ? "#ffd700" : "#d97706"; // 金色
+                rarityColor = currentTheme.isDark() ? "#ffd700" : "#d97706"; // 金色
             } else if (rarityText.equals("EPIC") || rarityText.equals("SR")) {
-                rarityColor = isDarkTheme ? "#9f7aea" : "#7e22ce"; // 紫色
+                rarityColor = currentTheme.isDark() ? "#9f7aea" : "#7e22ce"; // 紫色
             } else if (rarityText.equals("RARE") || rarityText.equals("R")) {
-                rarityColor = isDarkTheme ? "#60a5fa" : "#2563eb"; // 藍色
+                rarityColor = currentTheme.isDark() ? "#60a5fa" : "#2563eb"; // 藍色
             }
-            
-            String tooltipText = String.format(
+        
+            return String.format(
                 "<html><div style='background-color:%s; color:%s; padding:12px; border:1px solid %s; border-radius:6px; width:320px;'>" +
                 "<h3 style='margin:0 0 8px 0; padding-bottom:6px; border-bottom:1px solid %s; color:%s;'>%s</h3>" +
                 "<table style='width:100%%; border-collapse:collapse;'>" +
@@ -1438,23 +1517,13 @@ public class GameGUI extends JFrame {
                 card.getBasePower(),
                 descBgColor, headerColor, card.getDescription()
             );
-            
-            label.setToolTipText(tooltipText);
-            
-            // 設置內部邊距
-            label.setBorder(BorderFactory.createCompoundBorder(
-                label.getBorder(),
-                BorderFactory.createEmptyBorder(5, 5, 5, 5)
-            ));
-            
-            // 調整字體
-            label.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
-            
-            return label;
         }
     }
 
     private void updatePlayerStatsDisplay() {
+        if (playerLevelLabel == null) {
+            return; // 大廳尚未建構，建構時會顯示最新數值
+        }
         if (currentPlayer != null) {
             Player player = currentPlayer; // 可直接使用currentPlayer或gameController.getCurrentPlayer()
             playerLevelLabel.setText("等級: " + player.getLevel());
@@ -1483,17 +1552,21 @@ public class GameGUI extends JFrame {
         rankingPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10)); // 添加面板周圍的填充
 
         // 標題
-        JPanel titlePanel = new JPanel();
+        JPanel titlePanel = new JPanel(new BorderLayout());
         JLabel title = new JLabel("排行榜", SwingConstants.CENTER);
-        title.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 28));
+        title.setFont(Fonts.bold(28));
         title.setBorder(BorderFactory.createEmptyBorder(10, 0, 20, 0)); // 在標題下方添加填充
-        titlePanel.add(title);
+        titlePanel.add(title, BorderLayout.CENTER);
+        // 目前玩家的名次，不需載入整張排行榜即可查詢
+        JLabel myRankLabel = new JLabel(" ", SwingConstants.CENTER);
+        myRankLabel.setFont(Fonts.italic(14));
+        titlePanel.add(myRankLabel, BorderLayout.SOUTH);
         rankingPanel.add(titlePanel, BorderLayout.NORTH);
 
         // 中央排行榜列表
         rankingListModel = new DefaultListModel<>();
         rankingList = new JList<>(rankingListModel);
-        rankingList.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        rankingList.setFont(Fonts.plain(14));
         // 應用自訂單元格渲染器以獲得更好的列表項外觀
         rankingList.setCellRenderer(new CustomRankingRenderer());
         JScrollPane scrollPane = new JScrollPane(rankingList);
@@ -1509,7 +1582,7 @@ public class GameGUI extends JFrame {
         gbc.fill = GridBagConstraints.HORIZONTAL;
 
         JLabel sortByLabel = new JLabel("排序依據：");
-        sortByLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        sortByLabel.setFont(Fonts.plain(14));
         gbc.gridx = 0;
         gbc.gridy = 0;
         gbc.weightx = 0; // 標籤不需要擴展
@@ -1518,7 +1591,7 @@ public class GameGUI extends JFrame {
 
         String[] options = {"等級", "貨幣", "牌位積分"};
         rankingCombo = new JComboBox<>(options);
-        rankingCombo.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        rankingCombo.setFont(Fonts.plain(14));
         rankingCombo.setToolTipText("選擇排序依據");
         gbc.gridx = 1;
         gbc.gridy = 0;
@@ -1526,18 +1599,34 @@ public class GameGUI extends JFrame {
         controlPanel.add(rankingCombo, gbc);
 
                JButton sortButton = createStyledButton("排序", e -> {
-            rankingListModel.clear();
-            List<Player> all = recordService.loadAllPlayers();
-            String key = (String) rankingCombo.getSelectedItem();
-            Comparator<Player> comp;
-            if ("貨幣".equals(key)) {
-                comp = Comparator.comparingInt(Player::getCurrency).reversed();
-            } else if ("牌位積分".equals(key)) {
-                comp = Comparator.comparingInt(Player::getRating).reversed();
+            String choice = (String) rankingCombo.getSelectedItem();
+            LeaderboardKey key;
+            if ("貨幣".equals(choice)) {
+                key = LeaderboardKey.CURRENCY;
+            } else if ("牌位積分".equals(choice)) {
+                key = LeaderboardKey.RATING;
             } else {
-                comp = Comparator.comparingInt(Player::getLevel).reversed();
+                key = LeaderboardKey.LEVEL;
             }
-            all.stream().sorted(comp).forEach(p -> rankingListModel.addElement(p));
+            String me = currentPlayer != null ? currentPlayer.getUsername() : null;
+            if (key == LeaderboardKey.RATING && leaderboard.isWarmed()) {
+                // 積分排名直接由記憶體排行榜取得，不需查詢資料庫
+                rankingListModel.clear();
+                rankingListModel.addAll(leaderboard.getTop(RANKING_TOP_N, 0));
+                int myRank = me != null ? leaderboard.getRank(me) : -1;
+                myRankLabel.setText(myRank > 0 ? "我的排名: #" + myRank : " ");
+                return;
+            }
+            // 由資料庫排序並只取前幾名，查詢在背景執行
+            records.call(service -> {
+                int myRank = me != null ? service.getRank(key, me) : -1;
+                return Map.entry(myRank, service.getLeaderboard(key, RANKING_TOP_N, 0));
+            }).thenAccept(result -> {
+                rankingListModel.clear();
+                rankingListModel.addAll(result.getValue());
+                int myRank = result.getKey();
+                myRankLabel.setText(myRank > 0 ? "我的排名: #" + myRank : " ");
+            });
         });
         sortButton.setToolTipText("依照選擇的依據對玩家排名排序");
         sortButton.setMnemonic(KeyEvent.VK_S);
@@ -1564,8 +1653,15 @@ public class GameGUI extends JFrame {
         });
     }
 
+    private static final int RANKING_TOP_N = 100; // 排行榜顯示的名次數
+
     private void showRankingPanel() {
+        EdtMonitor.section("showRankingPanel", this::doShowRankingPanel);
+    }
+
+    private void doShowRankingPanel() {
         currentPanelName = "Ranking";
+        ensurePanelBuilt("Ranking");
         CardLayout layout = (CardLayout) mainPanel.getLayout();
         layout.show(mainPanel, "Ranking");
     }
@@ -1586,27 +1682,29 @@ public class GameGUI extends JFrame {
         private final JLabel levelLabel = new JLabel();
         private final JLabel currencyLabel = new JLabel();
         private final JLabel ratingLabel = new JLabel();
+        // 各主題與選取狀態的邊框預先建立，渲染時不再建立物件
+        private final Border lightBorder = rowBorder(Color.LIGHT_GRAY);
+        private final Border darkBorder = rowBorder(Palette.DARK_SEPARATOR);
+        private final Border lightSelectedBorder = selectedRowBorder(Color.LIGHT_GRAY, Palette.LIGHT_SELECTION_BORDER);
+        private final Border darkSelectedBorder = selectedRowBorder(Palette.DARK_SEPARATOR, Palette.DARK_SELECTION_BORDER);
         
         public CustomRankingRenderer() {
             setLayout(new BorderLayout(10, 5));
-            setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createMatteBorder(0, 0, 1, 0, Color.LIGHT_GRAY),
-                BorderFactory.createEmptyBorder(8, 10, 8, 10)
-            ));
+            setBorder(lightBorder);
             
             JPanel leftPanel = new JPanel(new BorderLayout());
-            rankLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 16));
+            rankLabel.setFont(Fonts.bold(16));
             rankLabel.setHorizontalAlignment(SwingConstants.CENTER);
             rankLabel.setPreferredSize(new Dimension(30, 30));
             leftPanel.add(rankLabel, BorderLayout.CENTER);
             
             JPanel infoPanel = new JPanel(new GridLayout(2, 1, 5, 2));
-            nameLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 14));
+            nameLabel.setFont(Fonts.bold(14));
             
             JPanel statsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 15, 0));
-            levelLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 13));
-            currencyLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 13));
-            ratingLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 13));
+            levelLabel.setFont(Fonts.plain(13));
+            currencyLabel.setFont(Fonts.plain(13));
+            ratingLabel.setFont(Fonts.plain(13));
             
             statsPanel.add(levelLabel);
             statsPanel.add(currencyLabel);
@@ -1633,11 +1731,11 @@ public class GameGUI extends JFrame {
             currencyLabel.setText("貨幣: " + player.getCurrency());
             ratingLabel.setText("牌位積分: " + player.getRating());
               // 斑馬紋效果 - 根據主題設置不同顏色
-            if (isDarkTheme) {
+            if (currentTheme.isDark()) {
                 if (index % 2 == 0) {
-                    setBackground(new Color(50, 55, 65));
+                    setBackground(Palette.DARK_STRIPE_EVEN);
                 } else {
-                    setBackground(new Color(40, 45, 55));
+                    setBackground(Palette.DARK_STRIPE_ODD);
                 }
                 
                 nameLabel.setForeground(Color.WHITE);
@@ -1646,7 +1744,7 @@ public class GameGUI extends JFrame {
                 ratingLabel.setForeground(Color.LIGHT_GRAY);
             } else {
                 if (index % 2 == 0) {
-                    setBackground(new Color(245, 245, 245));
+                    setBackground(Palette.LIGHT_STRIPE);
                 } else {
                     setBackground(Color.WHITE);
                 }
@@ -1658,76 +1756,62 @@ public class GameGUI extends JFrame {
             }
               // 設置選擇狀態顏色
             if (isSelected) {
-                if (isDarkTheme) {
-                                       setBackground(new Color(60, 80, 120));  // 深藍色選擇背景
-                    setBorder(BorderFactory.createCompoundBorder(
-                        BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(80, 80, 80)),
-                        BorderFactory.createCompoundBorder(
-                            BorderFactory.createLineBorder(new Color(100, 130, 180), 1),
-                            BorderFactory.createEmptyBorder(7, 9, 7, 9)
-                        )
-                    ));
-                } else {
-                    setBackground(new Color(232, 242, 254));  // 淺藍色選擇背景
-                    setBorder(BorderFactory.createCompoundBorder(
-                        BorderFactory.createMatteBorder(0, 0, 1, 0, Color.LIGHT_GRAY),
-                        BorderFactory.createCompoundBorder(
-                            BorderFactory.createLineBorder(new Color(120, 170, 220), 1),
-                            BorderFactory.createEmptyBorder(7, 9, 7, 9)
-                        )
-                    ));
-                }
+                setBackground(currentTheme.isDark() ? Palette.DARK_RANK_SELECTION : Palette.LIGHT_SELECTION);
+                setBorder(currentTheme.isDark() ? darkSelectedBorder : lightSelectedBorder);
             } else {
-                setBorder(BorderFactory.createCompoundBorder(
-                    BorderFactory.createMatteBorder(0, 0, 1, 0, isDarkTheme ? new Color(80, 80, 80) : Color.LIGHT_GRAY),
-                    BorderFactory.createEmptyBorder(8, 10, 8, 10)
-                ));
+                setBorder(currentTheme.isDark() ? darkBorder : lightBorder);
             }
               // 對前三名使用特殊顏色
             if (index < 3) {
                 switch (index) {
                     case 0: // 金色 - 第一名
-                        rankLabel.setForeground(new Color(255, 215, 0));
-                        rankLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 18));
+                        rankLabel.setForeground(Palette.GOLD);
+                        rankLabel.setFont(Fonts.bold(18));
                         break;
                     case 1: // 銀色 - 第二名
-                        rankLabel.setForeground(new Color(192, 192, 192));
-                        rankLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 18));
+                        rankLabel.setForeground(Palette.SILVER);
+                        rankLabel.setFont(Fonts.bold(18));
                         break;
                     case 2: // 銅色 - 第三名
-                        rankLabel.setForeground(new Color(205, 127, 50));
-                        rankLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 18));
+                        rankLabel.setForeground(Palette.BRONZE);
+                        rankLabel.setFont(Fonts.bold(18));
                         break;
                 }
             } else {
                 // 普通排名 - 根據主題選擇顏色
-                rankLabel.setForeground(isDarkTheme ? Color.LIGHT_GRAY : Color.DARK_GRAY);
-                rankLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 16));
+                rankLabel.setForeground(currentTheme.isDark() ? Color.LIGHT_GRAY : Color.DARK_GRAY);
+                rankLabel.setFont(Fonts.bold(16));
             }
             
             return this;
         }
+
+        private Border rowBorder(Color separator) {
+            return BorderFactory.createCompoundBorder(
+                BorderFactory.createMatteBorder(0, 0, 1, 0, separator),
+                BorderFactory.createEmptyBorder(8, 10, 8, 10)
+            );
+        }
+
+        private Border selectedRowBorder(Color separator, Color outline) {
+            return BorderFactory.createCompoundBorder(
+                BorderFactory.createMatteBorder(0, 0, 1, 0, separator),
+                BorderFactory.createCompoundBorder(
+                    BorderFactory.createLineBorder(outline, 1),
+                    BorderFactory.createEmptyBorder(7, 9, 7, 9)
+                )
+            );
+        }
     }    /**
      * 帶有過濾功能的卡片選擇面板
      */
     private void showSelectionPanel() {
-        // 先設置卡片列表模型
-        deckListModel = new DefaultListModel<>();
-        List<Card> deck = gameController.getPlayerDeck();
-        
-        // 原始卡牌列表 (用於過濾)
-        final List<Card> originalDeck = new ArrayList<>(deck);
-        
-        // 用於追踪顯示列表中每個項目對應的卡片索引
-        final List<Integer> cardIndices = new ArrayList<>();
-        
-        // 過濾前先顯示所有卡片
-        for (int i = 0; i < deck.size(); i++) {
-            Card c = deck.get(i);
-            deckListModel.addElement(String.format("%s (%s %s, 類型:%s, 力量:%d)",
-                c.getName(), c.getRarity(), c.getAttribute(), c.getType(), c.getBasePower()));
-            cardIndices.add(i);
-        }
+        EdtMonitor.section("showSelectionPanel", this::doShowSelectionPanel);
+    }
+
+    private void doShowSelectionPanel() {
+        // 卡片列表模型：依稀有度與屬性預先建立位元集合，過濾時只做集合交集並通知差異的區間
+        deckListModel = new DeckFilterModel(gameController.getPlayerDeck());
         
         // 先清空面板，再初始化
         selectionPanel.removeAll();
@@ -1737,7 +1821,7 @@ public class GameGUI extends JFrame {
         // 標題
         JPanel titlePanel = new JPanel();
         JLabel title = new JLabel("選擇10張卡牌進行對戰", SwingConstants.CENTER);
-        title.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 22));
+        title.setFont(Fonts.bold(22));
         title.setBorder(BorderFactory.createEmptyBorder(5, 0, 15, 0));
         titlePanel.add(title);
         selectionPanel.add(titlePanel, BorderLayout.NORTH);
@@ -1748,20 +1832,23 @@ public class GameGUI extends JFrame {
         // 指引文字
         JLabel guidanceLabel = new JLabel("<html>提示: 按住Ctrl鍵可選擇多張卡牌。<br>必須選擇剛好10張卡牌。</html>", 
                                          SwingConstants.CENTER);
-        guidanceLabel.setFont(new Font("Microsoft JhengHei UI", Font.ITALIC, 13));
+        guidanceLabel.setFont(Fonts.italic(13));
         guidanceLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
         centerPanel.add(guidanceLabel, BorderLayout.NORTH);
           // 使用已設置好的列表模型創建JList
         deckList = new JList<>(deckListModel);
         deckList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
-        deckList.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        deckList.setFont(Fonts.plain(14));
+        // 固定列高與列寬，大量卡片時不必逐列量測
+        deckList.setFixedCellHeight(SELECTION_ROW_HEIGHT);
+        deckList.setFixedCellWidth(SELECTION_ROW_WIDTH);
         
         // 添加增強版自定義渲染器，支持卡片詳細信息懸停顯示
         deckList.setCellRenderer(new EnhancedCardListRenderer());
         
         // 添加選擇計數器標籤
         JLabel selectionCountLabel = new JLabel("已選擇: 0/10", SwingConstants.CENTER);
-        selectionCountLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        selectionCountLabel.setFont(Fonts.plain(14));
         
         // 監聽選擇變化
         deckList.addListSelectionListener(e -> {
@@ -1771,7 +1858,7 @@ public class GameGUI extends JFrame {
                 
                 // 根據選擇數量更新標籤顏色
                 if (selectedCount == 10) {
-                    selectionCountLabel.setForeground(new Color(0, 128, 0)); // 綠色
+                    selectionCountLabel.setForeground(Palette.SUCCESS); // 綠色
                 } else {
                     selectionCountLabel.setForeground(Color.RED);
                 }
@@ -1796,64 +1883,29 @@ public class GameGUI extends JFrame {
         
         // 稀有度過濾
         JLabel rarityLabel = new JLabel("稀有度:");
-        rarityLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        rarityLabel.setFont(Fonts.plain(14));
         
         JComboBox<String> rarityFilter = new JComboBox<>(new String[]{"全部", "傳說 (SSR)", "史詩 (SR)", "罕見 (R)"});
-        rarityFilter.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        rarityFilter.setFont(Fonts.plain(14));
         
         // 屬性過濾
         JLabel attributeLabel = new JLabel("屬性:");
-        attributeLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        attributeLabel.setFont(Fonts.plain(14));
         
         JComboBox<String> attributeFilter = new JComboBox<>(new String[]{"全部", "火", "水", "草"});
-        attributeFilter.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        attributeFilter.setFont(Fonts.plain(14));
           // 重置按鈕
         JButton resetButton = createStyledButton("重置過濾", e -> {
             rarityFilter.setSelectedIndex(0);
             attributeFilter.setSelectedIndex(0);
-            
-            // 重置列表顯示所有卡片
-            deckListModel.clear();
-            cardIndices.clear();
-            for (int i = 0; i < originalDeck.size(); i++) {
-                Card c = originalDeck.get(i);
-                deckListModel.addElement(String.format("%s (%s %s, 類型:%s, 力量:%d)",
-                    c.getName(), c.getRarity(), c.getAttribute(), c.getType(), c.getBasePower()));
-                cardIndices.add(i);
-            }
+            deckListModel.clearFilter();
         });
-          // 過濾監聽器
-        ActionListener filterListener = e -> {
-            // 先清空當前列表
-            deckListModel.clear();
-            cardIndices.clear();
-            
-            // 應用過濾條件
-            int rarityIdx = rarityFilter.getSelectedIndex();
-            int attributeIdx = attributeFilter.getSelectedIndex();
-            
-            for (int i = 0; i < originalDeck.size(); i++) {
-                Card c = originalDeck.get(i);
-                // 稀有度過濾
-                boolean rarityMatch = rarityIdx == 0 || 
-                    (rarityIdx == 1 && c.getRarity().toString().equals("SSR")) ||
-                    (rarityIdx == 2 && c.getRarity().toString().equals("SR")) ||
-                    (rarityIdx == 3 && c.getRarity().toString().equals("R"));
-                
-                // 屬性過濾
-                boolean attributeMatch = attributeIdx == 0 || 
-                    (attributeIdx == 1 && c.getAttribute().toString().equals("FIRE")) ||
-                    (attributeIdx == 2 && c.getAttribute().toString().equals("WATER")) ||
-                    (attributeIdx == 3 && c.getAttribute().toString().equals("GRASS"));
-                
-                // 如果同時符合兩種過濾條件，則添加到列表
-                if (rarityMatch && attributeMatch) {
-                    deckListModel.addElement(String.format("%s (%s %s, 類型:%s, 力量:%d)",
-                        c.getName(), c.getRarity(), c.getAttribute(), c.getType(), c.getBasePower()));
-                    cardIndices.add(i);
-                }
-            }
-        };
+          // 過濾監聽器：下拉選單索引 0 為全部，其餘依序對應稀有度與屬性
+        Rarity[] rarityOptions = {null, Rarity.SSR, Rarity.SR, Rarity.R};
+        Attribute[] attributeOptions = {null, Attribute.FIRE, Attribute.WATER, Attribute.GRASS};
+        ActionListener filterListener = e -> deckListModel.setFilter(
+            rarityOptions[rarityFilter.getSelectedIndex()],
+            attributeOptions[attributeFilter.getSelectedIndex()]);
         
         // 設置過濾器動作監聽器
         rarityFilter.addActionListener(filterListener);
@@ -1885,17 +1937,11 @@ public class GameGUI extends JFrame {
         btnPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 0, 0));
         
         JButton confirm = createStyledButton("確認選擇", e -> { 
-            int[] sel = deckList.getSelectedIndices();
-            if (sel.length != 10) {
+            // 過濾模型中的每一列就是卡片本身
+            List<Card> selected = deckList.getSelectedValuesList();
+            if (selected.size() != 10) {
                 JOptionPane.showMessageDialog(this, "請確切選擇10張卡牌。", "選擇錯誤", JOptionPane.ERROR_MESSAGE);
                 return;
-            }
-              // 從已經存在的卡牌列表中根據映射的索引取得選擇的卡片
-            List<Card> selected = new ArrayList<>();
-            for (int idx : sel) {
-                // 使用cardIndices來映射回原始的卡牌
-                int originalIdx = cardIndices.get(idx);
-                selected.add(deck.get(originalIdx));
             }
               // 設置這些卡片用於對戰
             gameController.setBattleCards(selected);
@@ -1944,23 +1990,15 @@ public class GameGUI extends JFrame {
      */
     private boolean verifyThemeApplication() {
         // 检查关键UI组件是否应用了正确的主题颜色
-        Color expectedBgColor = isDarkTheme ? 
-            new Color(33, 37, 43) : new Color(248, 248, 252);
-        
-        boolean mainPanelCorrect = mainPanel.getBackground().equals(expectedBgColor);
-        boolean loginPanelCorrect = loginPanel.getBackground().equals(expectedBgColor);
-        
-        System.out.println("主面板背景色正確: " + mainPanelCorrect);
-        System.out.println("登入面板背景色正確: " + loginPanelCorrect);
-        System.out.println("預期背景色: " + expectedBgColor);
-        System.out.println("主面板實際背景色: " + mainPanel.getBackground());
-        
-        return mainPanelCorrect && loginPanelCorrect;
+        Color expectedBgColor = currentTheme.getBackground();
+        return mainPanel.getBackground().equals(expectedBgColor) && loginPanel.getBackground().equals(expectedBgColor);
     }
 
 
     public static void main(String[] args) {
+        StartupTrace.begin(); // 記錄到第一個畫面與可操作的時間
         SwingUtilities.invokeLater(() -> {
+            EdtMonitor.install(); // 記錄事件處理耗時與卡頓
             GameGUI gui = new GameGUI();
             gui.setVisible(true);
         });
@@ -1985,9 +2023,7 @@ public class GameGUI extends JFrame {
             int confirm = JOptionPane.showConfirmDialog(this, 
                 "確定要登出嗎？", "確認", JOptionPane.YES_NO_OPTION);
             if (confirm == JOptionPane.YES_OPTION) {
-                if (currentPlayer != null) { // Check if currentPlayer is not null
-                    recordService.savePlayerData(currentPlayer); // Save player data before logging out
-                }
+                flushPlayerState(); // Save player data before logging out
                 currentPlayer = null; 
                 showLoginPanel();
             }
@@ -2047,21 +2083,7 @@ public class GameGUI extends JFrame {
         rankingItem.addActionListener(e -> showRankingPanel());
         
         JMenuItem historyItem = new JMenuItem("對戰歷史", KeyEvent.VK_H);
-        historyItem.addActionListener(e -> {
-            // 使用之前定義的方法來查詢對戰紀錄
-            if (currentPlayer != null) { // Fix: Check currentPlayer
-                List<String> records = recordService.getAllRecords(currentPlayer.getUsername()); // Fix: Use currentPlayer.getUsername()
-                if (records.isEmpty()) {
-                    JOptionPane.showMessageDialog(this, 
-                        "用戶 " + currentPlayer.getUsername() + " 沒有找到對戰記錄", // Fix: Use currentPlayer.getUsername()
-                        "遊戲歷史", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    showBattleHistory(records);
-                }
-            } else {
-                JOptionPane.showMessageDialog(this, "請先登入以查看歷史記錄。", "提示", JOptionPane.INFORMATION_MESSAGE);
-            }
-        });
+        historyItem.addActionListener(e -> openBattleHistory());
         
         statsMenu.add(rankingItem);
         statsMenu.add(historyItem);
@@ -2084,7 +2106,6 @@ public class GameGUI extends JFrame {
         
         // 只設置事件監聽器，不重複調用showThemeChangeNotification
         lightTheme.addActionListener(e -> {
-            System.out.println("明亮主題按鈕點擊");
             // 確保在事件調度線程中立即執行
             if (SwingUtilities.isEventDispatchThread()) {
                 applyTheme("light");
@@ -2094,7 +2115,6 @@ public class GameGUI extends JFrame {
         });
         
         darkTheme.addActionListener(e -> {
-            System.out.println("暗黑主題按鈕點擊");
             // 確保在事件調度線程中立即執行
             if (SwingUtilities.isEventDispatchThread()) {
                 applyTheme("dark");
@@ -2105,13 +2125,20 @@ public class GameGUI extends JFrame {
         
         themeMenu.add(lightTheme);
         themeMenu.add(darkTheme);
+        (currentTheme.isDark() ? darkTheme : lightTheme).setSelected(true);
         
         // 音效選項
         JCheckBoxMenuItem soundEffects = new JCheckBoxMenuItem("音效", true);
         soundEffects.addActionListener(e -> toggleSoundEffects());
         
+        // 效能報告
+        JMenuItem performanceItem = new JMenuItem("效能報告", KeyEvent.VK_P);
+        performanceItem.addActionListener(e -> showPerformanceReport());
+
         settingsMenu.add(themeMenu);
         settingsMenu.add(soundEffects);
+        settingsMenu.addSeparator();
+        settingsMenu.add(performanceItem);
         
         // 幫助選單
         JMenu helpMenu = new JMenu("幫助");
@@ -2136,6 +2163,36 @@ public class GameGUI extends JFrame {
         return menuBar;
     }
     
+    /**
+     * 顯示介面效能報告（各事件與面板切換的耗時分佈及卡頓堆疊），並寫入資料目錄
+     */
+    private void showPerformanceReport() {
+        String report = EdtMonitor.report() + System.lineSeparator() + overlay.frameReport()
+                + System.lineSeparator() + StartupTrace.report();
+        Path reportFile = GameRecordService.DATA_DIR.resolve(EDT_REPORT_FILENAME);
+        try {
+            EdtMonitor.dump(reportFile);
+        } catch (IOException e) {
+            Log.error("[GUI] Could not write EDT report: " + e.getMessage(), e);
+            reportFile = null;
+        }
+
+        JTextArea reportArea = new JTextArea(report);
+        reportArea.setEditable(false);
+        reportArea.setFont(Fonts.MONOSPACED);
+        reportArea.setCaretPosition(0);
+
+        JDialog reportDialog = new JDialog(this, "效能報告", true);
+        reportDialog.setLayout(new BorderLayout(10, 10));
+        reportDialog.add(new JScrollPane(reportArea), BorderLayout.CENTER);
+        JLabel pathLabel = new JLabel(reportFile != null ? "已儲存至: " + reportFile : "報告無法寫入檔案");
+        pathLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 10, 10));
+        reportDialog.add(pathLabel, BorderLayout.SOUTH);
+        reportDialog.setSize(800, 500);
+        reportDialog.setLocationRelativeTo(this);
+        reportDialog.setVisible(true);
+    }
+
     /**
      * 顯示遊戲說明對話框
      */
@@ -2151,7 +2208,7 @@ public class GameGUI extends JFrame {
         
         // 標題
         JLabel titleLabel = new JLabel("如何遊玩 - 卡牌對決：元素抽卡競技場");
-        titleLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 18));
+        titleLabel.setFont(Fonts.bold(18));
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         titleLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 15, 0));
         
@@ -2176,7 +2233,7 @@ public class GameGUI extends JFrame {
             "</body></html>";
         
         JLabel instructionsLabel = new JLabel(instructions);
-        instructionsLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        instructionsLabel.setFont(Fonts.plain(14));
         
         // 將說明文本放入滾動面板
         JScrollPane scrollPane = new JScrollPane(instructionsLabel);
@@ -2211,11 +2268,11 @@ public class GameGUI extends JFrame {
         
         // 標題和版本
         JLabel titleLabel = new JLabel("卡牌對決：元素抽卡競技場");
-        titleLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 18));
+        titleLabel.setFont(Fonts.bold(18));
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
         JLabel versionLabel = new JLabel("版本 1.2.0");
-        versionLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        versionLabel.setFont(Fonts.plain(14));
         versionLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         versionLabel.setBorder(BorderFactory.createEmptyBorder(5, 0, 15, 0));
         
@@ -2227,7 +2284,7 @@ public class GameGUI extends JFrame {
             "</body></html>";
         
         JLabel aboutLabel = new JLabel(aboutText);
-        aboutLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
+        aboutLabel.setFont(Fonts.plain(14));
         aboutLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
         // 按鈕面板
@@ -2245,82 +2302,115 @@ public class GameGUI extends JFrame {
         aboutDialog.setVisible(true);
     }
     
+    /**
+     * 將玩家目前的數值寫入回寫快取，由快取定期合併寫回資料庫
+     */
+    private void cachePlayerState(Player player) {
+        if (player != null) {
+            playerCache.update(player);
+        }
+    }
+
+    /**
+     * 登出前將玩家數值與所有待寫入的資料立即排入資料庫佇列
+     */
+    private void flushPlayerState() {
+        cachePlayerState(currentPlayer);
+        playerCache.flush();
+    }
+
+    /**
+     * 在背景以單一交易保存抽到的卡片、玩家剩餘貨幣，以及這次抽卡的種子與機率（稽核紀錄）
+     */
+    private void saveDrawAsync(List<Card> cards) {
+        Player snapshot = currentPlayer.copyStats();
+        List<Card> drawn = List.copyOf(cards);
+        DrawSession session = gameController.getLastDrawSession(); // 剛抽完，仍是這次抽卡的種子
+        cachePlayerState(snapshot); // 先更新快取，之後排入的回寫不會比這次保存的舊
+        records.call(service -> service.saveCardsToDeck(snapshot.getUsername(), drawn, snapshot, session));
+    }
+
+    /**
+     * 先在背景計算記錄數，有記錄時才開啟對戰歷史視窗
+     */
+    private void openBattleHistory() {
+        if (currentPlayer == null) {
+            JOptionPane.showMessageDialog(this, "請先登入以查看歷史記錄。", "提示", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        String username = currentPlayer.getUsername();
+        records.call(service -> service.countRecords(username)).thenAccept(total -> {
+            if (total == 0) {
+                JOptionPane.showMessageDialog(this,
+                    "用戶 " + username + " 沒有找到對戰記錄",
+                    "遊戲歷史", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                showBattleHistory(username, total);
+            }
+        });
+    }
+    
     /**
      * 顯示對戰歷史記錄
+     * 記錄以分頁方式於捲動時從資料庫載入，列表只繪製可見的列
      */
-    private void showBattleHistory(List<String> records) {
+    private void showBattleHistory(String username, int totalRecords) {
+        EdtMonitor.section("showBattleHistory", () -> doShowBattleHistory(username, totalRecords));
+    }
+
+    private void doShowBattleHistory(String username, int totalRecords) {
         JDialog historyDialog = new JDialog(this, "遊戲歷史記錄", true);
         historyDialog.setLayout(new BorderLayout(10, 10));
         historyDialog.setSize(500, 400);
         historyDialog.setLocationRelativeTo(this);
         
         // 設置對話框主題顏色
-        if (isDarkTheme) {
-            historyDialog.getContentPane().setBackground(new Color(33, 37, 43));
+        if (currentTheme.isDark()) {
+            historyDialog.getContentPane().setBackground(Palette.DARK_BACKGROUND);
         }
         
         // 標題面板
-        JPanel titlePanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-        if (isDarkTheme) {
-            titlePanel.setBackground(new Color(33, 37, 43));
+        JPanel titlePanel = new JPanel(new GridLayout(2, 1));
+        if (currentTheme.isDark()) {
+            titlePanel.setBackground(Palette.DARK_BACKGROUND);
         }
-        JLabel titleLabel = new JLabel((currentPlayer != null ? currentPlayer.getUsername() : "") + " 的遊戲記錄", SwingConstants.CENTER); // Fix: Use currentPlayer.getUsername()
-        titleLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 18));
-        if (isDarkTheme) {
+        JLabel titleLabel = new JLabel(username + " 的遊戲記錄", SwingConstants.CENTER);
+        titleLabel.setFont(Fonts.bold(18));
+        if (currentTheme.isDark()) {
             titleLabel.setForeground(Color.WHITE);
         }
         titlePanel.add(titleLabel);
-        historyDialog.add(titlePanel, BorderLayout.NORTH);
-        
-        // 記錄列表
-        JPanel recordsPanel = new JPanel();
-        recordsPanel.setLayout(new BoxLayout(recordsPanel, BoxLayout.Y_AXIS));
-        recordsPanel.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
-        if (isDarkTheme) {
-            recordsPanel.setBackground(new Color(33, 37, 43));
-        }
         
         // 統計資訊
-        JLabel statsLabel = new JLabel("總遊戲記錄數: " + records.size());
-        statsLabel.setFont(new Font("Microsoft JhengHei UI", Font.ITALIC, 14));
-        statsLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
-        statsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        if (isDarkTheme) {
+        JLabel statsLabel = new JLabel("總遊戲記錄數: " + totalRecords, SwingConstants.CENTER);
+        statsLabel.setFont(Fonts.italic(14));
+        if (currentTheme.isDark()) {
             statsLabel.setForeground(Color.WHITE);
         }
-        recordsPanel.add(statsLabel);
-        
-        // 添加每條記錄
-        int count = 1;
-        for (String record : records) {
-            JPanel recordPanel = new JPanel();
-            recordPanel.setLayout(new BorderLayout(5, 2));
-            recordPanel.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createMatteBorder(0, 0, 1, 0, Color.LIGHT_GRAY),
-                BorderFactory.createEmptyBorder(8, 5, 8, 5)
-            ));
-            
-            // 為了使每條記錄更易讀，替換英文成中文並添加更多信息
-            String enhancedRecord = record
-                .replace("Game record for", "對戰記錄 -")
-                .replace("Player", "玩家")
-                .replace("Computer", "電腦");
-            
-            // 添加斑馬紋效果
-            if (count % 2 == 0) {
-                recordPanel.setBackground(new Color(245, 245, 245));
-            }
-            
-            JLabel recordLabel = new JLabel("#" + count + ": " + enhancedRecord);
-            recordLabel.setFont(new Font("Microsoft JhengHei UI", Font.PLAIN, 14));
-            recordPanel.add(recordLabel, BorderLayout.CENTER);
-            
-            recordsPanel.add(recordPanel);
-            count++;
+        titlePanel.add(statsLabel);
+        historyDialog.add(titlePanel, BorderLayout.NORTH);
+        
+        // 記錄列表：固定列高讓 JList 不需量測每一列即可計算捲動範圍
+        HistoryListModel historyModel = new HistoryListModel(username);
+        JList<MatchRecord> historyList = new JList<>(historyModel);
+        historyList.setFixedCellHeight(34);
+        historyList.setCellRenderer(new HistoryRecordRenderer());
+        historyList.setBorder(BorderFactory.createEmptyBorder(0, 15, 0, 15));
+        if (currentTheme.isDark()) {
+            historyList.setBackground(Palette.DARK_BACKGROUND);
+            historyList.setForeground(Color.WHITE);
         }
         
-        // 添加記錄到滾动面板
-        JScrollPane scrollPane = new JScrollPane(recordsPanel);
+        JScrollPane scrollPane = new JScrollPane(historyList);
+        // 捲動接近已載入的尾端時載入下一頁
+        Runnable loadIfNeeded = () -> {
+            int lastVisible = historyList.getLastVisibleIndex();
+            if (lastVisible < 0 || lastVisible >= historyModel.getSize() - HISTORY_PREFETCH_ROWS) {
+                historyModel.loadNextPage();
+            }
+        };
+        historyModel.setOnPageLoaded(loadIfNeeded);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> loadIfNeeded.run());
         historyDialog.add(scrollPane, BorderLayout.CENTER);
         
         // 底部按鈕
@@ -2329,364 +2419,142 @@ public class GameGUI extends JFrame {
         buttonPanel.add(closeButton);
         historyDialog.add(buttonPanel, BorderLayout.SOUTH);
         
+        historyModel.loadNextPage();
         // 顯示對話框
         historyDialog.setVisible(true);
     }
     
-    /**
-     * 應用主題設置
-     */    
-    private void applyTheme(String themeName) {
-        System.out.println("切換主題到: " + themeName);
-        long startTime = System.currentTimeMillis();
-        
-        // 更新主題狀態變數
-        isDarkTheme = "dark".equals(themeName);
-        System.out.println("isDarkTheme設置為: " + isDarkTheme);
-        
-        // 定義主題顏色
-        Color bgColor, textColor, buttonBgColor, accentColor, fieldBgColor;
-        
-        if ("dark".equals(themeName)) {
-            // 設定暗黑主題顏色 - 使用更柔和的深色調，提高對比度
-            bgColor = new Color(33, 37, 43);          // 較柔和的深藍灰色背景
-            textColor = new Color(238, 238, 238);     // 近白色文字，提高可讀性
-            buttonBgColor = new Color(59, 66, 82);    // 按鈕背景色，與主背景區分
-            accentColor = new Color(106, 127, 219);   // 強調色（用於高亮、邊框）
-            fieldBgColor = new Color(45, 49, 58);     // 文本輸入區背景色
-        } else {
-            // 設定明亮主題 - 溫暖柔和的配色
-            bgColor = new Color(248, 248, 252);       // 淡藍灰色背景，不刺眼
-            textColor = new Color(33, 33, 33);        // 深灰近黑色文字，提高可讀性
-            buttonBgColor = new Color(210, 230, 255); // 淡藍色按鈕背景
-            accentColor = new Color(70, 105, 210);    // 藍色強調色
-            fieldBgColor = new Color(255, 255, 255);  // 純白色輸入區背景
-        }
-        
-        // 設置UIManager屬性
-        setUIManagerColors(bgColor, textColor, buttonBgColor, accentColor, fieldBgColor);
-        
-        // 設置自訂字體 - 在兩個主題下統一設置
-        setUIFont(new FontUIResource("Microsoft JhengHei UI", Font.PLAIN, 12));
-        
-        // 立即更新所有UI組件
-        System.out.println("開始更新UI組件樹...");
-        SwingUtilities.updateComponentTreeUI(this);
-        
-        // 直接設置所有主要面板的背景顏色
-        System.out.println("直接設置面板背景顏色...");
-        setDirectPanelColors(bgColor, textColor);
-        
-        // 強制重新繪製所有組件
-        System.out.println("開始重繪所有組件...");
-        repaintAllComponents(this);
-        
-        // 刷新當前顯示的面板以立即應用主題
-        System.out.println("刷新當前面板...");
-        refreshCurrentPanel();
-        
-        // 強制重新驗證和重繪整個窗口
-        System.out.println("強制窗口重新驗證和重繪...");
-        this.invalidate();
-        this.validate();
-        this.repaint();
-        
-        // 更新菜單中的主題選擇狀態
-        System.out.println("更新菜單狀態...");
-        updateThemeMenuSelection(themeName);
-        
-        // 最後顯示通知
-        System.out.println("顯示主題切換通知...");
-        showThemeChangeNotification(themeName);
-        
-        // 驗證主題是否正確應用
-        System.out.println("驗證主題應用...");
-        boolean themeApplied = verifyThemeApplication();
-        
-        long endTime = System.currentTimeMillis();
-        System.out.println("主題切換完成，耗時: " + (endTime - startTime) + "ms");
-        System.out.println("主題應用驗證結果: " + (themeApplied ? "成功" : "失敗"));
-    }
-    
-    /**
-     * 設置UIManager的所有顏色屬性
-     */
-    private void setUIManagerColors(Color bgColor, Color textColor, Color buttonBgColor, Color accentColor, Color fieldBgColor) {
-        // 設置主要UI屬性
-        UIManager.put("Panel.background", bgColor);
-        UIManager.put("OptionPane.background", bgColor);
-        UIManager.put("OptionPane.messageForeground", textColor);
-        
-        // 文字和標籤
-        UIManager.put("Label.foreground", textColor);
-        UIManager.put("Label.background", bgColor);
-        
-        // 按鈕相關
-        UIManager.put("Button.background", buttonBgColor);
-        UIManager.put("Button.foreground", textColor);
-        UIManager.put("Button.select", accentColor);
-        UIManager.put("Button.focus", accentColor);
-        UIManager.put("Button.border", BorderFactory.createLineBorder(accentColor.darker(), 1));
-        
-        // 文字輸入區域
-        UIManager.put("TextField.background", fieldBgColor);
-        UIManager.put("TextField.foreground", textColor);
-        UIManager.put("TextField.caretForeground", textColor);
-        UIManager.put("TextField.selectionBackground", accentColor);
-        
-        UIManager.put("TextArea.background", fieldBgColor);
-        UIManager.put("TextArea.foreground", textColor);
-        UIManager.put("TextArea.caretForeground", textColor);
-        UIManager.put("TextArea.selectionBackground", accentColor);
-        
-        // 列表相關
-        UIManager.put("List.background", fieldBgColor);
-        UIManager.put("List.foreground", textColor);
-        UIManager.put("List.selectionBackground", accentColor);
-        UIManager.put("List.selectionForeground", isDarkTheme ? Color.WHITE : Color.BLACK);
-        
-        // 設置菜單顏色
-        UIManager.put("MenuBar.background", buttonBgColor);
-        UIManager.put("MenuBar.foreground", textColor);
-        UIManager.put("Menu.background", buttonBgColor);
-        UIManager.put("Menu.foreground", textColor);
-        UIManager.put("Menu.selectionBackground", accentColor);
-        UIManager.put("Menu.selectionForeground", isDarkTheme ? Color.WHITE : Color.BLACK);
-        
-        UIManager.put("MenuItem.background", buttonBgColor);
-        UIManager.put("MenuItem.foreground", textColor);
-        UIManager.put("MenuItem.selectionBackground", accentColor);
-        UIManager.put("MenuItem.selectionForeground", isDarkTheme ? Color.WHITE : Color.BLACK);
-        UIManager.put("MenuItem.acceleratorForeground", textColor);
-        
-        // RadioButtonMenuItem相關
-        UIManager.put("RadioButtonMenuItem.background", buttonBgColor);
-        UIManager.put("RadioButtonMenuItem.foreground", textColor);
-        UIManager.put("RadioButtonMenuItem.selectionBackground", accentColor);
-        UIManager.put("RadioButtonMenuItem.selectionForeground", isDarkTheme ? Color.WHITE : Color.BLACK);
-        UIManager.put("RadioButtonMenuItem.acceleratorForeground", textColor);
-        
-        // 捲動條
-        UIManager.put("ScrollBar.background", bgColor);
-        UIManager.put("ScrollBar.thumb", buttonBgColor);
-        UIManager.put("ScrollBar.thumbDarkShadow", bgColor.darker());
-        UIManager.put("ScrollBar.thumbHighlight", buttonBgColor.brighter());
-        UIManager.put("ScrollBar.thumbShadow", buttonBgColor.darker());
-        UIManager.put("ScrollBar.track", bgColor);
-        
-        // 下拉選單
-        UIManager.put("ComboBox.background", fieldBgColor);
-        UIManager.put("ComboBox.foreground", textColor);
-        UIManager.put("ComboBox.selectionBackground", accentColor);
-        UIManager.put("ComboBox.selectionForeground", isDarkTheme ? Color.WHITE : Color.BLACK);
-        
-        // 表格
-        UIManager.put("Table.background", fieldBgColor);
-        UIManager.put("Table.foreground", textColor);
-        UIManager.put("Table.selectionBackground", accentColor);
-        UIManager.put("Table.selectionForeground", isDarkTheme ? Color.WHITE : Color.BLACK);
-        UIManager.put("Table.gridColor", bgColor.brighter());
-        
-        // 子標題
-        UIManager.put("TitledBorder.titleColor", textColor);
-    }
+    private static final int HISTORY_PAGE_SIZE = 50; // 每次從資料庫載入的記錄數
+    private static final int HISTORY_PREFETCH_ROWS = 10; // 距離尾端剩幾列時預先載入下一頁
     
     /**
-     * 直接設置所有主要面板的背景顏色，確保立即生效
+     * 對戰歷史的列表模型，只保存已載入的頁面，並經由資料庫閘道以 keyset 分頁載入下一頁
      */
-    private void setDirectPanelColors(Color bgColor, Color textColor) {
-        // 設置主窗口背景
-        getContentPane().setBackground(bgColor);
-        
-        // 設置主面板背景
-        if (mainPanel != null) {
-            mainPanel.setBackground(bgColor);
+    private class HistoryListModel extends AbstractListModel<MatchRecord> {
+        private static final long serialVersionUID = 1L;
+
+        private final String username;
+        private final List<MatchRecord> loadedRecords = new ArrayList<>();
+        private boolean loading;
+        private boolean exhausted;
+        private Runnable onPageLoaded;
+
+        HistoryListModel(String username) {
+            this.username = username;
         }
-        
-        // 設置所有已知面板的背景顏色
-        JPanel[] panels = {loginPanel, lobbyPanel, drawOptionsPanel, drawCardPanel, 
-                          battlePanel, selectionPanel, rankingPanel};
-        
-        for (JPanel panel : panels) {
-            if (panel != null) {
-                setComponentColors(panel, bgColor, textColor);
-            }
+
+        void setOnPageLoaded(Runnable onPageLoaded) {
+            this.onPageLoaded = onPageLoaded;
         }
-    }
-    
-    /**
-     * 遞歸設置組件及其子組件的顏色
-     */
-    private void setComponentColors(Container container, Color bgColor, Color textColor) {
-        if (container == null) return;
-        
-        // 設置容器背景色
-        container.setBackground(bgColor);
-        
-        // 遞歸處理所有子組件
-        Component[] components = container.getComponents();
-        for (Component component : components) {
-            if (component instanceof JPanel) {
-                setComponentColors((JPanel) component, bgColor, textColor);
-            } else if (component instanceof JLabel) {
-                component.setForeground(textColor);
-                component.setBackground(bgColor);
-            } else if (component instanceof Container) {
-                setComponentColors((Container) component, bgColor, textColor);
+
+        @Override
+        public int getSize() {
+            return loadedRecords.size();
+        }
+
+        @Override
+        public MatchRecord getElementAt(int index) {
+            return loadedRecords.get(index);
+        }
+
+        /**
+         * 載入下一頁；已在載入中或已無更多記錄時不做任何事
+         */
+        void loadNextPage() {
+            if (loading || exhausted) {
+                return;
             }
+            loading = true;
+            MatchRecord cursor = loadedRecords.isEmpty() ? null : loadedRecords.get(loadedRecords.size() - 1);
+            records.call(service -> service.getRecordsPage(username, cursor, HISTORY_PAGE_SIZE))
+                .exceptionally(ex -> List.of())
+                .thenAccept(page -> {
+                    loading = false;
+                    if (page.size() < HISTORY_PAGE_SIZE) {
+                        exhausted = true;
+                    }
+                    if (!page.isEmpty()) {
+                        int first = loadedRecords.size();
+                        loadedRecords.addAll(page);
+                        fireIntervalAdded(HistoryListModel.this, first, loadedRecords.size() - 1);
+                    }
+                    if (onPageLoaded != null && !exhausted) {
+                        // 視窗尚未填滿時繼續載入
+                        SwingUtilities.invokeLater(onPageLoaded);
+                    }
+                });
         }
     }
-    
+
     /**
-     * 遞歸重新繪製所有組件，確保主題立即生效
+     * 對戰記錄的列繪製器，重複使用同一個標籤並加上斑馬紋
      */
-    private void repaintAllComponents(Container container) {
-        System.out.println("重繪容器: " + container.getClass().getSimpleName());
-        
-        // 首先更新當前容器的組件樹UI
-        SwingUtilities.updateComponentTreeUI(container);
-        
-        // 重新驗證和重繪當前容器
-        container.invalidate();
-        container.validate();
-        container.repaint();
-        
-        // 遞歸處理所有子組件
-        Component[] components = container.getComponents();
-        System.out.println("處理 " + components.length + " 個子組件");
-        
-        for (Component component : components) {
-            if (component instanceof Container) {
-                repaintAllComponents((Container) component);
-            } else {
-                // 對於非容器組件，也要更新其UI
-                SwingUtilities.updateComponentTreeUI(component);
-                component.invalidate();
-                component.repaint();
-            }
-        }
-        
-        // 特別處理 JFrame 的內容面板
-        if (container instanceof JFrame) {
-            System.out.println("特別處理JFrame組件");
-            JFrame frame = (JFrame) container;
-            if (frame.getContentPane() != null) {
-                System.out.println("更新內容面板");
-                SwingUtilities.updateComponentTreeUI(frame.getContentPane());
-                frame.getContentPane().invalidate();
-                frame.getContentPane().validate();
-                frame.getContentPane().repaint();
-            }
-            
-            // 更新菜單欄
-            if (frame.getJMenuBar() != null) {
-                System.out.println("更新菜單欄");
-                SwingUtilities.updateComponentTreeUI(frame.getJMenuBar());
-                frame.getJMenuBar().invalidate();
-                frame.getJMenuBar().validate();
-                frame.getJMenuBar().repaint();
-            }
-            
-            // 強制整個框架重新繪製
-            System.out.println("強制整個框架重新繪製");
-            frame.invalidate();
-            frame.validate();
-            frame.repaint();
-        }
-        
-        // 特別處理主面板及其所有子面板
-        if (container == this) {
-            // 更新主面板
-            if (mainPanel != null) {
-                SwingUtilities.updateComponentTreeUI(mainPanel);
-                mainPanel.invalidate();
-                mainPanel.validate();
-                mainPanel.repaint();
+    private class HistoryRecordRenderer extends DefaultListCellRenderer {
+        private static final long serialVersionUID = 1L;
+
+        private final Border rowBorder = BorderFactory.createCompoundBorder(
+            BorderFactory.createMatteBorder(0, 0, 1, 0, Color.LIGHT_GRAY),
+            BorderFactory.createEmptyBorder(8, 5, 8, 5)
+        );
+
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+            super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+            MatchRecord record = (MatchRecord) value;
+            setText("#" + (index + 1) + ": 玩家: " + record.getPlayerName()
+                + ", Wins: " + record.getWins() + ", Losses: " + record.getLosses()
+                + ", Time: " + record.getTimestamp());
+            setFont(Fonts.plain(14));
+            setBorder(rowBorder);
+            // 添加斑馬紋效果
+            if (!isSelected && index % 2 == 1) {
+                setBackground(currentTheme.isDark() ? Palette.DARK_FIELD_BACKGROUND : Palette.LIGHT_STRIPE);
             }
-            
-            // 更新所有已創建的面板
-            updateAllKnownPanels();
+            return this;
         }
     }
     
     /**
-     * 更新所有已知的面板
+     * 應用主題設置：更新UIManager預設值後，只對整個視窗做一次元件樹更新
      */
-    private void updateAllKnownPanels() {
-        JPanel[] panels = {loginPanel, lobbyPanel, drawOptionsPanel, drawCardPanel, 
-                          battlePanel, selectionPanel, rankingPanel};
-        
-        for (JPanel panel : panels) {
-            if (panel != null) {
-                SwingUtilities.updateComponentTreeUI(panel);
-                panel.invalidate();
-                panel.validate();
-                panel.repaint();
-            }
+    private void applyTheme(String themeName) {
+        EdtMonitor.section("applyTheme", () -> doApplyTheme(themeName));
+    }
+
+    private void doApplyTheme(String themeName) {
+        long startTime = System.nanoTime();
+
+        // 更新主題狀態，渲染器與面板建構時從currentTheme讀取顏色
+        currentTheme = Theme.fromName(themeName);
+
+        // 主題顏色以UIResource寫入UIManager，元件樹更新時會被重新套用
+        currentTheme.install();
+
+        // 把主題顏色寫死在內容中的面板需要重建
+        refreshCurrentPanel();
+
+        // 單次更新整個視窗（含菜單欄與所有面板）
+        SwingUtilities.updateComponentTreeUI(this);
+
+        // 更新菜單中的主題選擇狀態
+        updateThemeMenuSelection(themeName);
+
+        Log.debug("[GUI] Theme switched to %s in %.1f ms", themeName, (System.nanoTime() - startTime) / 1_000_000.0);
+        if (Log.isDebugEnabled()) {
+            Log.debug("[GUI] Theme verification: %s", verifyThemeApplication() ? "ok" : "failed");
         }
+
+        // 最後顯示通知
+        showThemeChangeNotification(themeName);
     }
-    
+
     /**
-     * 刷新當前顯示的面板，立即應用主題變更
+     * 重建目前顯示中、內容含有主題顏色（HTML文字）的面板；其他面板只依賴UIManager預設值或在顯示時重建
      */
     private void refreshCurrentPanel() {
-        // 強制更新當前面板的所有組件
-        switch (currentPanelName) {
-            case "Login":
-                // 重新初始化登入面板以應用新主題
-                loginPanel.removeAll();
-                initializeLoginPanel();
-                SwingUtilities.updateComponentTreeUI(loginPanel);
-                break;
-            case "Lobby":
-                // 重新初始化大廳面板以應用新主題
-                lobbyPanel.removeAll();
-                initializeLobbyPanel();
-                SwingUtilities.updateComponentTreeUI(lobbyPanel);
-                break;
-            case "DrawOptions":
-                // 重新初始化抽卡選項面板以應用新主題
-                drawOptionsPanel.removeAll();
-                initializeDrawOptionsPanel();
-                SwingUtilities.updateComponentTreeUI(drawOptionsPanel);
-                break;
-            case "DrawCard":
-                // 重新顯示抽卡結果面板以應用新主題
-                showDrawCardPanel();
-                SwingUtilities.updateComponentTreeUI(drawCardPanel);
-                break;
-            case "SelectBattleCards":
-                // 重新顯示卡片選擇面板以應用新主題
-                showSelectionPanel();
-                SwingUtilities.updateComponentTreeUI(selectionPanel);
-                break;
-            case "Battle":
-                // 重新初始化戰鬥面板以應用新主題
-                battlePanel.removeAll();
-                initializeBattlePanel();
-                SwingUtilities.updateComponentTreeUI(battlePanel);
-                break;
-            case "Ranking":
-                // 重新初始化排行榜面板以應用新主題
-                rankingPanel.removeAll();
-                initializeRankingPanel();
-                SwingUtilities.updateComponentTreeUI(rankingPanel);
-                break;
+        if ("DrawCard".equals(currentPanelName)) {
+            showDrawCardPanel();
         }
-        
-        // 強制重新驗證和重繪主面板
-        mainPanel.revalidate();
-        mainPanel.repaint();
-        
-        // 使用 SwingUtilities.invokeLater 確保在 EDT 中執行最終的更新
-        SwingUtilities.invokeLater(() -> {
-            // 再次強制更新整個窗口
-            repaintAllComponents(this);
-            
-            // 強制重新繪製窗口
-            this.revalidate();
-            this.repaint();
-        });
     }
       /**
      * 更新主題菜單中的選擇狀態
@@ -2696,40 +2564,27 @@ public class GameGUI extends JFrame {
         JMenuBar menuBar = getJMenuBar();
         if (menuBar == null) return;
         
-        // 輸出調試信息
-        System.out.println("更新主題菜單選擇: " + themeName);
-        System.out.println("菜單欄項目數量: " + menuBar.getMenuCount());
+        Log.debug("[GUI] Updating theme menu selection: %s", themeName);
         
         // 尋找設定選單
         for (int i = 0; i < menuBar.getMenuCount(); i++) {
             JMenu menu = menuBar.getMenu(i);
             if (menu != null) {
-                System.out.println("菜單名稱: " + menu.getText());
                 if ("設定".equals(menu.getText())) {
-                    System.out.println("找到設定選單, 項目數量: " + menu.getItemCount());
-                    
                     // 尋找主題子選單
                     for (int j = 0; j < menu.getItemCount(); j++) {
                         if (menu.getItem(j) instanceof JMenu) {
                             JMenu subMenu = (JMenu)menu.getItem(j);
-                            System.out.println("子選單名稱: " + subMenu.getText());
-                            
                             if ("主題".equals(subMenu.getText())) {
-                                System.out.println("找到主題選單, 項目數量: " + subMenu.getItemCount());
-                                
                                 JMenu themeMenu = subMenu;
                                 // 更新單選按鈕狀態
                                 for (int k = 0; k < themeMenu.getItemCount(); k++) {
                                     if (themeMenu.getItem(k) instanceof JRadioButtonMenuItem) {
                                         JRadioButtonMenuItem item = (JRadioButtonMenuItem) themeMenu.getItem(k);
-                                        System.out.println("選單項: " + item.getText() + ", 當前選中狀態: " + item.isSelected());
-                                        
                                         if ("明亮主題".equals(item.getText())) {
                                             item.setSelected("light".equals(themeName));
-                                            System.out.println("設置明亮主題選中狀態為: " + "light".equals(themeName));
                                         } else if ("暗黑主題".equals(item.getText())) {
                                             item.setSelected("dark".equals(themeName));
-                                            System.out.println("設置暗黑主題選中狀態為: " + "dark".equals(themeName));
                                         }
                                     }
                                 }
@@ -2767,86 +2622,19 @@ public class GameGUI extends JFrame {
      */
     private void showAnimationEffect(String type) {
         if (!soundEnabled) return; // 如果音效關閉，則動畫也不顯示
-        
-        JWindow animWindow = new JWindow(this);
-        JPanel animPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                if ("win".equals(type)) {
-                    // 勝利動畫
-                    g2d.setColor(new Color(0, 128, 0, 180));
-                    g2d.fillRect(0, 0, getWidth(), getHeight());
-                    g2d.setColor(Color.WHITE);
-                    g2d.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 36));
-                    
-                    String text = "恭喜勝利！";
-                    FontMetrics fm = g2d.getFontMetrics();
-                    int textWidth = fm.stringWidth(text);
-                    g2d.drawString(text, (getWidth() - textWidth) / 2, getHeight() / 2);
-                } else if ("lose".equals(type)) {
-                    // 失敗動畫
-                    g2d.setColor(new Color(139, 0, 0, 180));
-                    g2d.fillRect(0, 0, getWidth(), getHeight());
-                    g2d.setColor(Color.WHITE);
-                    g2d.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 36));
-                    
-                    String text = "戰敗了...";
-                    FontMetrics fm = g2d.getFontMetrics();
-                    int textWidth = fm.stringWidth(text);
-                    g2d.drawString(text, (getWidth() - textWidth) / 2, getHeight() / 2);
-                } else if ("draw".equals(type)) {
-                    // 平局動畫
-                    g2d.setColor(new Color(128, 128, 128, 180));
-                    g2d.fillRect(0, 0, getWidth(), getHeight());
-                    g2d.setColor(Color.WHITE);
-                    g2d.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 36));
-                    
-                    String text = "平局！";
-                    FontMetrics fm = g2d.getFontMetrics();
-                    int textWidth = fm.stringWidth(text);
-                    g2d.drawString(text, (getWidth() - textWidth) / 2, getHeight() / 2);
-                } else if ("card_draw".equals(type)) {
-                    // 抽卡動畫
-                    g2d.setColor(new Color(30, 144, 255, 180));
-                    g2d.fillRect(0, 0, getWidth(), getHeight());
-                    g2d.setColor(Color.WHITE);
-                    g2d.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 36));
-                    
-                    String text = "抽取卡片！";
-                    FontMetrics fm = g2d.getFontMetrics();
-                    int textWidth = fm.stringWidth(text);
-                    g2d.drawString(text, (getWidth() - textWidth) / 2, getHeight() / 2);
-                }
-            }
-        };
-        
-        animPanel.setPreferredSize(new Dimension(400, 200));
-        animWindow.setContentPane(animPanel);
-        animWindow.pack();
-        
-        // 讓動畫視窗居中顯示在主視窗上方
-        animWindow.setLocationRelativeTo(this);
-        animWindow.setVisible(true);
-        
+
+        OverlayAnimator.Effect effect = OverlayAnimator.Effect.fromName(type);
+        if (effect != null) {
+            overlay.play(effect); // 橫幅已預先繪製，由共用計時器驅動淡入淡出
+        }
+
         // 播放相應音效
         playSound(type);
-        
-        // 顯示一段時間後自動消失
-        Timer timer = new Timer(1500, e -> animWindow.dispose());
-        timer.setRepeats(false);
-        timer.start();
     }
       /**
      * 顯示主題切換通知
      */
     private void showThemeChangeNotification(String themeName) {
-        System.out.println("顯示主題切換通知: " + themeName);
-        
         // 創建自定義通知面板
         JPanel notificationPanel = new JPanel(new BorderLayout(10, 10));
         notificationPanel.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
@@ -2856,10 +2644,10 @@ public class GameGUI extends JFrame {
         
         // 調整圖標標籤：不使用圖片資源，改為文字圖標
         JLabel iconLabel = new JLabel("light".equals(themeName) ? "☀" : "☾");
-        iconLabel.setFont(new Font("Dialog", Font.BOLD, 24));
+        iconLabel.setFont(Fonts.ICON);
         
         JLabel messageLabel = new JLabel(message);
-        messageLabel.setFont(new Font("Microsoft JhengHei UI", Font.BOLD, 14));
+        messageLabel.setFont(Fonts.bold(14));
         
         notificationPanel.add(iconLabel, BorderLayout.WEST);
         notificationPanel.add(messageLabel, BorderLayout.CENTER);
@@ -2889,82 +2677,51 @@ public class GameGUI extends JFrame {
         timer.start();
     }
 
-    // Inner class for handling login asynchronously
-    private class LoginWorker extends SwingWorker<Player, Void> {
-        private final String username;
-        private final String password;
-        private Player loggedInPlayer = null;
-        private String errorMessage = null;
-
-        public LoginWorker(String username, String password) {
-            this.username = username;
-            this.password = password;
-        }
-
-        @Override
-        protected Player doInBackground() throws Exception {
-            try {
-                // Simulate network latency or long-running task
-                // Thread.sleep(2000);
-                loggedInPlayer = recordService.loginUser(username, password);
-                if (loggedInPlayer != null) {
-                    // currentPlayer = loggedInPlayer; // This was moved from here
-                    // gameController.setCurrentPlayer(loggedInPlayer); // Ensure GameController has this method or similar logic
-                    // It's better to set currentPlayer in done() after get() to ensure it's the result of the background task.
-                }
-                return loggedInPlayer;
-            } catch (Exception ex) {
-                // It's generally better to catch specific exceptions
-                errorMessage = "登入時發生錯誤：" + ex.getMessage();
-                ex.printStackTrace(); // For debugging, consider logging this instead
-                return null;
-            }
-        }
-
-        @Override
-        protected void done() {
-            loginButton.setEnabled(true); // Re-enable button
-            // Optionally, hide loading indicator here
-            try {
-                Player resultPlayer = get(); // Get the result from doInBackground
-                if (resultPlayer != null) {
-                    currentPlayer = resultPlayer; // Set currentPlayer with the successfully logged-in player
-                    gameController.setCurrentPlayer(currentPlayer); // Pass player to controller
-                    
-                    // 載入玩家的卡片收藏 - 從資料庫載入玩家的卡片庫
-                    gameController.loadPlayerDeck(currentPlayer.getUsername(), recordService);
-                    System.out.println("[LOGIN] 已從資料庫載入玩家 " + currentPlayer.getUsername() + " 的卡片，共 " + gameController.getPlayerDeck().size() + " 張");
-
-                    statusLabel.setText("登入成功！歡迎 " + currentPlayer.getUsername());
-                    usernameField.setText(""); // Clear fields
-                    passwordField.setText("");
-                    
-                    updateLobbyInfo(); 
-                    updatePlayerStatsDisplay(); // This will use the new currentPlayer
-                    // updatePlayerCurrencyLabel(); // updatePlayerStatsDisplay should cover this
-                    // updatePlayerRatingLabel(); // updatePlayerStatsDisplay should cover this
-                    
-                    showLobbyPanel();
+    /**
+     * 登入完成後在 EDT 更新介面
+     * @param login 登入的玩家與其卡片收藏；帳號或密碼錯誤時為 null
+     * @param error 登入過程中的錯誤，沒有錯誤時為 null
+     */
+    private void finishLogin(Map.Entry<Player, List<Card>> login, Throwable error) {
+        loginButton.setEnabled(true); // Re-enable button
+        try {
+            if (error == null && login != null) {
+                currentPlayer = login.getKey(); // Set currentPlayer with the successfully logged-in player
+                gameController.setCurrentPlayer(currentPlayer); // Pass player to controller
+                
+                // 載入玩家的卡片收藏 - 從資料庫載入玩家的卡片庫
+                gameController.setPlayerDeck(login.getValue());
+                collection.reset(login.getValue());
+                Log.info("[LOGIN] 已從資料庫載入玩家 " + currentPlayer.getUsername() + " 的卡片，共 " + gameController.getPlayerDeck().size() + " 張");
+
+                statusLabel.setText("登入成功！歡迎 " + currentPlayer.getUsername());
+                usernameField.setText(""); // Clear fields
+                passwordField.setText("");
+                
+                updateLobbyInfo(); 
+                updatePlayerStatsDisplay(); // This will use the new currentPlayer
+                
+                showLobbyPanel();
+            } else {
+                if (error != null) {
+                    String errorMessage = "登入時發生錯誤：" + error.getMessage();
+                    JOptionPane.showMessageDialog(GameGUI.this, errorMessage, "登入失敗", JOptionPane.ERROR_MESSAGE);
+                    statusLabel.setText(errorMessage);
                 } else {
-                    if (errorMessage != null) {
-                        JOptionPane.showMessageDialog(GameGUI.this, errorMessage, "登入失敗", JOptionPane.ERROR_MESSAGE);
-                        statusLabel.setText(errorMessage);
-                    } else {
-                        JOptionPane.showMessageDialog(GameGUI.this, "無效的使用者名稱或密碼。", "登入失敗", JOptionPane.ERROR_MESSAGE);
-                        statusLabel.setText("登入失敗：無效的使用者名稱或密碼。");
-                    }
-                    passwordField.setText(""); // Clear password field only
+                    JOptionPane.showMessageDialog(GameGUI.this, "無效的使用者名稱或密碼。", "登入失敗", JOptionPane.ERROR_MESSAGE);
+                    statusLabel.setText("登入失敗：無效的使用者名稱或密碼。");
                 }
-            } catch (Exception ex) {
-                // This catch block handles exceptions from get() or during UI updates
-                JOptionPane.showMessageDialog(GameGUI.this, "登入處理完成後發生錯誤：" + ex.getMessage(), "錯誤", JOptionPane.ERROR_MESSAGE);
-                statusLabel.setText("登入處理完成後發生錯誤。");
-                ex.printStackTrace(); // For debugging, consider logging this instead
+                passwordField.setText(""); // Clear password field only
             }
+        } catch (Exception ex) {
+            // This catch block handles exceptions during UI updates
+            JOptionPane.showMessageDialog(GameGUI.this, "登入處理完成後發生錯誤：" + ex.getMessage(), "錯誤", JOptionPane.ERROR_MESSAGE);
+            statusLabel.setText("登入處理完成後發生錯誤。");
+            Log.error("[LOGIN] Error after login: " + ex.getMessage(), ex);
         }
     }
 
-    // Placeholder for methods that might be called in LoginWorker.done()
+    // Placeholder for methods that might be called in finishLogin()
     // Ensure these methods exist and are correctly implemented in your GameGUI class.
     private void updateLobbyInfo() {
         // Example: lobbyWelcomeLabel.setText("Welcome, " + currentPlayer.getUsername());
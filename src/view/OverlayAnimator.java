@@ -0,0 +1,231 @@
+package view;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+/**
+ * Plays short banner effects (battle results, card draws) over a window, installed as its glass pane.
+ * <p>
+ * Each effect's banner is rendered once into a cached image, so playing an effect only records its start
+ * time; nothing is allocated while it runs and no native window is created. One shared Swing timer drives every
+ * running effect at about 60 frames per second, each frame repaints only the banner area, and the timer stops
+ * while nothing is playing. Progress is computed from the clock rather than the frame count, so late frames
+ * never slow an effect down. Frame intervals are recorded for {@link #frameReport()}.
+ * The overlay has no mouse listeners, so clicks pass through to the window while an effect plays.
+ * Only used on the EDT.
+ */
+public class OverlayAnimator extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    private static final int FRAME_MILLIS = 16;
+    private static final long DURATION_NANOS = 1_500_000_000L;
+    private static final long FADE_IN_NANOS = 150_000_000L;
+    private static final long FADE_OUT_NANOS = 300_000_000L;
+    private static final int BANNER_WIDTH = 400;
+    private static final int BANNER_HEIGHT = 200;
+    private static final int FRAME_SAMPLES = 512; // Frame statistics cover the most recent intervals
+    private static final long LATE_FRAME_NANOS = 2L * FRAME_MILLIS * 1_000_000L;
+
+    /**
+     * The effects the overlay can play.
+     */
+    public enum Effect {
+        WIN("恭喜勝利！", Palette.WIN_OVERLAY),
+        LOSE("戰敗了...", Palette.LOSE_OVERLAY),
+        DRAW("平局！", Palette.DRAW_OVERLAY),
+        CARD_DRAW("抽取卡片！", Palette.CARD_DRAW_OVERLAY);
+
+        private final String text;
+        private final Color color;
+
+        Effect(String text, Color color) {
+            this.text = text;
+            this.color = color;
+        }
+
+        /**
+         * @param name The effect name used by the game, e.g. "win" or "card_draw".
+         * @return The effect, or null if the name is unknown.
+         */
+        public static Effect fromName(String name) {
+            for (Effect effect : values()) {
+                if (effect.name().equalsIgnoreCase(name)) {
+                    return effect;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Running {
+        final Effect effect;
+        final long start;
+
+        Running(Effect effect, long start) {
+            this.effect = effect;
+            this.start = start;
+        }
+    }
+
+    private final Map<Effect, BufferedImage> banners = new EnumMap<>(Effect.class);
+    private final List<Running> running = new ArrayList<>();
+    private final Timer clock = new Timer(FRAME_MILLIS, e -> tick());
+    private final Rectangle bannerBounds = new Rectangle();
+
+    private final long[] frameIntervals = new long[FRAME_SAMPLES];
+    private long frameCount;
+    private long lateFrames;
+    private long lastFrame;
+
+    public OverlayAnimator() {
+        setOpaque(false);
+        setVisible(false);
+        clock.setCoalesce(true);
+    }
+
+    /**
+     * Starts an effect. An effect of the same kind that is still playing restarts.
+     * @param effect The effect to play.
+     */
+    public void play(Effect effect) {
+        long now = System.nanoTime();
+        running.removeIf(r -> r.effect == effect);
+        running.add(new Running(effect, now));
+        if (!clock.isRunning()) {
+            lastFrame = 0;
+            setVisible(true);
+            clock.start();
+        }
+        repaintBanner();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        if (lastFrame != 0) {
+            long interval = now - lastFrame;
+            frameIntervals[(int) (frameCount % FRAME_SAMPLES)] = interval;
+            frameCount++;
+            if (interval > LATE_FRAME_NANOS) {
+                lateFrames++;
+            }
+        }
+        lastFrame = now;
+        for (Iterator<Running> it = running.iterator(); it.hasNext();) {
+            if (now - it.next().start >= DURATION_NANOS) {
+                it.remove();
+            }
+        }
+        repaintBanner();
+        if (running.isEmpty()) {
+            clock.stop();
+            setVisible(false);
+        }
+    }
+
+    // Every banner is drawn centered, so the dirty area is the same for all of them
+    private void repaintBanner() {
+        int growth = BANNER_WIDTH / 10; // Room for the pop-in scale
+        bannerBounds.setBounds((getWidth() - BANNER_WIDTH) / 2 - growth, (getHeight() - BANNER_HEIGHT) / 2 - growth,
+                BANNER_WIDTH + 2 * growth, BANNER_HEIGHT + 2 * growth);
+        repaint(bannerBounds);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (running.isEmpty()) {
+            return;
+        }
+        Graphics2D g2d = (Graphics2D) g;
+        Composite original = g2d.getComposite();
+        Object interpolation = g2d.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        long now = System.nanoTime();
+        for (Running r : running) {
+            long elapsed = now - r.start;
+            float alpha;
+            float scale = 1f;
+            if (elapsed < FADE_IN_NANOS) {
+                float t = (float) elapsed / FADE_IN_NANOS;
+                alpha = t;
+                scale = 0.9f + 0.1f * t;
+            } else if (elapsed > DURATION_NANOS - FADE_OUT_NANOS) {
+                alpha = Math.max(0f, (float) (DURATION_NANOS - elapsed) / FADE_OUT_NANOS);
+            } else {
+                alpha = 1f;
+            }
+            int width = Math.round(BANNER_WIDTH * scale);
+            int height = Math.round(BANNER_HEIGHT * scale);
+            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, Math.min(1f, alpha)));
+            g2d.drawImage(banner(r.effect), (getWidth() - width) / 2, (getHeight() - height) / 2, width, height, null);
+        }
+        g2d.setComposite(original);
+        if (interpolation != null) {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        }
+    }
+
+    // Renders the banner the first time the effect plays
+    private BufferedImage banner(Effect effect) {
+        BufferedImage image = banners.get(effect);
+        if (image != null) {
+            return image;
+        }
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        if (config != null) {
+            image = config.createCompatibleImage(BANNER_WIDTH, BANNER_HEIGHT, Transparency.TRANSLUCENT);
+        } else if (!GraphicsEnvironment.isHeadless()) {
+            image = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDefaultConfiguration().createCompatibleImage(BANNER_WIDTH, BANNER_HEIGHT, Transparency.TRANSLUCENT);
+        } else {
+            image = new BufferedImage(BANNER_WIDTH, BANNER_HEIGHT, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(effect.color);
+            g.fillRect(0, 0, BANNER_WIDTH, BANNER_HEIGHT);
+            g.setColor(Color.WHITE);
+            g.setFont(Fonts.bold(36));
+            FontMetrics fm = g.getFontMetrics();
+            g.drawString(effect.text, (BANNER_WIDTH - fm.stringWidth(effect.text)) / 2, BANNER_HEIGHT / 2);
+        } finally {
+            g.dispose();
+        }
+        banners.put(effect, image);
+        return image;
+    }
+
+    /**
+     * @return Frame pacing statistics: frame count, interval percentiles in ms, and frames later than two intervals.
+     */
+    public String frameReport() {
+        int n = (int) Math.min(frameCount, FRAME_SAMPLES);
+        if (n == 0) {
+            return "Overlay frames: none yet";
+        }
+        long[] sorted = Arrays.copyOf(frameIntervals, n);
+        Arrays.sort(sorted);
+        return String.format("Overlay frames: %d, interval p50 %.1f ms, p99 %.1f ms, max %.1f ms, late frames %d",
+                frameCount, sorted[n / 2] / 1e6, sorted[Math.min(n - 1, (int) Math.ceil(n * 0.99) - 1)] / 1e6,
+                sorted[n - 1] / 1e6, lateFrames);
+    }
+}
@@ -0,0 +1,79 @@
+package view;
+
+import java.awt.Color;
+
+/**
+ * Shared colors for the Swing views, so building and rendering components never allocates a {@link Color}.
+ * Theme-wide colors such as backgrounds and text live in {@link Theme}; these are the accent colors that stay
+ * fixed within a theme. Pairs prefixed LIGHT_ and DARK_ are the same role in each theme.
+ */
+public final class Palette {
+    // Card backgrounds by rarity
+    public static final Color LIGHT_GOLD_BG = new Color(255, 250, 205);
+    public static final Color LIGHT_BLUE_BG = new Color(230, 230, 250);
+    public static final Color LIGHT_GREEN_BG = new Color(240, 255, 240);
+    public static final Color DARK_GOLD_BG = new Color(100, 84, 0, 80);
+    public static final Color DARK_BLUE_BG = new Color(40, 70, 120, 80);
+    public static final Color DARK_GREEN_BG = new Color(30, 80, 30, 80);
+    public static final Color DARK_GREY_BG = new Color(50, 50, 50);
+
+    // Card text by rarity in the dark theme
+    public static final Color DARK_GOLD_TEXT = new Color(255, 223, 0);
+    public static final Color DARK_BLUE_TEXT = new Color(135, 206, 250);
+    public static final Color DARK_GREEN_TEXT = new Color(144, 238, 144);
+    public static final Color LIGHT_CARD_TEXT = new Color(33, 33, 33);
+    public static final Color DARK_CARD_TEXT = new Color(230, 230, 230);
+
+    // Rarity labels
+    public static final Color LIGHT_RARITY_LEGENDARY = new Color(184, 134, 11);
+    public static final Color LIGHT_RARITY_RARE = new Color(65, 105, 225);
+    public static final Color LIGHT_RARITY_UNCOMMON = new Color(34, 139, 34);
+    public static final Color LIGHT_RARITY_COMMON = new Color(105, 105, 105);
+    public static final Color DARK_RARITY_COMMON = new Color(204, 204, 204);
+
+    // Translucent card tints for the battle card list
+    public static final Color LIGHT_LEGENDARY_TINT = new Color(255, 223, 0, 40);
+    public static final Color LIGHT_EPIC_TINT = new Color(163, 53, 238, 40);
+    public static final Color LIGHT_RARE_TINT = new Color(0, 112, 221, 40);
+    public static final Color LIGHT_COMMON_TINT = new Color(200, 200, 200, 40);
+    public static final Color DARK_LEGENDARY_TINT = new Color(255, 215, 0, 60);
+    public static final Color DARK_EPIC_TINT = new Color(190, 110, 255, 60);
+    public static final Color DARK_RARE_TINT = new Color(65, 155, 240, 60);
+    public static final Color DARK_COMMON_TINT = new Color(150, 150, 150, 60);
+
+    // Rarity borders and podium colors
+    public static final Color GOLD = new Color(255, 215, 0);
+    public static final Color SILVER = new Color(192, 192, 192);
+    public static final Color BRONZE = new Color(205, 127, 50);
+    public static final Color STEEL_BLUE = new Color(70, 130, 180);
+    public static final Color GREEN_YELLOW = new Color(173, 255, 47);
+
+    // Backgrounds, list stripes, selections and separators
+    public static final Color DARK_BACKGROUND = new Color(33, 37, 43);
+    public static final Color DARK_FIELD_BACKGROUND = new Color(45, 49, 58);
+    public static final Color LIGHT_STRIPE = new Color(245, 245, 245);
+    public static final Color DARK_STRIPE_EVEN = new Color(50, 55, 65);
+    public static final Color DARK_STRIPE_ODD = new Color(40, 45, 55);
+    public static final Color LIGHT_SELECTION = new Color(232, 242, 254);
+    public static final Color DARK_SELECTION = new Color(80, 110, 160);
+    public static final Color DARK_RANK_SELECTION = new Color(60, 80, 120);
+    public static final Color LIGHT_SELECTION_BORDER = new Color(120, 170, 220);
+    public static final Color DARK_SELECTION_BORDER = new Color(100, 130, 180);
+    public static final Color DARK_SEPARATOR = new Color(80, 80, 80);
+
+    // Card art placeholders
+    public static final Color PLACEHOLDER_FILL = new Color(200, 200, 210, 120);
+    public static final Color PLACEHOLDER_OUTLINE = new Color(150, 150, 160, 180);
+
+    // Status text
+    public static final Color SUCCESS = new Color(0, 128, 0);
+
+    // Battle result overlays
+    public static final Color WIN_OVERLAY = new Color(0, 128, 0, 180);
+    public static final Color LOSE_OVERLAY = new Color(139, 0, 0, 180);
+    public static final Color DRAW_OVERLAY = new Color(128, 128, 128, 180);
+    public static final Color CARD_DRAW_OVERLAY = new Color(30, 144, 255, 180);
+
+    private Palette() {
+    }
+}
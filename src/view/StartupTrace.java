@@ -0,0 +1,75 @@
+package view;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.swing.SwingUtilities;
+import util.Log;
+
+/**
+ * Records how long startup takes, measured from {@link #begin()} at the top of {@code main}.
+ * <p>
+ * Milestones are marked as they happen; the first frame and the database being ready together make the game
+ * interactive, which is recorded once the event dispatch thread has worked through the events queued by then.
+ * The trace is logged when startup completes, as a warning if it missed {@link #TARGET_MILLIS}.
+ * {@link #begin()} runs on the main thread before the GUI is created; everything else only on the EDT.
+ */
+public final class StartupTrace {
+    public static final String CONSTRUCTED = "frame constructed";
+    public static final String FIRST_FRAME = "first frame";
+    public static final String DATABASE_READY = "database ready";
+    public static final String INTERACTIVE = "interactive";
+    public static final long TARGET_MILLIS = 300;
+
+    private static final Map<String, Long> marks = new LinkedHashMap<>(); // Elapsed nanos by milestone
+    private static long start;
+    private static boolean interactiveScheduled;
+
+    private StartupTrace() {
+    }
+
+    /**
+     * Starts the clock. Call first thing in {@code main}.
+     */
+    public static void begin() {
+        start = System.nanoTime();
+    }
+
+    /**
+     * Records a milestone the first time it is reached; later calls are ignored.
+     * @param milestone One of the milestone names of this class.
+     */
+    public static void mark(String milestone) {
+        if (start == 0 || marks.containsKey(milestone)) {
+            return;
+        }
+        marks.put(milestone, System.nanoTime() - start);
+        if (!interactiveScheduled && marks.containsKey(FIRST_FRAME) && marks.containsKey(DATABASE_READY)) {
+            interactiveScheduled = true;
+            SwingUtilities.invokeLater(() -> {
+                marks.put(INTERACTIVE, System.nanoTime() - start);
+                long interactiveMillis = marks.get(INTERACTIVE) / 1_000_000;
+                if (interactiveMillis > TARGET_MILLIS) {
+                    Log.warn("[GUI] %s (target %d ms)", report(), TARGET_MILLIS);
+                } else {
+                    Log.info("[GUI] %s", report());
+                }
+            });
+        }
+    }
+
+    /**
+     * @return The milestones reached so far with their time since startup, e.g. "first frame 182 ms".
+     */
+    public static String report() {
+        if (marks.isEmpty()) {
+            return "Startup: no milestones recorded";
+        }
+        StringBuilder report = new StringBuilder("Startup:");
+        String separator = " ";
+        for (Map.Entry<String, Long> mark : marks.entrySet()) {
+            report.append(separator).append(mark.getKey()).append(' ').append(mark.getValue() / 1_000_000).append(" ms");
+            separator = ", ";
+        }
+        return report.toString();
+    }
+}
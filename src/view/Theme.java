@@ -0,0 +1,159 @@
+package view;
+
+import java.awt.Color;
+import javax.swing.BorderFactory;
+import javax.swing.UIManager;
+import javax.swing.plaf.BorderUIResource;
+import javax.swing.plaf.ColorUIResource;
+
+/**
+ * The game's color themes.
+ * <p>
+ * {@link #install()} writes the theme into the {@link UIManager} defaults as {@code UIResource} values.
+ * Look-and-feel code only replaces colors that are unset or {@code UIResource}s, so after installing a theme a
+ * single {@code SwingUtilities.updateComponentTreeUI} on the window recolors every component that was not given
+ * an explicit color. Code that needs theme colors while building or rendering components reads them from the
+ * current theme instead of hard-coding them.
+ */
+public enum Theme {
+    LIGHT("light", false,
+            new Color(248, 248, 252),  // Soft blue-grey background
+            new Color(33, 33, 33),     // Near-black text
+            new Color(210, 230, 255),  // Light blue buttons
+            new Color(70, 105, 210),   // Blue accent
+            new Color(255, 255, 255)), // White input fields
+    DARK("dark", true,
+            Palette.DARK_BACKGROUND,   // Muted dark blue-grey background
+            new Color(238, 238, 238),  // Near-white text
+            new Color(59, 66, 82),     // Buttons stand out from the background
+            new Color(106, 127, 219),  // Accent for highlights and borders
+            Palette.DARK_FIELD_BACKGROUND); // Input fields
+
+    private final String name;
+    private final boolean dark;
+    private final ColorUIResource background;
+    private final ColorUIResource text;
+    private final ColorUIResource buttonBackground;
+    private final ColorUIResource accent;
+    private final ColorUIResource fieldBackground;
+    private final ColorUIResource selectionText;
+
+    Theme(String name, boolean dark, Color background, Color text, Color buttonBackground, Color accent, Color fieldBackground) {
+        this.name = name;
+        this.dark = dark;
+        this.background = new ColorUIResource(background);
+        this.text = new ColorUIResource(text);
+        this.buttonBackground = new ColorUIResource(buttonBackground);
+        this.accent = new ColorUIResource(accent);
+        this.fieldBackground = new ColorUIResource(fieldBackground);
+        this.selectionText = new ColorUIResource(dark ? Color.WHITE : Color.BLACK);
+    }
+
+    /**
+     * @param name The theme name, "light" or "dark".
+     * @return The matching theme; anything other than "dark" is the light theme.
+     */
+    public static Theme fromName(String name) {
+        return DARK.name.equals(name) ? DARK : LIGHT;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDark() {
+        return dark;
+    }
+
+    public Color getBackground() {
+        return background;
+    }
+
+    public Color getText() {
+        return text;
+    }
+
+    public Color getButtonBackground() {
+        return buttonBackground;
+    }
+
+    public Color getAccent() {
+        return accent;
+    }
+
+    public Color getFieldBackground() {
+        return fieldBackground;
+    }
+
+    /**
+     * Writes this theme's colors into the UIManager defaults. Components pick them up on their next UI update.
+     */
+    public void install() {
+        UIManager.put("Panel.background", background);
+        UIManager.put("OptionPane.background", background);
+        UIManager.put("OptionPane.messageForeground", text);
+
+        UIManager.put("Label.foreground", text);
+        UIManager.put("Label.background", background);
+
+        UIManager.put("Button.background", buttonBackground);
+        UIManager.put("Button.foreground", text);
+        UIManager.put("Button.select", accent);
+        UIManager.put("Button.focus", accent);
+        UIManager.put("Button.border", new BorderUIResource(BorderFactory.createLineBorder(accent.darker(), 1)));
+
+        UIManager.put("TextField.background", fieldBackground);
+        UIManager.put("TextField.foreground", text);
+        UIManager.put("TextField.caretForeground", text);
+        UIManager.put("TextField.selectionBackground", accent);
+
+        UIManager.put("TextArea.background", fieldBackground);
+        UIManager.put("TextArea.foreground", text);
+        UIManager.put("TextArea.caretForeground", text);
+        UIManager.put("TextArea.selectionBackground", accent);
+
+        UIManager.put("List.background", fieldBackground);
+        UIManager.put("List.foreground", text);
+        UIManager.put("List.selectionBackground", accent);
+        UIManager.put("List.selectionForeground", selectionText);
+
+        UIManager.put("MenuBar.background", buttonBackground);
+        UIManager.put("MenuBar.foreground", text);
+        UIManager.put("Menu.background", buttonBackground);
+        UIManager.put("Menu.foreground", text);
+        UIManager.put("Menu.selectionBackground", accent);
+        UIManager.put("Menu.selectionForeground", selectionText);
+
+        UIManager.put("MenuItem.background", buttonBackground);
+        UIManager.put("MenuItem.foreground", text);
+        UIManager.put("MenuItem.selectionBackground", accent);
+        UIManager.put("MenuItem.selectionForeground", selectionText);
+        UIManager.put("MenuItem.acceleratorForeground", text);
+
+        UIManager.put("RadioButtonMenuItem.background", buttonBackground);
+        UIManager.put("RadioButtonMenuItem.foreground", text);
+        UIManager.put("RadioButtonMenuItem.selectionBackground", accent);
+        UIManager.put("RadioButtonMenuItem.selectionForeground", selectionText);
+        UIManager.put("RadioButtonMenuItem.acceleratorForeground", text);
+
+        UIManager.put("ScrollBar.background", background);
+        UIManager.put("ScrollBar.thumb", buttonBackground);
+        UIManager.put("ScrollBar.thumbDarkShadow", new ColorUIResource(background.darker()));
+        UIManager.put("ScrollBar.thumbHighlight", new ColorUIResource(buttonBackground.brighter()));
+        UIManager.put("ScrollBar.thumbShadow", new ColorUIResource(buttonBackground.darker()));
+        UIManager.put("ScrollBar.track", background);
+
+        UIManager.put("ComboBox.background", fieldBackground);
+        UIManager.put("ComboBox.foreground", text);
+        UIManager.put("ComboBox.selectionBackground", accent);
+        UIManager.put("ComboBox.selectionForeground", selectionText);
+
+        UIManager.put("Table.background", fieldBackground);
+        UIManager.put("Table.foreground", text);
+        UIManager.put("Table.selectionBackground", accent);
+        UIManager.put("Table.selectionForeground", selectionText);
+        UIManager.put("Table.gridColor", new ColorUIResource(background.brighter()));
+
+        UIManager.put("TitledBorder.titleColor", text);
+    }
+}
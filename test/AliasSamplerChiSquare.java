@@ -0,0 +1,101 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import model.Rarity;
+import service.GachaService;
+import util.Log;
+
+/**
+ * Checks that the gacha's alias table reproduces the configured rarity rates, with a chi-square goodness-of-fit
+ * test over ten million draws per case:
+ * <ul>
+ *     <li>the default rates from {@link Rarity#getProbability()};</li>
+ *     <li>banners read through {@link GachaService#loadBannerRates(Path)}, including one that disables a rarity.</li>
+ * </ul>
+ * Draws go through {@link GachaService#drawInto(int, int[], byte[], int[], int)}, the path every draw uses.
+ * Exits with status 1 if any statistic exceeds the critical value at p = 0.001, or if a zero-weight rarity is drawn.
+ * Run from the repository root:
+ * <pre>
+ * javac -encoding UTF-8 -d out $(find src -name '*.java')
+ * javac -encoding UTF-8 -cp out -d out test/AliasSamplerChiSquare.java
+ * java -cp out AliasSamplerChiSquare
+ * </pre>
+ */
+public class AliasSamplerChiSquare {
+    private static final int DRAWS = 10_000_000;
+    private static final int CHUNK = 1_000_000;
+    private static final long SEED = 20240601L;
+    // Chi-square critical values at p = 0.001, indexed by degrees of freedom
+    private static final double[] CRITICAL = {Double.NaN, 10.828, 13.816, 16.266};
+
+    public static void main(String[] args) throws IOException {
+        Log.setLevel(Log.Level.WARN);
+        boolean passed = check("default rates", defaultRates());
+        passed &= check("banner SSR=3, SR=17", banner("SSR=3\nSR=17\n"));
+        passed &= check("banner SSR=1, SR=0, R=99", banner("SSR=1\nSR=0\nR=99\n"));
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<Rarity, Integer> defaultRates() {
+        Map<Rarity, Integer> weights = new EnumMap<>(Rarity.class);
+        for (Rarity rarity : Rarity.values()) {
+            weights.put(rarity, rarity.getProbability());
+        }
+        return weights;
+    }
+
+    private static Map<Rarity, Integer> banner(String contents) throws IOException {
+        Path file = Files.createTempFile("banner", ".properties");
+        try {
+            Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+            return GachaService.loadBannerRates(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static boolean check(String label, Map<Rarity, Integer> weights) {
+        long[] observed = new long[Rarity.values().length];
+        GachaService gacha = new GachaService(weights, SEED);
+        int[] templateIds = new int[CHUNK];
+        byte[] rarities = new byte[CHUNK];
+        int[] powers = new int[CHUNK];
+        for (int drawn = 0; drawn < DRAWS; drawn += CHUNK) {
+            gacha.drawInto(CHUNK, templateIds, rarities, powers, 0);
+            for (byte rarity : rarities) {
+                observed[rarity]++;
+            }
+        }
+
+        long total = 0;
+        for (int weight : weights.values()) {
+            total += weight;
+        }
+        double statistic = 0;
+        int categories = 0;
+        boolean impossibleDrawn = false;
+        StringBuilder counts = new StringBuilder();
+        for (Rarity rarity : Rarity.values()) {
+            int weight = weights.getOrDefault(rarity, 0);
+            long count = observed[rarity.ordinal()];
+            counts.append(String.format(" %s=%,d", rarity, count));
+            if (weight == 0) {
+                impossibleDrawn |= count > 0;
+                continue;
+            }
+            double expected = (double) DRAWS * weight / total;
+            statistic += (count - expected) * (count - expected) / expected;
+            categories++;
+        }
+        int degrees = categories - 1;
+        boolean passed = !impossibleDrawn && (degrees == 0 || statistic <= CRITICAL[degrees]);
+        System.out.printf("%-28s chi2=%7.3f df=%d critical=%.3f%s -> %s%n", label, statistic, degrees,
+                degrees == 0 ? 0.0 : CRITICAL[degrees], counts, passed ? "ok" : "FAIL");
+        return passed;
+    }
+}
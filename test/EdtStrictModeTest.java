@@ -0,0 +1,161 @@
+import database.AsyncRecordGateway;
+import database.ConnectionManager;
+import database.GameRecordService;
+import database.LeaderboardKey;
+import database.PlayerStateCache;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+import model.Card;
+import model.DrawSession;
+import model.MatchRecord;
+import model.Player;
+import service.GachaService;
+import util.Log;
+
+/**
+ * Drives the database paths the GUI uses, issued from the Swing event dispatch thread through
+ * {@link AsyncRecordGateway} and {@link PlayerStateCache} exactly as GameGUI does: register, login with deck load,
+ * a paid pull saved with its cards and audit entry, a battle record, the history count and first page, the ranking,
+ * and a cache flush. Strict mode ({@value ConnectionManager#STRICT_EDT_PROPERTY}) is switched on, so any
+ * database access on the event dispatch thread throws. It first checks that a direct call on the event dispatch
+ * thread is caught, then that every gateway path completes, with its callbacks on the event dispatch thread and
+ * without any such error. Exits with status 1 on the first failure.
+ * Run from the repository root with the SQLite driver:
+ * <pre>
+ * javac -encoding UTF-8 -d out $(find src -name '*.java')
+ * javac -encoding UTF-8 -cp out -d out test/EdtStrictModeTest.java
+ * java -cp out:lib/sqlite-jdbc-3.49.1.0.jar EdtStrictModeTest
+ * </pre>
+ */
+public class EdtStrictModeTest {
+    private static final String USER = "edt-user";
+    private static final String PASSWORD = "secret";
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final AtomicReference<Throwable> uncaught = new AtomicReference<>();
+
+    public static void main(String[] args) throws Exception {
+        // Both are read once when the classes load, so they are set before anything touches AWT or the database
+        System.setProperty(ConnectionManager.STRICT_EDT_PROPERTY, "true");
+        System.setProperty("java.awt.headless", "true");
+        Log.setLevel(Log.Level.WARN);
+        Thread.setDefaultUncaughtExceptionHandler((thread, error) -> uncaught.compareAndSet(null, error));
+
+        Path file = Files.createTempFile("edt-strict", ".db");
+        Path journal = Files.createTempFile("edt-strict", ".journal");
+        String url = "jdbc:sqlite:" + file;
+        boolean passed = false;
+        try {
+            passed = run(url, journal);
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(Path.of(file + "-wal"));
+            Files.deleteIfExists(Path.of(file + "-shm"));
+            Files.deleteIfExists(journal);
+        }
+        System.out.println(passed ? "PASS" : "FAIL");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean run(String url, Path journal) throws Exception {
+        // The detector itself: a direct call on the event dispatch thread must throw
+        GameRecordService direct = new GameRecordService(url);
+        AtomicReference<Throwable> directError = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                direct.countRecords(USER);
+            } catch (IllegalStateException e) {
+                directError.set(e);
+            }
+        });
+        direct.close();
+        if (!check("direct call on the EDT is rejected", directError.get() != null)) {
+            return false;
+        }
+
+        AsyncRecordGateway records = new AsyncRecordGateway(() -> new GameRecordService(url), SwingUtilities::invokeLater);
+        PlayerStateCache playerCache = new PlayerStateCache(records, journal, 60_000);
+        try {
+            if (!check("register", onEdt(() -> records.call(service -> service.registerUser(USER, PASSWORD))))) {
+                return false;
+            }
+            Map.Entry<Player, List<Card>> login = onEdt(() -> records.call(service -> {
+                Player player = service.loginUser(USER, PASSWORD);
+                return player != null ? Map.entry(player, service.loadDeck(player.getUsername())) : null;
+            }));
+            if (!check("login and deck load", login != null && login.getValue().isEmpty())) {
+                return false;
+            }
+
+            Player player = login.getKey();
+            GachaService gacha = new GachaService();
+            Boolean saved = onEdt(() -> {
+                List<Card> drawn = List.copyOf(gacha.drawCards(player, 10));
+                DrawSession session = gacha.getLastSession();
+                Player snapshot = player.copyStats();
+                playerCache.update(snapshot);
+                return records.call(service -> service.saveCardsToDeck(snapshot.getUsername(), drawn, snapshot, session));
+            });
+            if (!check("draw save", Boolean.TRUE.equals(saved))) {
+                return false;
+            }
+            if (!check("battle record save", onEdt(() -> records.run(service -> service.saveRecord(USER, "Player", 3, 2))
+                    .thenApply(ignored -> true)))) {
+                return false;
+            }
+
+            List<MatchRecord> page = onEdt(() -> records.call(service -> service.countRecords(USER))
+                    .thenCompose(total -> records.call(service -> service.getRecordsPage(USER, null, 50))));
+            if (!check("history count and page", page.size() == 1)) {
+                return false;
+            }
+            Map.Entry<Integer, List<Player>> ranking = onEdt(() -> records.call(service ->
+                    Map.entry(service.getRank(LeaderboardKey.RATING, USER), service.getLeaderboard(LeaderboardKey.RATING, 10, 0))));
+            if (!check("ranking", ranking.getKey() > 0 && !ranking.getValue().isEmpty())) {
+                return false;
+            }
+            if (!check("player cache flush", onEdt(playerCache::flush))) {
+                return false;
+            }
+            Map.Entry<List<Card>, List<DrawSession>> reloaded = onEdt(() -> records.call(service ->
+                    Map.entry(service.loadDeck(USER), service.loadDrawSessions(USER))));
+            return check("deck and draw audit saved", reloaded.getKey().size() == 10 && reloaded.getValue().size() == 1);
+        } finally {
+            playerCache.close();
+            records.close();
+        }
+    }
+
+    /**
+     * Starts the work on the event dispatch thread, as a GUI action would, and waits for its result there.
+     * Fails if the result is delivered on another thread or anything on the event dispatch thread threw.
+     */
+    private static <T> T onEdt(Supplier<CompletableFuture<T>> action) throws Exception {
+        AtomicReference<CompletableFuture<T>> future = new AtomicReference<>();
+        AtomicReference<Boolean> onEdt = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> future.set(action.get()
+                .whenComplete((value, error) -> onEdt.set(SwingUtilities.isEventDispatchThread()))));
+        T result = future.get().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        SwingUtilities.invokeAndWait(() -> { }); // Lets any callback queued behind the result run first
+        if (uncaught.get() != null) {
+            throw new IllegalStateException("Error on the event dispatch thread", uncaught.get());
+        }
+        if (!Boolean.TRUE.equals(onEdt.get())) {
+            throw new IllegalStateException("Result was not delivered on the event dispatch thread");
+        }
+        return result;
+    }
+
+    private static boolean check(String step, boolean ok) {
+        System.out.printf("%-36s %s%n", step, ok ? "ok" : "FAIL");
+        return ok;
+    }
+}